@@ -0,0 +1,128 @@
+import Persistence.ActionJournal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Action Journal Tests")
+class ActionJournalTest {
+
+    private static final int SEGMENT_TICKS = 25;
+
+    @TempDir
+    Path levelsDir;
+
+    @TempDir
+    Path journalDir;
+
+    @Nested
+    @DisplayName("Recovery")
+    class Recovery {
+
+        @Test
+        @DisplayName("recovered game should match the journaled game")
+        void testRecoveryMatchesOriginal() throws IOException {
+            GameManager game = startGame();
+            try (ActionJournal journal = new ActionJournal(journalDir, 8, 10, SEGMENT_TICKS)) {
+                game.setJournal(journal);
+                for (int i = 0; i < 60; i++) {
+                    game.playTick();
+                }
+            }
+
+            GameManager recovered = recover();
+            assertArrayEquals(game.saveSnapshot(), recovered.saveSnapshot());
+        }
+
+        @Test
+        @DisplayName("older segments should be compacted away")
+        void testCompaction() throws IOException {
+            GameManager game = startGame();
+            try (ActionJournal journal = new ActionJournal(journalDir, 8, 10, SEGMENT_TICKS)) {
+                game.setJournal(journal);
+                for (int i = 0; i < 3 * SEGMENT_TICKS; i++) {
+                    game.playTick();
+                }
+            }
+
+            try (var files = Files.list(journalDir)) {
+                assertEquals(1, files.count());
+            }
+            assertEquals(0, ActionJournal.recover(journalDir).getActions().length);
+        }
+
+        @Test
+        @DisplayName("a record torn by a crash should be ignored")
+        void testTornRecord() throws IOException {
+            GameManager game = startGame();
+            try (ActionJournal journal = new ActionJournal(journalDir, 8, 10, SEGMENT_TICKS)) {
+                game.setJournal(journal);
+                for (int i = 0; i < 10; i++) {
+                    game.playTick();
+                }
+            }
+            Path segment = ActionJournal.recover(journalDir).getSegment();
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                channel.truncate(channel.size() - 3);
+            }
+
+            ActionJournal.Recovery recovery = ActionJournal.recover(journalDir);
+            assertEquals(9, recovery.getActions().length);
+            assertEquals(8, recovery.getLastTick());
+        }
+
+        @Test
+        @DisplayName("an empty directory should have nothing to recover")
+        void testNothingToRecover() throws IOException {
+            assertNull(ActionJournal.recover(journalDir));
+            assertNull(ActionJournal.recover(journalDir.resolve("missing")));
+        }
+    }
+
+    @Nested
+    @DisplayName("Group commit")
+    class GroupCommit {
+
+        @Test
+        @DisplayName("a full group of actions should reach the disk without closing")
+        void testGroupSync() throws IOException, InterruptedException {
+            GameManager game = startGame();
+            ActionJournal journal = new ActionJournal(journalDir, 4, 60_000, SEGMENT_TICKS);
+            try {
+                game.setJournal(journal);
+                long deadline = System.currentTimeMillis() + 5_000;
+                while (ActionJournal.recover(journalDir) == null && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(10);
+                }
+                for (int i = 0; i < 4; i++) {
+                    game.playTick();
+                }
+                while (ActionJournal.recover(journalDir).getActions().length < 4 && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(10);
+                }
+                assertEquals(4, ActionJournal.recover(journalDir).getActions().length);
+            } finally {
+                journal.close();
+            }
+        }
+    }
+
+    private GameManager startGame() throws IOException {
+        return ScriptedGames.start(levelsDir, ScriptedGames.LEVEL,
+                new ScriptedInput(ScriptedGames.WARRIOR, "d", "s", "a", "w"), message -> {});
+    }
+
+    private GameManager recover() throws IOException {
+        GameManager game = new GameManager(new CLI(new ScriptedInput("d"), message -> {}));
+        game.recoverGame(levelsDir.toString(), ActionJournal.recover(journalDir));
+        return game;
+    }
+}
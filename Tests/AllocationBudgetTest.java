@@ -0,0 +1,216 @@
+import Metrics.TickPhase;
+import Metrics.TickProfiler;
+import Tiles.Units.Players.Player;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives headless games and checks how many bytes a steady-state tick allocates on the game thread.
+ * Each scenario warms up first so the JIT has compiled the hot paths, then measures a run of ticks.
+ * When a budget is exceeded, the failure message breaks the allocation down by tick phase.
+ */
+@DisplayName("Allocation Budget Tests")
+class AllocationBudgetTest {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final int WARMUP_TICKS = 20_000;
+    private static final int MEASURED_TICKS = 2_000;
+    private static final int UNKILLABLE = 1_000_000_000;
+
+    // Budgets in bytes per tick. Rendering the board and the player's stats dominates every scenario.
+    private static final long MOVEMENT_BUDGET = 7_000;
+    private static final long COMBAT_BUDGET = 36_000;
+    private static final long ABILITY_BUDGET = 7_500;
+    private static final long LEVEL_LOAD_FIXED_BUDGET = 4_096;
+    private static final long LEVEL_LOAD_BUDGET_PER_CELL = 256;
+
+    private static final int WARRIOR = 1;
+    private static final int MAGE = 3;
+    private static final int ROGUE = 5;
+    private static final int HUNTER = 7;
+
+    // Player walks back and forth in the top room, monsters random-walk in the sealed bottom room.
+    private static final List<String> MOVEMENT_LEVEL = List.of(
+            "####################",
+            "#..................#",
+            "#...@..............#",
+            "#..................#",
+            "####################",
+            "#..................#",
+            "#..s.....k.....s...#",
+            "#..................#",
+            "####################");
+
+    // Player attacks the guard to its right, the guard attacks back.
+    private static final List<String> COMBAT_LEVEL = List.of(
+            "#######",
+            "#.@q..#",
+            "#######");
+
+    // The soldier is diagonal to the player: in range of every ability, but blocked by walls from moving.
+    private static final List<String> ABILITY_LEVEL = List.of(
+            "#####",
+            "#@#.#",
+            "##s.#",
+            "#####");
+
+    @TempDir
+    Path levelsDir;
+
+    @Nested
+    @DisplayName("Steady-state ticks")
+    class SteadyState {
+
+        @Test
+        @DisplayName("movement onto empty tiles should stay within budget")
+        void testMovementBudget() throws IOException {
+            assertWithinBudget("movement", MOVEMENT_BUDGET, measureTicks(MOVEMENT_LEVEL, WARRIOR, "d", "a"));
+        }
+
+        @Test
+        @DisplayName("melee combat should stay within budget")
+        void testCombatBudget() throws IOException {
+            assertWithinBudget("combat", COMBAT_BUDGET, measureTicks(COMBAT_LEVEL, WARRIOR, "d"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Abilities")
+    class Abilities {
+
+        @Test
+        @DisplayName("Warrior castAbility should stay within budget")
+        void testWarriorAbilityBudget() throws IOException {
+            assertWithinBudget("warrior ability", ABILITY_BUDGET, measureTicks(ABILITY_LEVEL, WARRIOR, "e"));
+        }
+
+        @Test
+        @DisplayName("Mage castAbility should stay within budget")
+        void testMageAbilityBudget() throws IOException {
+            assertWithinBudget("mage ability", ABILITY_BUDGET, measureTicks(ABILITY_LEVEL, MAGE, "e"));
+        }
+
+        @Test
+        @DisplayName("Rogue castAbility should stay within budget")
+        void testRogueAbilityBudget() throws IOException {
+            assertWithinBudget("rogue ability", ABILITY_BUDGET, measureTicks(ABILITY_LEVEL, ROGUE, "e"));
+        }
+
+        @Test
+        @DisplayName("Hunter castAbility should stay within budget")
+        void testHunterAbilityBudget() throws IOException {
+            assertWithinBudget("hunter ability", ABILITY_BUDGET, measureTicks(ABILITY_LEVEL, HUNTER, "e"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Level load")
+    class LevelLoad {
+
+        @Test
+        @DisplayName("loading a level should allocate a bounded amount per cell")
+        void testLevelLoadBudget() throws IOException {
+            GameManager game = startGame(MOVEMENT_LEVEL, WARRIOR, "q");
+            int cells = MOVEMENT_LEVEL.size() * MOVEMENT_LEVEL.getFirst().length();
+            for (int i = 0; i < 2_000; i++) {
+                game.getEnemies().clear();
+                game.loadLevel();
+            }
+
+            game.getEnemies().clear();
+            long before = THREADS.getCurrentThreadAllocatedBytes();
+            game.loadLevel();
+            long allocated = THREADS.getCurrentThreadAllocatedBytes() - before;
+
+            long budget = LEVEL_LOAD_FIXED_BUDGET + LEVEL_LOAD_BUDGET_PER_CELL * cells;
+            assertTrue(allocated <= budget, String.format(
+                    "level load allocated %d bytes for %d cells (%d bytes/cell), budget is %d bytes.",
+                    allocated, cells, allocated / cells, budget));
+        }
+    }
+
+    /**
+     * Plays a level headlessly, warms it up and returns the bytes allocated per tick in each phase.
+     * @param level the level map
+     * @param playerChoice the 1-based player selection
+     * @param actions the actions the player repeats
+     * @return the measured allocation
+     */
+    private Measurement measureTicks(List<String> level, int playerChoice, String... actions) throws IOException {
+        GameManager game = startGame(level, playerChoice, actions);
+        ScriptedGames.makeUnkillable(game, UNKILLABLE);
+
+        for (int i = 0; i < WARMUP_TICKS; i++) {
+            game.playTick();
+        }
+
+        TickProfiler profiler = game.getProfiler();
+        long[] phaseBefore = new long[TickPhase.values().length];
+        profiler.setAllocationTracking(true);
+        for (TickPhase phase : TickPhase.values()) {
+            phaseBefore[phase.ordinal()] = profiler.getAllocatedBytes(phase);
+        }
+
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_TICKS; i++) {
+            game.playTick();
+        }
+        long total = THREADS.getCurrentThreadAllocatedBytes() - before;
+        profiler.setAllocationTracking(false);
+
+        assertFalse(game.getPlayer().isDead(), "Player should survive the measured ticks.");
+        Measurement measurement = new Measurement(total / MEASURED_TICKS);
+        for (TickPhase phase : TickPhase.values()) {
+            measurement.perPhase[phase.ordinal()] = (profiler.getAllocatedBytes(phase) - phaseBefore[phase.ordinal()]) / MEASURED_TICKS;
+        }
+        return measurement;
+    }
+
+    /**
+     * Writes the level, selects the player and loads the first level of a headless game.
+     * @param level the level map
+     * @param playerChoice the 1-based player selection
+     * @param actions the actions the player repeats
+     * @return the started game
+     */
+    private GameManager startGame(List<String> level, int playerChoice, String... actions) throws IOException {
+        GameManager game = ScriptedGames.create(levelsDir, level, new ScriptedInput(playerChoice, actions), message -> {});
+        game.initializeGame(levelsDir.toString());
+        return game;
+    }
+
+    private static void assertWithinBudget(String scenario, long budgetPerTick, Measurement measurement) {
+        assertTrue(measurement.perTick <= budgetPerTick, measurement.breakdown(scenario, budgetPerTick));
+    }
+
+    /**
+     * Bytes allocated per tick, in total and per phase.
+     */
+    private static class Measurement {
+        private final long perTick;
+        private final long[] perPhase = new long[TickPhase.values().length];
+
+        private Measurement(long perTick) {
+            this.perTick = perTick;
+        }
+
+        private String breakdown(String scenario, long budgetPerTick) {
+            StringBuilder sb = new StringBuilder(String.format(
+                    "%s allocated %d bytes/tick, budget is %d bytes/tick. Breakdown:", scenario, perTick, budgetPerTick));
+            for (TickPhase phase : TickPhase.values()) {
+                sb.append(String.format("%n  %-14s %8d bytes/tick", phase.getLabel(), perPhase[phase.ordinal()]));
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+import Rendering.AnsiDeltaRenderer;
+import Rendering.CharGrid;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AnsiDeltaRenderer Class Tests")
+class AnsiDeltaRendererTest {
+
+    private static final String STATS = "Jon Snow\tHealth: 300/300";
+    // The stats line as a terminal shows it, with its tab expanded to the next tab stop.
+    private static final String SHOWN_STATS = "Jon Snow        Health: 300/300";
+
+    private List<String> output;
+    private AnsiDeltaRenderer renderer;
+    private Grid grid;
+    private Terminal terminal;
+
+    @BeforeEach
+    void setUp() {
+        output = new ArrayList<>();
+        renderer = new AnsiDeltaRenderer(output::add);
+        grid = new Grid("#######", "#@...s#", "#######");
+        terminal = new Terminal(40, 10);
+    }
+
+    @Nested
+    @DisplayName("Frames")
+    class Frames {
+
+        @Test
+        @DisplayName("first frame should draw the whole board and stats")
+        void testFirstFrame() {
+            renderer.render(grid, STATS);
+            terminal.apply(output.getLast());
+
+            assertEquals("#######", terminal.row(0));
+            assertEquals("#@...s#", terminal.row(1));
+            assertEquals("#######", terminal.row(2));
+            assertEquals(SHOWN_STATS, terminal.row(3));
+        }
+
+        @Test
+        @DisplayName("later frames should only draw changed cells")
+        void testDelta() {
+            renderer.render(grid, STATS);
+            terminal.apply(output.getLast());
+            grid.set(1, 1, '.');
+            grid.set(5, 1, '.');
+            grid.set(4, 1, 's');
+            grid.set(2, 1, '@');
+            renderer.render(grid, STATS);
+            String delta = output.getLast();
+            terminal.apply(delta);
+
+            assertEquals("#.@.s.#", terminal.row(1));
+            assertEquals(SHOWN_STATS, terminal.row(3));
+            assertFalse(delta.contains("#"), "Unchanged walls should not be redrawn: " + delta);
+            assertFalse(delta.contains("Jon Snow"), "An unchanged stats line should not be redrawn.");
+        }
+
+        @Test
+        @DisplayName("an unchanged frame should only clear the message area")
+        void testUnchangedFrame() {
+            renderer.render(grid, STATS);
+            renderer.render(grid, STATS);
+
+            assertEquals("\u001B[5;1H\u001B[J", output.getLast());
+        }
+
+        @Test
+        @DisplayName("a changed stats line should be redrawn in place")
+        void testStatsChange() {
+            renderer.render(grid, STATS);
+            terminal.apply(output.getLast());
+            renderer.render(grid, "Jon Snow\tHealth: 3/300");
+            terminal.apply(output.getLast());
+
+            assertEquals("Jon Snow        Health: 3/300", terminal.row(3));
+        }
+
+        @Test
+        @DisplayName("a shorter stats line should leave nothing of the previous one behind the tabs")
+        void testStatsShrink() {
+            renderer.render(grid, "Jon Snow the Bastard\tHealth: 300/300");
+            terminal.apply(output.getLast());
+            renderer.render(grid, "Jon\tHealth: 3/300");
+            terminal.apply(output.getLast());
+
+            assertEquals("Jon     Health: 3/300", terminal.row(3));
+        }
+
+        @Test
+        @DisplayName("a board of another size should be drawn in full")
+        void testResize() {
+            renderer.render(grid, STATS);
+            terminal.apply(output.getLast());
+            renderer.render(new Grid("####", "#@.#", "#..#", "####"), STATS);
+            terminal.apply(output.getLast());
+
+            assertEquals("#@.#", terminal.row(1));
+            assertEquals("#..#", terminal.row(2));
+            assertEquals("####", terminal.row(3));
+            assertEquals(SHOWN_STATS, terminal.row(4));
+        }
+    }
+
+    /**
+     * A mutable grid of characters.
+     */
+    private static class Grid implements CharGrid {
+        private final char[][] rows;
+
+        private Grid(String... rows) {
+            this.rows = Arrays.stream(rows).map(String::toCharArray).toArray(char[][]::new);
+        }
+
+        private void set(int x, int y, char c) {
+            rows[y][x] = c;
+        }
+
+        @Override
+        public int getWidth() { return rows[0].length; }
+
+        @Override
+        public int getHeight() { return rows.length; }
+
+        @Override
+        public char getChar(int x, int y) { return rows[y][x]; }
+    }
+
+    /**
+     * Interprets the escape sequences the renderer uses: cursor moves, clearing the screen,
+     * clearing to the end of the line and clearing below the cursor.
+     */
+    private static class Terminal {
+        private static final int TAB_WIDTH = 8;
+        private final char[][] screen;
+        private int x;
+        private int y;
+
+        private Terminal(int width, int height) {
+            screen = new char[height][width];
+            clear(0);
+        }
+
+        private void apply(String output) {
+            int i = 0;
+            while (i < output.length()) {
+                char c = output.charAt(i);
+                if (c == '\t') {
+                    // A tab moves to the next tab stop without overwriting the cells it skips.
+                    x = (x / TAB_WIDTH + 1) * TAB_WIDTH;
+                    i++;
+                    continue;
+                }
+                if (c != '\u001B') {
+                    screen[y][x++] = c;
+                    i++;
+                    continue;
+                }
+                int end = i + 2;
+                while (!Character.isLetter(output.charAt(end))) {
+                    end++;
+                }
+                String params = output.substring(i + 2, end);
+                switch (output.charAt(end)) {
+                    case 'H' -> {
+                        String[] rowColumn = params.split(";");
+                        y = Integer.parseInt(rowColumn[0]) - 1;
+                        x = Integer.parseInt(rowColumn[1]) - 1;
+                    }
+                    case 'J' -> clear(params.equals("2") ? 0 : y);
+                    case 'K' -> Arrays.fill(screen[y], params.equals("2") ? 0 : x, screen[y].length, ' ');
+                    default -> fail("Unexpected escape sequence: " + output.substring(i, end + 1));
+                }
+                i = end + 1;
+            }
+        }
+
+        private void clear(int fromRow) {
+            for (int row = fromRow; row < screen.length; row++) {
+                Arrays.fill(screen[row], ' ');
+            }
+        }
+
+        private String row(int row) {
+            return new String(screen[row]).stripTrailing();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+import Tiles.Archetype;
+import Tiles.ArchetypeTable;
+import Tiles.Units.Enemies.Enemy;
+import Tiles.Units.Enemies.Trap;
+import Tiles.Units.Players.Player;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ArchetypeTable Class Tests")
+class ArchetypeTableTest {
+
+    @Nested
+    @DisplayName("Bundled archetypes")
+    class Bundled {
+
+        @Test
+        @DisplayName("the bundled file should describe every unit of the game")
+        void testBundled() {
+            ArchetypeTable table = ArchetypeTable.load();
+
+            assertEquals(7, table.players().size());
+            Player first = table.players().getFirst().createPlayer();
+            assertEquals("Jon Snow", first.getName());
+            assertEquals(300, first.getHealth().getCapacity());
+            Enemy trap = table.enemy('Q').createEnemy();
+            assertInstanceOf(Trap.class, trap);
+            assertEquals("Queen’s Trap", trap.getName());
+            assertEquals(7, ((Trap) trap).getInvisibilityTime());
+            assertNull(table.enemy('x'));
+            assertNull(table.enemy('é'));
+        }
+    }
+
+    @Nested
+    @DisplayName("Parsing")
+    class Parsing {
+
+        @Test
+        @DisplayName("archetypes should be created with the stats of their line")
+        void testParse() throws IOException {
+            ArchetypeTable table = parse("""
+                    # comment
+                    s | Monster | Soldier | 80 | 8 | 3 | 3 | 25
+
+                    @ | Hunter | Archer | 220 | 30 | 2 | 6
+                    """);
+
+            Archetype soldier = table.enemy('s');
+            assertEquals(Archetype.Type.MONSTER, soldier.getType());
+            Enemy first = soldier.createEnemy();
+            assertNotSame(first, soldier.createEnemy());
+            assertEquals(8, first.getAttackPoints());
+            assertEquals(25, first.getXP());
+            assertEquals("Archer", table.players().getFirst().createPlayer().getName());
+        }
+
+        @Test
+        @DisplayName("malformed lines should be reported with their line number")
+        void testMalformed() {
+            assertMalformed("line 2: Soldier needs 5 stats, not 4", """
+                    @ | Hunter | Archer | 220 | 30 | 2 | 6
+                    s | Monster | Soldier | 80 | 8 | 3 | 3
+                    """);
+            assertMalformed("line 1: Unknown type Dragon", "d | Dragon | Smaug | 1 | 1 | 1\n");
+            assertMalformed("line 1: Invalid number x", "@ | Rogue | Bronn | 250 | 35 | 3 | x\n");
+            assertMalformed("line 1: Invalid enemy symbol .", ". | Monster | Floor | 80 | 8 | 3 | 3 | 25\n");
+            assertMalformed("line 2: Symbol s is already used by Soldier", """
+                    s | Monster | Soldier | 80 | 8 | 3 | 3 | 25
+                    s | Trap | Spikes | 1 | 1 | 1 | 250 | 1 | 5
+                    """);
+        }
+    }
+
+    private static ArchetypeTable parse(String content) throws IOException {
+        return ArchetypeTable.parse(new StringReader(content), "test");
+    }
+
+    private static void assertMalformed(String message, String content) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> parse(content));
+        assertEquals("test " + message, e.getMessage());
+    }
+}
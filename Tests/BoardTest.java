@@ -0,0 +1,115 @@
+import Metrics.MemoryLayout;
+import Metrics.MemoryReport;
+import Tiles.Empty;
+import Tiles.Passability;
+import Tiles.Tile;
+import Tiles.Units.Enemies.Enemy;
+import Utils.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Board Class Tests")
+class BoardTest {
+
+    private Board board;
+    private List<Enemy> created;
+
+    @BeforeEach
+    void setUp() {
+        created = new ArrayList<>();
+        board = new Board(message -> {}, created::add);
+    }
+
+    @Nested
+    @DisplayName("Level transitions")
+    class LevelTransitions {
+
+        @Test
+        @DisplayName("terrain in the same place on the next level should be reused")
+        void testTerrainReused() {
+            board.setBoardMap(List.of("#####", "#.s.#", "#####"));
+            Tile empty = board.getTile(1, 1);
+            Tile wall = board.getTile(0, 0);
+            Tile enemyCell = board.getTile(2, 1);
+
+            board.setBoardMap(List.of("#####", "#..k#", "#####"));
+
+            assertSame(wall, board.getTile(0, 0));
+            assertSame(empty, board.getTile(1, 1));
+            assertNotSame(enemyCell, board.getTile(2, 1));
+            assertInstanceOf(Empty.class, board.getTile(2, 1));
+            assertEquals(new Position(2, 1), board.getTile(2, 1).getPosition());
+            assertEquals(new Position(1, 1), board.getTile(1, 1).getPosition());
+            assertEquals(2, created.size());
+            assertEquals("#####\n#..k#\n#####\n", board.toString());
+        }
+
+        @Test
+        @DisplayName("the memory report should tell the level's tile arrays from the capacity left by a larger one")
+        void testSpareCapacity() {
+            board.setBoardMap(List.of("#####", "#...#", "#...#", "#####"));
+            MemoryReport large = board.memoryReport("Large");
+            board.setBoardMap(List.of("###", "#.#", "###"));
+            MemoryReport small = board.memoryReport("Small");
+
+            assertEquals(0, large.getCount("Spare tile capacity"));
+            assertEquals(4, small.getCount("Tile arrays"));
+            assertEquals(MemoryLayout.referenceArraySize(3) + 3 * MemoryLayout.referenceArraySize(3),
+                    small.getBytes("Tile arrays"));
+            assertEquals(2, small.getCount("Spare tile capacity"));
+            assertEquals(large.getBytes("Tile arrays"),
+                    small.getBytes("Tile arrays") + small.getBytes("Spare tile capacity"));
+        }
+
+        @Test
+        @DisplayName("levels of other sizes should replace the whole board")
+        void testResize() {
+            board.setBoardMap(List.of("#####", "#...#", "#####"));
+            board.setBoardMap(List.of("###", "#.#", "###"));
+            assertEquals("###\n#.#\n###\n", board.toString());
+
+            board.setBoardMap(List.of("#######", "#.....#", "#.....#", "#######"));
+            assertEquals(7, board.getWidth());
+            assertEquals(4, board.getHeight());
+            assertEquals("#######\n#.....#\n#.....#\n#######\n", board.toString());
+            for (int x = 0; x < 7; x++) {
+                for (int y = 0; y < 4; y++) {
+                    assertEquals(new Position(x, y), board.getTile(x, y).getPosition());
+                }
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Passability")
+    class PassabilityBits {
+
+        @Test
+        @DisplayName("the board should keep passability and occupancy in step with its tiles")
+        void testBits() {
+            board.setBoardMap(List.of("#####", "#.s.#", "#####"));
+            Passability cells = board.getPassability();
+
+            assertFalse(board.isPassable(0, 0));
+            assertTrue(board.isPassable(1, 1));
+            assertTrue(board.isPassable(2, 1));
+            assertTrue(cells.isOccupied(2, 1));
+            assertFalse(cells.isOccupied(1, 1));
+            assertEquals(0b1010, cells.openSteps(2, 1, 0, 0));
+
+            board.setTile(new Empty(), new Position(2, 1));
+            assertFalse(cells.isOccupied(2, 1));
+            board.setTile(created.get(0), new Position(3, 1));
+            assertTrue(cells.isOccupied(3, 1));
+            assertEquals(0b0010, cells.openSteps(2, 1, 0, 0));
+            assertEquals(0b1010, cells.openSteps(2, 1, 3, 1));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+import Tiles.Units.CombatKernel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CombatKernel Class Tests")
+class CombatKernelTest {
+
+    @Nested
+    @DisplayName("Strikes")
+    class Strikes {
+
+        @Test
+        @DisplayName("should deal the attack less each defense roll, never below zero")
+        void testStrike() {
+            int[] rolls = {0, 5, 10, 12, 3};
+            int[] health = {20, 5, 1, 30, 7};
+            int[] damage = new int[5];
+
+            int total = CombatKernel.strike(10, rolls, health, damage, 4);
+
+            assertArrayEquals(new int[] {10, 5, 0, 0, 0}, damage);
+            assertArrayEquals(new int[] {10, 0, 1, 30, 7}, health, "Only the first count targets are struck.");
+            assertEquals(15, total);
+        }
+
+        @Test
+        @DisplayName("the death mask should mark exactly the targets with no health, across words")
+        void testDeaths() {
+            int count = 130;
+            int[] health = new int[count];
+            for (int i = 0; i < count; i++) {
+                health[i] = i % 3 == 0 ? -i : i % 3;
+            }
+            int[] dead = new int[count];
+            long[] deaths = new long[(count + 63) / 64];
+
+            assertEquals(44, CombatKernel.deaths(health, count, dead, deaths));
+            for (int i = 0; i < count; i++) {
+                assertEquals(i % 3 == 0, CombatKernel.isDead(deaths, i), "Target " + i);
+                assertEquals(i % 3 == 0 ? 1 : 0, dead[i], "Target " + i);
+            }
+        }
+
+        @Test
+        @DisplayName("extreme health values should be flagged by their sign alone")
+        void testMarkDeadExtremes() {
+            int[] health = {Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE};
+            int[] dead = new int[health.length];
+
+            assertEquals(3, CombatKernel.markDead(health, health.length, dead));
+            assertArrayEquals(new int[] {1, 1, 1, 0, 0}, dead);
+        }
+
+        @Test
+        @DisplayName("packing should leave the bits past the last target clear")
+        void testPack() {
+            int[] flags = new int[70];
+            flags[0] = 1;
+            flags[63] = 1;
+            flags[64] = 1;
+            long[] mask = {-1L, -1L};
+
+            CombatKernel.pack(flags, flags.length, mask);
+
+            assertArrayEquals(new long[] {1L | 1L << 63, 1L}, mask);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+import Tiles.Archetype;
+import Tiles.EnemyPools;
+import Tiles.Units.Enemies.Enemy;
+import Tiles.Units.Enemies.Monster;
+import Tiles.Units.Enemies.Trap;
+import Utils.Position;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EnemyPools Class Tests")
+class EnemyPoolsTest {
+
+    private static final Archetype KNIGHT = new Archetype('k', Archetype.Type.MONSTER, "Lannister Knight", 200, 14, 8, 4, 50);
+    private static final Archetype DEATH_TRAP = new Archetype('D', Archetype.Type.TRAP, "Death Trap", 500, 100, 20, 250, 1, 10);
+
+    @Nested
+    @DisplayName("Reuse")
+    class Reuse {
+
+        @Test
+        @DisplayName("a pooled enemy should be reset to a newly created enemy of the archetype")
+        void testReset() {
+            EnemyPools pools = new EnemyPools(4);
+            Monster soldier = new Monster("Lannister Soldier", 's', 80, 8, 3, 3, 25);
+            soldier.setPosition(new Position(4, 2));
+            soldier.setCallbacks(message -> {}, (t1, t2) -> {}, enemy -> {});
+            soldier.description();
+            soldier.takeDamage(80);
+            assertTrue(pools.recycle(soldier));
+
+            Enemy knight = KNIGHT.createEnemy(pools);
+
+            assertSame(soldier, knight);
+            assertEquals(KNIGHT.createEnemy().description(), knight.description());
+            assertEquals('k', knight.getCharacter());
+            assertFalse(knight.isDead());
+            assertNull(knight.getMessageCallback());
+            assertEquals(0, pools.size());
+        }
+
+        @Test
+        @DisplayName("a pooled trap should start a new visibility cycle")
+        void testTrapReset() {
+            EnemyPools pools = new EnemyPools(4);
+            Trap trap = new Trap("Bonus Trap", 'B', 1, 1, 1, 250, 1, 5);
+            trap.setPosition(new Position(1, 1));
+            trap.setPlayerPosition(new Position(9, 9));
+            trap.gameTick();
+            assertFalse(trap.isVisible());
+            pools.recycle(trap);
+
+            Trap reused = (Trap) DEATH_TRAP.createEnemy(pools);
+
+            assertSame(trap, reused);
+            assertTrue(reused.isVisible());
+            assertEquals(0, reused.getTicksCount());
+            assertEquals(10, reused.getInvisibilityTime());
+            assertInstanceOf(Monster.class, KNIGHT.createEnemy(pools), "Monsters should not reuse traps.");
+        }
+    }
+
+    @Nested
+    @DisplayName("Bounds")
+    class Bounds {
+
+        @Test
+        @DisplayName("pools should keep at most their capacity of each enemy class")
+        void testBounded() {
+            EnemyPools pools = new EnemyPools(2);
+            List<Boolean> pooled = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                pooled.add(pools.recycle(KNIGHT.createEnemy()));
+            }
+            pooled.add(pools.recycle(DEATH_TRAP.createEnemy()));
+
+            assertEquals(List.of(true, true, false, true), pooled);
+            assertEquals(3, pools.size());
+        }
+    }
+}
@@ -0,0 +1,204 @@
+import Tiles.Empty;
+import Tiles.Passability;
+import Tiles.Tile;
+import Tiles.Units.Enemies.Enemy;
+import Tiles.Units.Enemies.EnemyStore;
+import Tiles.Units.Enemies.Monster;
+import Tiles.Units.Enemies.Trap;
+import Tiles.Units.Unit;
+import Tiles.Wall;
+import Utils.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EnemyStore Class Tests")
+class EnemyStoreTest {
+
+    private static final long SEED = 7;
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private EnemyStore store;
+    private Monster soldier;
+    private Trap trap;
+    private Monster knight;
+
+    @BeforeEach
+    void setUp() {
+        store = new EnemyStore();
+        soldier = monster("Lannister Soldier", 's', 80, 8, 3, 3, new Position(1, 1));
+        trap = new Trap("Bonus Trap", 'B', 1, 1, 1, 250, 1, 5);
+        trap.setPosition(new Position(2, 2));
+        knight = monster("Lannister Knight", 'k', 200, 14, 8, 4, new Position(3, 3));
+    }
+
+    @Nested
+    @DisplayName("Views")
+    class Views {
+
+        @Test
+        @DisplayName("enemies should keep their state when added to a store")
+        void testAdd() {
+            soldier.takeDamage(30);
+            store.add(soldier);
+            store.add(trap);
+
+            assertEquals(List.of(soldier, trap), store);
+            assertEquals(new Position(1, 1), soldier.getPosition());
+            assertEquals("50/80", soldier.getHealth().toString());
+            assertEquals(8, soldier.getAttackPoints());
+            assertEquals(3, soldier.getVisionRange());
+            assertEquals(5, trap.getInvisibilityTime());
+            assertThrows(IllegalArgumentException.class, () -> store.add(soldier));
+        }
+
+        @Test
+        @DisplayName("removing an enemy should keep both it and the enemies after it intact")
+        void testRemove() {
+            store.add(soldier);
+            store.add(trap);
+            store.add(knight);
+
+            assertTrue(store.remove(trap));
+            assertFalse(store.remove(trap));
+            assertEquals(List.of(soldier, knight), store);
+            assertEquals(new Position(3, 3), knight.getPosition());
+            assertEquals(4, knight.getVisionRange());
+            assertEquals(new Position(2, 2), trap.getPosition());
+            trap.takeDamage(1);
+            assertTrue(trap.isDead());
+            assertFalse(knight.isDead());
+
+            store.clear();
+            assertTrue(store.isEmpty());
+            assertEquals("200/200", knight.getHealth().toString());
+        }
+
+        @Test
+        @DisplayName("coordinates should be read from the store, and positions returned as copies")
+        void testPosition() {
+            store.add(soldier);
+            Position position = soldier.getPosition();
+            position.setX(5);
+
+            assertEquals(1, soldier.getX(), "Changing the copy should not move the enemy.");
+            assertEquals(1, soldier.getY());
+            soldier.setPosition(new Position(4, 2));
+            assertEquals(4, soldier.getX());
+            assertEquals(2, soldier.getY());
+            assertNotSame(soldier.getPosition(), soldier.getPosition());
+        }
+
+        @Test
+        @DisplayName("moving enemies in and out of a store should reuse rows rather than allocate")
+        void testNoAllocationOnDetach() {
+            store.add(soldier);
+            store.add(trap);
+            store.add(knight);
+            for (int i = 0; i < 20_000; i++) {
+                store.remove(trap);
+                store.add(trap);
+            }
+
+            long before = THREADS.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < 1_000; i++) {
+                store.remove(soldier);
+                store.add(soldier);
+            }
+            long allocated = THREADS.getCurrentThreadAllocatedBytes() - before;
+
+            assertTrue(allocated < 1_024, allocated + " bytes allocated");
+            assertEquals(List.of(knight, trap, soldier), store);
+            assertEquals(new Position(1, 1), soldier.getPosition());
+        }
+    }
+
+    @Nested
+    @DisplayName("Turns")
+    class Turns {
+
+        @Test
+        @DisplayName("playing a range of turns should match ticking each enemy on its own")
+        void testPlayTurns() {
+            List<Monster> alone = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                alone.add(monster("Soldier " + i, 's', 80, 8, 3, 3, new Position(i * 2 + 1, 2)));
+                store.add(monster("Soldier " + i, 's', 80, 8, 3, 3, new Position(i * 2 + 1, 2)));
+            }
+            Passability cells = open(14, 5);
+            Tile player = new Empty();
+            player.setPosition(new Position(3, 1));
+            List<Position> visited = new ArrayList<>();
+
+            Unit.getRandom().setState(SEED);
+            for (Monster m : alone) {
+                m.setPlayerPosition(player.getPosition());
+                m.gameTick();
+            }
+            Unit.getRandom().setState(SEED);
+            store.playTurns(0, store.size(), player, (x, y) -> {
+                visited.add(new Position(x, y));
+                return new Wall();
+            }, cells);
+
+            assertEquals(alone.stream().map(Enemy::getDesiredPosition).toList(), visited);
+        }
+
+        @Test
+        @DisplayName("wandering monsters should only step into free cells, or stay when boxed in")
+        void testOpenSteps() {
+            Passability cells = new Passability();
+            cells.reset(5, 3);
+            for (int x = 1; x < 4; x++)
+                cells.setPassable(x, 1, true);
+            cells.computeNeighbours();
+            cells.setOccupied(1, 1, true);
+            cells.setOccupied(2, 1, true);
+            store.add(monster("Lannister Soldier", 's', 80, 8, 3, 3, new Position(2, 1)));
+            Tile player = new Empty();
+            player.setPosition(new Position(40, 40));
+
+            for (int seed = 0; seed < 20; seed++) {
+                Unit.getRandom().setState(seed);
+                store.playTurns(0, 1, player, (x, y) -> new Wall(), cells);
+                assertEquals(new Position(3, 1), store.get(0).getDesiredPosition());
+            }
+
+            cells.setOccupied(3, 1, true);
+            Unit.getRandom().setState(SEED);
+            store.playTurns(0, 1, player, (x, y) -> new Wall(), cells);
+            assertEquals(new Position(2, 1), store.get(0).getDesiredPosition());
+            assertEquals(SEED, Unit.getRandom().getState());
+        }
+    }
+
+    /**
+     * Returns the passability of a board of the given size with no walls and no units.
+     */
+    private static Passability open(int width, int height) {
+        Passability cells = new Passability();
+        cells.reset(width, height);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                cells.setPassable(x, y, true);
+            }
+        }
+        cells.computeNeighbours();
+        return cells;
+    }
+
+    private static Monster monster(String name, char tile, int health, int attack, int defense, int vision,
+                                   Position position) {
+        Monster monster = new Monster(name, tile, health, attack, defense, vision, 25);
+        monster.setPosition(position);
+        return monster;
+    }
+}
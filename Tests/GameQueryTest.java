@@ -0,0 +1,144 @@
+import Query.GameQuery;
+import Query.UnitView;
+import Tiles.Units.Unit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Game Query Tests")
+class GameQueryTest {
+
+    @TempDir
+    Path levelsDir;
+
+    private GameManager game;
+    private GameQuery query;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        game = ScriptedGames.create(levelsDir, ScriptedGames.LEVEL,
+                new ScriptedInput(ScriptedGames.WARRIOR, "d", "a"), message -> {});
+        query = game.getQuery();
+    }
+
+    @Nested
+    @DisplayName("Queries")
+    class Queries {
+
+        @Test
+        @DisplayName("queries should describe the current game")
+        void testQueries() {
+            startGame();
+
+            assertEquals('@', query.tileAt(1, 1));
+            assertEquals('#', query.tileAt(0, 0));
+            assertEquals("Jon Snow", query.getPlayer().getName());
+            assertEquals(game.getPlayer().getHealth().getAmount(), query.getPlayer().getHealth());
+            List<UnitView> units = query.unitsIn(0, 0, 10, 5);
+            assertEquals(4, units.size());
+            assertEquals("Jon Snow", units.getFirst().getName());
+            assertEquals(List.of("Jon Snow"), query.unitsIn(0, 0, 3, 3).stream().map(UnitView::getName).toList());
+        }
+
+        @Test
+        @DisplayName("queries before a level is loaded should fail")
+        void testNoLevel() {
+            assertThrows(IllegalStateException.class, () -> query.tileAt(0, 0));
+            assertThrows(IllegalStateException.class, () -> query.getPlayer());
+        }
+
+        @Test
+        @DisplayName("cells outside the board should be rejected")
+        void testOutside() {
+            startGame();
+
+            assertThrows(IndexOutOfBoundsException.class, () -> query.tileAt(10, 0));
+            assertThrows(IndexOutOfBoundsException.class, () -> query.tileAt(0, -1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Concurrency")
+    class Concurrency {
+
+        @Test
+        @DisplayName("a query overlapping an update should see the state after it")
+        void testQueryDuringUpdate() throws Exception {
+            startGame();
+            GameView view = (GameView) query;
+            Unit player = game.getPlayer();
+
+            view.beginUpdate();
+            player.setAttackPoints(1);
+            CompletableFuture<UnitView> read = CompletableFuture.supplyAsync(query::getPlayer);
+            Thread.sleep(50);
+            assertFalse(read.isDone());
+            player.setDefensePoints(2);
+            view.endUpdate();
+
+            UnitView seen = read.get();
+            assertEquals(1, seen.getAttack());
+            assertEquals(2, seen.getDefense());
+        }
+
+        @Test
+        @DisplayName("readers should see consistent views without stalling the game")
+        void testConcurrentReaders() throws Exception {
+            startGame();
+            AtomicBoolean playing = new AtomicBoolean(true);
+            AtomicLong reads = new AtomicLong();
+            AtomicReference<String> problem = new AtomicReference<>();
+            List<Thread> readers = new ArrayList<>();
+            CountDownLatch reading = new CountDownLatch(4);
+            for (int i = 0; i < 4; i++) {
+                readers.add(Thread.ofPlatform().start(() -> {
+                    long lastTick = 0;
+                    while (playing.get()) {
+                        long tick = query.getTick();
+                        List<UnitView> units = query.unitsIn(0, 0, 10, 5);
+                        UnitView player = units.getFirst();
+                        if (tick < lastTick)
+                            problem.set("Tick went back from " + lastTick + " to " + tick);
+                        if (player.getX() < 1 || player.getX() > 2 || player.getY() != 1)
+                            problem.set("Player seen at " + player);
+                        lastTick = tick;
+                        reads.incrementAndGet();
+                        reading.countDown();
+                    }
+                }));
+            }
+            reading.await();
+
+            for (int i = 0; i < 2_000; i++) {
+                game.playTick();
+            }
+            playing.set(false);
+            for (Thread reader : readers) {
+                reader.join();
+            }
+
+            assertNull(problem.get());
+            assertTrue(reads.get() > 0);
+            assertEquals(2_000, query.getTick());
+        }
+    }
+
+    private void startGame() {
+        game.initializeGame(levelsDir.toString());
+        ScriptedGames.makeUnkillable(game);
+    }
+}
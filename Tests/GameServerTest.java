@@ -0,0 +1,190 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Game Server Tests")
+class GameServerTest {
+
+    private static final List<String> LEVEL = List.of(
+            "#########",
+            "#@...#s.#",
+            "#########");
+
+    @TempDir
+    Path levelsDir;
+
+    private GameServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        Files.write(levelsDir.resolve("level1.txt"), LEVEL);
+        server = new GameServer(0, 0, levelsDir.toString());
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.close();
+    }
+
+    @Nested
+    @DisplayName("Sessions")
+    class Sessions {
+
+        @Test
+        @DisplayName("a client should play its own game over the socket")
+        void testPlayOverSocket() throws IOException {
+            try (Client client = new Client(server.getPort())) {
+                client.send("1");
+                assertTrue(client.readUntil(line -> line.contains("@")).startsWith("#@...#"));
+                client.send("d");
+                assertTrue(client.readUntil(line -> line.contains("@")).startsWith("#.@..#"));
+            }
+        }
+
+        @Test
+        @DisplayName("concurrent clients should play independent games")
+        void testConcurrentSessions() throws Exception {
+            int clients = 50;
+            ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                int moves = i % 3;
+                results.add(executor.submit(() -> {
+                    try (Client client = new Client(server.getPort())) {
+                        client.send("1");
+                        client.readUntil(line -> line.startsWith("Jon Snow"));
+                        for (int m = 0; m < moves; m++) {
+                            client.send("d");
+                            client.readUntil(line -> line.startsWith("Jon Snow"));
+                        }
+                        client.send("q");
+                        return client.readUntil(line -> line.startsWith("#") && line.contains("@"));
+                    }
+                }));
+            }
+            for (int i = 0; i < clients; i++) {
+                String expected = switch (i % 3) {
+                    case 0 -> "#@...#";
+                    case 1 -> "#.@..#";
+                    default -> "#..@.#";
+                };
+                String row = results.get(i).get();
+                assertTrue(row.startsWith(expected), "Client " + i + " saw " + row);
+            }
+            executor.close();
+        }
+
+        @Test
+        @DisplayName("disconnected clients should end their sessions")
+        void testDisconnect() throws Exception {
+            try (Client client = new Client(server.getPort())) {
+                client.send("1");
+                client.readUntil(line -> line.startsWith("Jon Snow"));
+                assertEquals(1, server.getSessionCount());
+            }
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (server.getSessionCount() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, server.getSessionCount());
+        }
+    }
+
+    @Nested
+    @DisplayName("Spectators")
+    class Spectators {
+
+        @Test
+        @DisplayName("a spectator should watch a session until it ends")
+        void testWatchSession() throws Exception {
+            try (Client player = new Client(server.getPort());
+                 Socket spectator = new Socket(InetAddress.getLoopbackAddress(), server.getSpectatorPort())) {
+                String announcement = player.readUntil(line -> line.startsWith("Spectators can watch"));
+                int session = Integer.parseInt(announcement.replaceAll("\\D", ""));
+                player.send("1");
+                player.readUntil(line -> line.startsWith("Jon Snow"));
+
+                PrintWriter request = new PrintWriter(spectator.getOutputStream(), true, StandardCharsets.UTF_8);
+                request.println(session);
+                long deadline = System.currentTimeMillis() + 5_000;
+                while (server.getSpectatorCount(session) == 0 && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(10);
+                }
+                assertEquals(1, server.getSpectatorCount(session));
+
+                player.send("d");
+                player.readUntil(line -> line.startsWith("Jon Snow"));
+                player.send("d");
+                player.readUntil(line -> line.startsWith("Jon Snow"));
+                player.disconnect();
+
+                String watched = new String(spectator.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+                // A keyframe showing the player after the first move, then the cells changed by the second.
+                assertTrue(watched.contains("\u001B[2J"), watched);
+                assertTrue(watched.contains("#.@..#"), watched);
+                assertTrue(watched.contains("\u001B[2;3H.@"), watched);
+            }
+        }
+    }
+
+    /**
+     * A line-based loopback client.
+     */
+    private static class Client implements AutoCloseable {
+        private final Socket socket;
+        private final BufferedReader in;
+        private final PrintWriter out;
+
+        private Client(int port) throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+        }
+
+        private void send(String line) {
+            out.println(line);
+        }
+
+        private String readUntil(java.util.function.Predicate<String> match) throws IOException {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (match.test(line))
+                    return line;
+            }
+            throw new IOException("Server closed the connection");
+        }
+
+        /**
+         * Ends the player's input, as a client that disconnects does, so the server ends the session.
+         */
+        private void disconnect() throws IOException {
+            socket.shutdownOutput();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+import Persistence.AutoSaver;
+import Persistence.SnapshotFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Game Snapshot Tests")
+class GameSnapshotTest {
+
+    private static final int TICKS_BEFORE_SAVE = 40;
+    private static final int TICKS_AFTER_SAVE = 60;
+
+    @TempDir
+    Path levelsDir;
+
+    @Nested
+    @DisplayName("Save and restore")
+    class SaveAndRestore {
+
+        @Test
+        @DisplayName("restored game should play exactly like the original")
+        void testRestoredGameIsDeterministic() throws IOException {
+            List<String> original = new ArrayList<>();
+            GameManager game = startGame(original);
+            for (int i = 0; i < TICKS_BEFORE_SAVE; i++) {
+                game.playTick();
+            }
+            byte[] snapshot = game.saveSnapshot();
+            original.clear();
+            for (int i = 0; i < TICKS_AFTER_SAVE; i++) {
+                game.playTick();
+            }
+
+            List<String> restored = new ArrayList<>();
+            GameManager copy = new GameManager(new CLI(new ScriptedInput("d", "a"), restored::add));
+            copy.restoreGame(levelsDir.toString(), snapshot);
+            restored.clear();
+            for (int i = 0; i < TICKS_AFTER_SAVE; i++) {
+                copy.playTick();
+            }
+
+            assertEquals(original, restored);
+        }
+
+        @Test
+        @DisplayName("snapshot of a restored game should be identical")
+        void testSnapshotRoundTrip() throws IOException {
+            GameManager game = startGame(new ArrayList<>());
+            for (int i = 0; i < TICKS_BEFORE_SAVE; i++) {
+                game.playTick();
+            }
+            byte[] snapshot = game.saveSnapshot();
+
+            GameManager copy = new GameManager(new CLI(new ScriptedInput("d", "a"), message -> {}));
+            copy.restoreGame(levelsDir.toString(), snapshot);
+
+            assertArrayEquals(snapshot, copy.saveSnapshot());
+            assertEquals(game.getEnemies().size(), copy.getEnemies().size());
+        }
+
+        @Test
+        @DisplayName("restoring corrupt data should fail")
+        void testCorruptSnapshot() throws IOException {
+            byte[] snapshot = startGame(new ArrayList<>()).saveSnapshot();
+            snapshot[0] ^= 1;
+
+            GameManager copy = new GameManager(new CLI(new ScriptedInput("d"), message -> {}));
+            assertThrows(IOException.class, () -> copy.restoreGame(levelsDir.toString(), snapshot));
+        }
+    }
+
+    @Nested
+    @DisplayName("Snapshot files")
+    class SnapshotFiles {
+
+        @Test
+        @DisplayName("written snapshot should read back unchanged")
+        void testFileRoundTrip() throws IOException {
+            byte[] snapshot = startGame(new ArrayList<>()).saveSnapshot();
+            Path file = levelsDir.resolve("save.dnd");
+            SnapshotFile.write(file, snapshot);
+
+            assertArrayEquals(snapshot, SnapshotFile.read(file));
+        }
+
+        @Test
+        @DisplayName("autosaver should write the latest snapshot")
+        void testAutoSaver() throws IOException {
+            Path file = levelsDir.resolve("autosave.dnd");
+            GameManager game = startGame(new ArrayList<>());
+            byte[] latest;
+            try (AutoSaver saver = new AutoSaver(file)) {
+                game.setAutoSaver(saver, 1);
+                for (int i = 0; i < 5; i++) {
+                    game.playTick();
+                }
+                latest = game.saveSnapshot();
+            }
+
+            assertArrayEquals(latest, SnapshotFile.read(file));
+        }
+    }
+
+    private GameManager startGame(List<String> messages) throws IOException {
+        return ScriptedGames.start(levelsDir, ScriptedGames.LEVEL,
+                new ScriptedInput(ScriptedGames.WARRIOR, "d", "a"), messages::add);
+    }
+}
@@ -0,0 +1,71 @@
+import Metrics.LatencyHistogram;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LatencyHistogram Class Tests")
+class LatencyHistogramTest {
+
+    private LatencyHistogram histogram;
+
+    @BeforeEach
+    void setUp() {
+        histogram = new LatencyHistogram();
+    }
+
+    @Test
+    @DisplayName("should report zeros when empty")
+    void testEmptyHistogram() {
+        assertEquals(0, histogram.getCount(), "Empty histogram should have no values.");
+        assertEquals(0, histogram.getValueAtPercentile(99), "Percentile of an empty histogram should be 0.");
+        assertEquals(0, histogram.getMean(), "Mean of an empty histogram should be 0.");
+    }
+
+    @Test
+    @DisplayName("should keep small values exact")
+    void testSmallValuesAreExact() {
+        for (int i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+        assertEquals(5, histogram.getValueAtPercentile(50), "Median of 1..10 should be 5.");
+        assertEquals(10, histogram.getValueAtPercentile(100), "p100 should be the maximum.");
+        assertEquals(5.5, histogram.getMean(), 1e-9, "Mean of 1..10 should be 5.5.");
+    }
+
+    @Test
+    @DisplayName("should report large values within a few percent")
+    void testLargeValuesRelativeError() {
+        for (long v = 1_000; v <= 100_000_000; v *= 10) {
+            histogram.reset();
+            histogram.record(v);
+            histogram.record(v * 3);
+            long p50 = histogram.getValueAtPercentile(50);
+            assertTrue(p50 >= v && p50 <= v * 1.04, "p50 should be within 4% above " + v + " but was " + p50);
+            assertEquals(v * 3, histogram.getValueAtPercentile(100), "p100 should be capped at the exact maximum.");
+        }
+    }
+
+    @Test
+    @DisplayName("should find the tail in a skewed distribution")
+    void testTailPercentile() {
+        for (int i = 0; i < 990; i++) {
+            histogram.record(1_000);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(1_000_000);
+        }
+        assertTrue(histogram.getValueAtPercentile(99) < 1_100, "p99 should still be in the fast bucket.");
+        assertTrue(histogram.getValueAtPercentile(99.9) >= 1_000_000, "p99.9 should reach the slow values.");
+        assertEquals(1_000_000, histogram.getMax(), "Max should be exact.");
+    }
+
+    @Test
+    @DisplayName("should treat negative values as zero")
+    void testNegativeValues() {
+        histogram.record(-5);
+        assertEquals(1, histogram.getCount(), "Negative value should be counted.");
+        assertEquals(0, histogram.getMax(), "Negative value should be recorded as 0.");
+    }
+}
@@ -0,0 +1,89 @@
+import Persistence.LevelCache;
+import Tiles.LevelTopology;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LevelCache Class Tests")
+class LevelCacheTest {
+
+    private static final List<String> LEVEL = List.of(
+            "#######",
+            "#@.#..#",
+            "#..#.s#",
+            "#######");
+
+    @TempDir
+    Path levelsDir;
+
+    private LevelCache cache;
+    private Path cacheFile;
+
+    @BeforeEach
+    void setUp() {
+        cache = new LevelCache(levelsDir);
+        cacheFile = levelsDir.resolve(LevelCache.DIRECTORY).resolve("level1.txt.topology");
+    }
+
+    @Nested
+    @DisplayName("Loading")
+    class Loading {
+
+        @Test
+        @DisplayName("a cached topology should match the computed one")
+        void testRoundTrip() {
+            LevelTopology computed = cache.load("level1.txt", LEVEL);
+            assertTrue(Files.exists(cacheFile));
+
+            assertTopologyEquals(LevelTopology.compute(LEVEL), computed);
+            assertTopologyEquals(computed, cache.load("level1.txt", LEVEL));
+            assertNotEquals(computed.label(1, 1), computed.label(4, 1), "The wall splits the level in two.");
+        }
+
+        @Test
+        @DisplayName("editing the level should rebuild its cache file")
+        void testRebuiltOnChange() throws IOException {
+            cache.load("level1.txt", LEVEL);
+            byte[] before = Files.readAllBytes(cacheFile);
+
+            List<String> opened = List.of("#######", "#@....#", "#..#.s#", "#######");
+            LevelTopology topology = cache.load("level1.txt", opened);
+
+            assertEquals(topology.label(1, 1), topology.label(4, 1));
+            assertFalse(Arrays.equals(before, Files.readAllBytes(cacheFile)));
+            assertTopologyEquals(topology, cache.load("level1.txt", opened));
+        }
+
+        @Test
+        @DisplayName("a corrupt cache file should be rebuilt")
+        void testCorrupt() throws IOException {
+            cache.load("level1.txt", LEVEL);
+            byte[] data = Files.readAllBytes(cacheFile);
+            Files.write(cacheFile, Arrays.copyOf(data, data.length - 3));
+
+            assertTopologyEquals(LevelTopology.compute(LEVEL), cache.load("level1.txt", LEVEL));
+            assertArrayEquals(data, Files.readAllBytes(cacheFile));
+        }
+    }
+
+    private static void assertTopologyEquals(LevelTopology expected, LevelTopology actual) {
+        assertEquals(expected.getWidth(), actual.getWidth());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                assertEquals(expected.label(x, y), actual.label(x, y));
+                assertEquals(expected.neighbours(x, y), actual.neighbours(x, y));
+            }
+        }
+    }
+}
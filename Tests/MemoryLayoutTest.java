@@ -0,0 +1,80 @@
+import Metrics.MemoryLayout;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MemoryLayout Class Tests")
+class MemoryLayoutTest {
+
+    @Nested
+    @DisplayName("Arrays")
+    class Arrays {
+
+        @Test
+        @DisplayName("reference arrays should take a 16-byte header and 4 bytes per element, aligned to 8")
+        void testReferenceArrays() {
+            assertEquals(16, MemoryLayout.referenceArraySize(0));
+            assertEquals(24, MemoryLayout.referenceArraySize(1));
+            assertEquals(24, MemoryLayout.referenceArraySize(2));
+            assertEquals(32, MemoryLayout.referenceArraySize(3));
+            assertEquals(16 + 4_000_000_000L, MemoryLayout.referenceArraySize(1_000_000_000), "Sizes should not overflow.");
+        }
+
+        @Test
+        @DisplayName("primitive arrays should take a 16-byte header and their elements, aligned to 8")
+        void testPrimitiveArrays() {
+            assertEquals(16, MemoryLayout.primitiveArraySize(0, Long.BYTES));
+            assertEquals(24, MemoryLayout.primitiveArraySize(1, Long.BYTES));
+            assertEquals(32, MemoryLayout.primitiveArraySize(3, Integer.BYTES));
+            assertEquals(24, MemoryLayout.primitiveArraySize(8, Byte.BYTES));
+            assertEquals(32, MemoryLayout.primitiveArraySize(9, Byte.BYTES));
+        }
+
+        @Test
+        @DisplayName("aligning should round up to the next multiple of 8")
+        void testAlign() {
+            assertEquals(0, MemoryLayout.align(0));
+            assertEquals(8, MemoryLayout.align(1));
+            assertEquals(16, MemoryLayout.align(12));
+            assertEquals(16, MemoryLayout.align(16));
+        }
+    }
+
+    @Nested
+    @DisplayName("Objects")
+    class Objects {
+
+        @Test
+        @DisplayName("an object should take a 12-byte header and its instance fields, aligned to 8")
+        void testShallowSize() {
+            assertEquals(16, MemoryLayout.shallowSize(Object.class));
+            assertEquals(16, MemoryLayout.shallowSize(OneInt.class));
+            assertEquals(24, MemoryLayout.shallowSize(Mixed.class));
+        }
+
+        @Test
+        @DisplayName("inherited fields should count, static fields should not")
+        void testInheritance() {
+            assertEquals(32, MemoryLayout.shallowSize(MixedChild.class));
+        }
+    }
+
+    private static class OneInt {
+        int value;
+    }
+
+    // 12 + 8 + 1 = 21, aligned to 24.
+    private static class Mixed {
+        static long ignored;
+        long total;
+        byte flag;
+    }
+
+    // 12 + 8 + 1 + 4 (reference) + 2 = 27, aligned to 32.
+    private static class MixedChild extends Mixed {
+        Object parent;
+        char symbol;
+    }
+}
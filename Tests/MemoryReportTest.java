@@ -0,0 +1,95 @@
+import Metrics.MemoryReport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MemoryReport Class Tests")
+class MemoryReportTest {
+
+    @TempDir
+    Path levelsDir;
+
+    @Nested
+    @DisplayName("Aggregation")
+    class Aggregation {
+
+        @Test
+        @DisplayName("adding to a category should sum its objects and bytes, and the total")
+        void testAdd() {
+            MemoryReport report = new MemoryReport("Level 1");
+            report.add("Wall", 1, 16);
+            report.add("Monster", 2, 96);
+            report.add("Wall", 3, 48);
+
+            assertEquals(4, report.getCount("Wall"));
+            assertEquals(64, report.getBytes("Wall"));
+            assertEquals(0, report.getCount("Trap"));
+            assertEquals(0, report.getBytes("Trap"));
+            assertEquals(160, report.getTotalBytes());
+        }
+
+        @Test
+        @DisplayName("merging a report should add each of its categories")
+        void testAddAll() {
+            MemoryReport board = new MemoryReport("Board");
+            board.add("Wall", 2, 32);
+            MemoryReport level = new MemoryReport("Level 1");
+            level.add("Enemy store", 3, 200);
+            level.addAll(board);
+            level.addAll(board);
+
+            assertEquals(4, level.getCount("Wall"));
+            assertEquals(264, level.getTotalBytes());
+            assertEquals(32, board.getTotalBytes(), "The merged report should be left alone.");
+        }
+    }
+
+    @Nested
+    @DisplayName("Formatting")
+    class Formatting {
+
+        @Test
+        @DisplayName("the report should list its categories in the order they were first added")
+        void testToString() {
+            MemoryReport report = new MemoryReport("Level 1 (3x1)");
+            report.add("Wall", 2, 32);
+            report.add("Player", 1, 48);
+            report.add("Wall", 0, 16);
+
+            assertEquals(String.format("Level 1 (3x1): 96 bytes%n"
+                            + "  Wall                          2 objects           48 bytes%n"
+                            + "  Player                        1 objects           48 bytes"),
+                    report.toString());
+        }
+    }
+
+    @Nested
+    @DisplayName("Command")
+    class Command {
+
+        @Test
+        @DisplayName("the memory report key should print the level's report without using a turn")
+        void testReportKey() throws IOException {
+            List<String> output = new ArrayList<>();
+            GameManager game = ScriptedGames.start(levelsDir, ScriptedGames.LEVEL,
+                    new ScriptedInput(ScriptedGames.WARRIOR, "m", "m", "d"), output::add);
+            long tick = game.getTick();
+
+            game.playTick();
+
+            String title = "Level 1 (10x5): ";
+            assertEquals(2, output.stream().filter(message -> message.startsWith(title)).count(), output.toString());
+            assertTrue(output.stream().anyMatch(message -> message.contains("Enemy store")));
+            assertEquals(tick + 1, game.getTick(), "Both reports and the move should take a single tick.");
+            assertEquals(2, game.getPlayer().getPosition().getX(), "The move after the reports should be played.");
+        }
+    }
+}
@@ -0,0 +1,102 @@
+import Metrics.Counter;
+import Metrics.Gauge;
+import Metrics.MetricsRegistry;
+import Metrics.MetricsServer;
+import Metrics.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Metrics Server Tests")
+class MetricsServerTest {
+
+    private MetricsRegistry registry;
+    private Counter ticks;
+
+    @BeforeEach
+    void setUp() {
+        registry = new MetricsRegistry();
+        ticks = registry.counter("test_ticks_total", "Ticks played.");
+    }
+
+    @Nested
+    @DisplayName("Scraping")
+    class Scraping {
+
+        @Test
+        @DisplayName("a scrape should list every metric by name, with its help, type and samples")
+        void testScrape() {
+            Gauge sessions = registry.gauge("test_sessions", "Open sessions.");
+            Timer ticksTime = registry.timer("test_tick_seconds", "Time spent in ticks.");
+            ticks.add(3);
+            sessions.increment();
+            ticksTime.record(1_500_000_000L);
+
+            assertEquals("""
+                    # HELP test_sessions Open sessions.
+                    # TYPE test_sessions gauge
+                    test_sessions 1
+                    # HELP test_tick_seconds Time spent in ticks.
+                    # TYPE test_tick_seconds summary
+                    test_tick_seconds_sum 1.5
+                    test_tick_seconds_count 1
+                    # HELP test_ticks_total Ticks played.
+                    # TYPE test_ticks_total counter
+                    test_ticks_total 3
+                    """, registry.scrape());
+        }
+
+        @Test
+        @DisplayName("registering a name twice should fail")
+        void testDuplicate() {
+            assertThrows(IllegalArgumentException.class, () -> registry.gauge("test_ticks_total", "Again."));
+        }
+    }
+
+    @Nested
+    @DisplayName("Endpoint")
+    class Endpoint {
+
+        @Test
+        @DisplayName("a GET on the loopback endpoint should return the scrape as Prometheus text")
+        void testGet() throws IOException, InterruptedException {
+            ticks.add(42);
+            try (MetricsServer server = new MetricsServer(0, registry);
+                 HttpClient client = HttpClient.newHttpClient()) {
+                HttpResponse<String> response = client.send(request(server).GET().build(),
+                        HttpResponse.BodyHandlers.ofString());
+
+                assertEquals(200, response.statusCode());
+                assertEquals("text/plain; version=0.0.4; charset=utf-8",
+                        response.headers().firstValue("Content-Type").orElse(null));
+                assertTrue(response.body().lines().anyMatch("test_ticks_total 42"::equals), response.body());
+            }
+        }
+
+        @Test
+        @DisplayName("other methods should be refused")
+        void testPost() throws IOException, InterruptedException {
+            try (MetricsServer server = new MetricsServer(0, registry);
+                 HttpClient client = HttpClient.newHttpClient()) {
+                HttpResponse<String> response = client.send(
+                        request(server).POST(HttpRequest.BodyPublishers.noBody()).build(),
+                        HttpResponse.BodyHandlers.ofString());
+
+                assertEquals(405, response.statusCode());
+            }
+        }
+    }
+
+    private static HttpRequest.Builder request(MetricsServer server) {
+        return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + "/metrics"));
+    }
+}
@@ -1,11 +1,14 @@
 import Callbacks.ChangePositionCallback;
 import Callbacks.EnemyDeathCallback;
 import Callbacks.MessageCallback;
+import Tiles.Empty;
 import Tiles.Tile;
+import Tiles.Wall;
 import Tiles.Units.Enemies.Enemy;
 import Tiles.Units.Enemies.Monster;
 import Tiles.Units.Players.Player;
 import Tiles.Units.Players.Warrior;
+import Tiles.Units.Unit;
 import Utils.Direction;
 import Utils.Position;
 import org.junit.jupiter.api.BeforeEach;
@@ -243,5 +246,30 @@ class MonsterTest {
 
             assertTrue(messageLog.stream().anyMatch(s -> s.contains("engaged in combat with")), "Accepting a player should trigger combat.");
         }
+
+        @Test
+        @DisplayName("visit(Tile) should resolve each kind of tile as accept(Unit) would")
+        void testVisitTile_DispatchesOnKind() {
+            Empty empty = new Empty();
+            monster.visit((Tile) empty);
+            assertSame(monster, tile1Swapped, "Visiting an empty tile should move the monster.");
+            assertSame(empty, tile2Swapped, "Visiting an empty tile should move the monster.");
+
+            tile1Swapped = null;
+            monster.visit((Tile) new Wall());
+            monster.visit((Tile) new Monster("Another Monster", 'm', 50, 5, 5, 2, 10));
+            assertNull(tile1Swapped, "Walls and enemies should block the monster.");
+            assertTrue(messageLog.isEmpty(), "Walls and enemies should block the monster.");
+
+            List<Unit> accepted = new ArrayList<>();
+            monster.visit(new Tile() {
+                @Override
+                public void accept(Unit unit) { accepted.add(unit); }
+            });
+            assertEquals(List.of(monster), accepted, "A tile without a kind should be visited through accept(Unit).");
+
+            monster.visit((Tile) testPlayer);
+            assertTrue(messageLog.stream().anyMatch(s -> s.contains("engaged in combat with")), "Visiting a player should trigger combat.");
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,105 @@
+import Metrics.EngineMetrics;
+import Tiles.LevelTopology;
+import Tiles.Units.Enemies.Enemy;
+import Tiles.Units.Enemies.EnemyStore;
+import Utils.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Reachability Tests")
+class ReachabilityTest {
+
+    private static final int WARRIOR = 1;
+
+    // The soldier at the left is walled in. The traps are walled off too, but the player can stand
+    // diagonally next to the Bonus Trap, while the Death Trap is out of reach.
+    private static final List<String> LEVEL = List.of(
+            "############",
+            "#s#@.....#D#",
+            "###......#.#",
+            "#...k...#B.#",
+            "############");
+
+    @TempDir
+    Path levelsDir;
+
+    private GameManager game;
+    private List<String> output;
+    private long unreachableBefore;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.write(levelsDir.resolve("level1.txt"), LEVEL);
+        output = new ArrayList<>();
+        game = new GameManager(new CLI(new ScriptedInput(WARRIOR, "q"), output::add));
+        unreachableBefore = EngineMetrics.UNREACHABLE_ENEMIES.get();
+        game.initializeGame(levelsDir.toString());
+    }
+
+    @Nested
+    @DisplayName("Components")
+    class Components {
+
+        @Test
+        @DisplayName("walls should separate the board into components")
+        void testLabels() {
+            LevelTopology topology = game.getBoard().getTopology();
+
+            assertEquals(LevelTopology.WALL, topology.label(0, 0));
+            assertEquals(topology.label(3, 1), topology.label(4, 3), "The player and the knight share a component.");
+            assertNotEquals(topology.label(3, 1), topology.label(1, 1), "The soldier is walled in.");
+            assertNotEquals(topology.label(3, 1), topology.label(10, 2), "The traps are behind a wall.");
+        }
+    }
+
+    @Nested
+    @DisplayName("Enemies")
+    class Enemies {
+
+        @Test
+        @DisplayName("enemies that can never reach the player should not take turns")
+        void testUnreachableSkipped() {
+            EnemyStore enemies = (EnemyStore) game.getEnemies();
+
+            assertEquals(4, enemies.size());
+            assertEquals(2, enemies.getActiveCount());
+            assertEquals(List.of("Lannister Knight", "Bonus Trap", "Lannister Soldier", "Death Trap"),
+                    enemies.stream().map(Enemy::getName).toList());
+
+            Enemy soldier = enemies.get(2);
+            for (int i = 0; i < 50; i++) {
+                game.playTick(new char[] {'q'}, 0);
+            }
+            assertEquals(new Position(1, 1), soldier.getPosition());
+        }
+
+        @Test
+        @DisplayName("unreachable enemies should be reported to the player and counted")
+        void testReported() {
+            assertTrue(output.contains("2 of the enemies on level 1 can never reach you."), output.toString());
+            assertEquals(2, EngineMetrics.UNREACHABLE_ENEMIES.get() - unreachableBefore);
+        }
+
+        @Test
+        @DisplayName("killing an active enemy should keep the inactive ones inactive")
+        void testRemoveActive() {
+            EnemyStore enemies = (EnemyStore) game.getEnemies();
+            Enemy knight = enemies.getFirst();
+            enemies.remove(knight);
+
+            assertEquals(1, enemies.getActiveCount());
+            assertEquals("Bonus Trap", enemies.getFirst().getName());
+        }
+    }
+}
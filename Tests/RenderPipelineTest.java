@@ -0,0 +1,131 @@
+import Rendering.AnsiDeltaRenderer;
+import Rendering.CharGrid;
+import Rendering.RenderPipeline;
+import Tiles.Units.Unit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RenderPipeline Class Tests")
+class RenderPipelineTest {
+
+    private static final int TICKS = 80;
+    private static final long SEED = 42;
+
+    @TempDir
+    Path levelsDir;
+
+    @Nested
+    @DisplayName("Output")
+    class Output {
+
+        @Test
+        @DisplayName("pipelined game should write exactly what sequential rendering writes")
+        void testSameAsSequential() throws IOException {
+            List<String> sequential = play(false);
+            List<String> pipelined = play(true);
+
+            assertTrue(sequential.size() > TICKS * 2);
+            assertEquals(sequential, pipelined);
+        }
+
+        @Test
+        @DisplayName("pipelined ANSI frames should match frames rendered in place")
+        void testAnsiFrames() {
+            List<String> direct = new ArrayList<>();
+            AnsiDeltaRenderer renderer = new AnsiDeltaRenderer(direct::add);
+            List<String> piped = new ArrayList<>();
+            RenderPipeline pipeline = new RenderPipeline(new AnsiDeltaRenderer(piped::add), piped::add);
+
+            char[][] rows = {"#######".toCharArray(), "#@...s#".toCharArray(), "#######".toCharArray()};
+            CharGrid grid = new CharGrid() {
+                public int getWidth() { return rows[0].length; }
+                public int getHeight() { return rows.length; }
+                public char getChar(int x, int y) { return rows[y][x]; }
+            };
+            for (int tick = 0; tick < 20; tick++) {
+                rows[1][1 + tick % 5] = '@';
+                rows[1][1 + (tick + 4) % 5] = '.';
+                renderer.render(grid, "Tick " + tick);
+                direct.add("message " + tick);
+                pipeline.render(grid, "Tick " + tick);
+                pipeline.message("message " + tick);
+            }
+            pipeline.close();
+
+            assertEquals(direct, piped);
+        }
+
+        @Test
+        @DisplayName("an interrupted game thread should still queue every frame, and stay interrupted")
+        void testInterrupted() {
+            List<String> frames = new ArrayList<>();
+            RenderPipeline pipeline = new RenderPipeline((grid, stats) -> {
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                frames.add(stats);
+            }, message -> {});
+            CharGrid grid = new CharGrid() {
+                public int getWidth() { return 1; }
+                public int getHeight() { return 1; }
+                public char getChar(int x, int y) { return '@'; }
+            };
+
+            Thread.currentThread().interrupt();
+            for (int tick = 0; tick < 5; tick++) {
+                pipeline.render(grid, "Tick " + tick);
+            }
+            assertTrue(Thread.interrupted(), "The interrupt should be passed on to the caller.");
+            pipeline.close();
+
+            assertEquals(List.of("Tick 0", "Tick 1", "Tick 2", "Tick 3", "Tick 4"), frames);
+        }
+
+        @Test
+        @DisplayName("a failure writing output should be reported to the game thread")
+        void testFailure() {
+            RenderPipeline pipeline = new RenderPipeline((grid, stats) -> {}, message -> {
+                throw new UncheckedIOException(new IOException("Disconnected"));
+            });
+            pipeline.message("lost");
+
+            assertThrows(UncheckedIOException.class, pipeline::flush);
+        }
+    }
+
+    /**
+     * Plays the same seeded game with or without a render thread, the way a replay is played back.
+     * @return everything the game wrote
+     */
+    private List<String> play(boolean pipelined) throws IOException {
+        List<String> output = new ArrayList<>();
+        // Monsters random-walk and fight the player, so frames and messages interleave.
+        GameManager game = ScriptedGames.create(levelsDir, ScriptedGames.LEVEL,
+                new ScriptedInput(ScriptedGames.WARRIOR, "d", "d", "a", "e", "a"), output::add);
+        game.setPipelinedRendering(pipelined);
+        Unit.getRandom().setState(SEED);
+        game.initializeGame(levelsDir.toString());
+        ScriptedGames.makeUnkillable(game);
+        // Replayed actions are not read from the CLI, so the game never waits for the render thread.
+        char[] actions = "ddaea".repeat(TICKS / 5).toCharArray();
+        int next = 0;
+        while (next < actions.length) {
+            next = game.playTick(actions, next);
+        }
+        game.flushOutput();
+        game.setPipelinedRendering(false);
+        return output;
+    }
+}
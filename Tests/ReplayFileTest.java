@@ -0,0 +1,158 @@
+import Metrics.EngineMetrics;
+import Persistence.ReplayFile;
+import Persistence.ReplayRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Replay File Tests")
+class ReplayFileTest {
+
+    private static final int KEYFRAME_TICKS = 10;
+    private static final int RECORDED_TICKS = 95;
+
+    @TempDir
+    Path dir;
+
+    private Path replayFile;
+    private List<byte[]> snapshots;
+
+    @BeforeEach
+    void record() throws IOException {
+        replayFile = dir.resolve("game.replay");
+        GameManager game = ScriptedGames.start(dir, ScriptedGames.LEVEL,
+                new ScriptedInput(ScriptedGames.WARRIOR, "d", "m", "s", "a", "w"), message -> {});
+
+        snapshots = new ArrayList<>();
+        try (ReplayRecorder recorder = new ReplayRecorder(replayFile, KEYFRAME_TICKS)) {
+            game.setRecorder(recorder);
+            snapshots.add(game.saveSnapshot());
+            for (int i = 0; i < RECORDED_TICKS; i++) {
+                game.playTick();
+                snapshots.add(game.saveSnapshot());
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Index")
+    class Index {
+
+        @Test
+        @DisplayName("should hold a keyframe every interval")
+        void testKeyframes() throws IOException {
+            try (ReplayFile replay = new ReplayFile(replayFile)) {
+                assertEquals(RECORDED_TICKS / KEYFRAME_TICKS + 1, replay.getKeyframeCount());
+                assertEquals(50, replay.getKeyframeTick(5));
+                assertEquals(5, replay.findKeyframe(55));
+                assertEquals(5, replay.findKeyframe(50));
+                assertEquals(9, replay.findKeyframe(1_000));
+            }
+        }
+
+        @Test
+        @DisplayName("should be rebuilt when the recording was cut off")
+        void testMissingIndex() throws IOException {
+            try (FileChannel channel = FileChannel.open(replayFile, StandardOpenOption.WRITE)) {
+                channel.truncate(channel.size() - 20);
+            }
+            try (ReplayFile replay = new ReplayFile(replayFile)) {
+                assertEquals(RECORDED_TICKS / KEYFRAME_TICKS + 1, replay.getKeyframeCount());
+                assertEquals(90, replay.getKeyframeTick(9));
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Seeking")
+    class Seeking {
+
+        @Test
+        @DisplayName("should reproduce the recorded state at any tick")
+        void testSeek() throws IOException {
+            try (ReplayFile replay = new ReplayFile(replayFile)) {
+                ReplayViewer viewer = new ReplayViewer(replay, dir.toString(), new CLI(new ScriptedInput("x"), message -> {}));
+                for (int tick : new int[]{0, 7, 55, 50, 94, 3}) {
+                    viewer.seek(tick);
+                    assertEquals(tick, viewer.getGame().getTick());
+                    assertArrayEquals(snapshots.get(tick), viewer.getGame().saveSnapshot(), "State differs at tick " + tick);
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("seeking should count only the enemies of the restored keyframe as alive")
+        void testSeekEnemiesAlive() throws IOException {
+            try (ReplayFile replay = new ReplayFile(replayFile)) {
+                ReplayViewer viewer = new ReplayViewer(replay, dir.toString(), new CLI(new ScriptedInput("x"), message -> {}));
+                long alive = EngineMetrics.ENEMIES_ALIVE.get();
+                viewer.seek(55);
+                viewer.seek(7);
+
+                assertEquals(viewer.getGame().getEnemies().size(), EngineMetrics.ENEMIES_ALIVE.get() - alive);
+            }
+        }
+
+        @Test
+        @DisplayName("stepping should continue across keyframes")
+        void testStepAcrossKeyframes() throws IOException {
+            List<String> output = new ArrayList<>();
+            try (ReplayFile replay = new ReplayFile(replayFile)) {
+                ReplayViewer viewer = new ReplayViewer(replay, dir.toString(),
+                        new CLI(new ScriptedInput("g 8", "n 5", "f 1000", "x"), output::add));
+                viewer.start();
+                assertArrayEquals(snapshots.get(RECORDED_TICKS), viewer.getGame().saveSnapshot());
+            }
+            assertTrue(output.contains("End of replay at tick " + RECORDED_TICKS + "."));
+        }
+
+        @Test
+        @DisplayName("a recording cut off partway through a tick should end before that tick")
+        void testCutOffTick() throws IOException {
+            Path cutFile = dir.resolve("cut.replay");
+            GameManager game = ScriptedGames.start(dir, ScriptedGames.LEVEL,
+                    new ScriptedInput(ScriptedGames.WARRIOR, "d", "a"), message -> {});
+            try (ReplayRecorder recorder = new ReplayRecorder(cutFile, KEYFRAME_TICKS)) {
+                game.setRecorder(recorder);
+                for (int i = 0; i < 3; i++) {
+                    game.playTick();
+                }
+                // The game crashed after the player asked for a memory report, before the tick's action.
+                recorder.action('m');
+            }
+
+            List<String> output = new ArrayList<>();
+            try (ReplayFile replay = new ReplayFile(cutFile)) {
+                ReplayViewer viewer = new ReplayViewer(replay, dir.toString(),
+                        new CLI(new ScriptedInput("n 5", "x"), output::add));
+                viewer.start();
+                assertEquals(3, viewer.getGame().getTick());
+            }
+            assertTrue(output.contains("End of replay at tick 3."), output.toString());
+        }
+
+        @Test
+        @DisplayName("playing a tick the recording cut off should fail instead of reading the player's input")
+        void testPlayCutOffTick() throws IOException {
+            GameManager game = ScriptedGames.start(dir, ScriptedGames.LEVEL,
+                    new ScriptedInput(ScriptedGames.WARRIOR, "d"), message -> {});
+            char[] actions = {'d', 'm'};
+
+            assertTrue(GameManager.recordsTick(actions, 0));
+            assertFalse(GameManager.recordsTick(actions, 1));
+            assertEquals(1, game.playTick(actions, 0));
+            assertThrows(IllegalStateException.class, () -> game.playTick(actions, 1));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+import Callbacks.MessageCallback;
+import Tiles.Units.Enemies.Enemy;
+import Tiles.Units.Unit;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Headless games for tests: writes a level, starts a game on it with {@link ScriptedInput}, and makes its
+ * units unkillable so a test can play as many ticks as it needs.
+ */
+final class ScriptedGames {
+    static final int WARRIOR = 1;
+
+    // The player walks next to a trap while monsters random-walk towards it, so the game keeps fighting.
+    static final List<String> LEVEL = List.of(
+            "##########",
+            "#@.B.....#",
+            "#........#",
+            "#..s...k.#",
+            "##########");
+
+    private static final int UNKILLABLE = 1_000_000;
+
+    private ScriptedGames() {}
+
+    /**
+     * Writes the level as the first level of a levels directory and creates a game reading the input,
+     * without loading the level yet, so the game can be configured first.
+     * @param levelsDir the levels directory
+     * @param level the level map
+     * @param input the scripted input
+     * @param output receives everything the game writes
+     * @return the game
+     */
+    static GameManager create(Path levelsDir, List<String> level, InputReader input, MessageCallback output)
+            throws IOException {
+        Files.write(levelsDir.resolve("level1.txt"), level);
+        return new GameManager(new CLI(input, output));
+    }
+
+    /**
+     * Creates a game as {@link #create} does, selects the player and loads the level, with every unit unkillable.
+     * @param levelsDir the levels directory
+     * @param level the level map
+     * @param input the scripted input, answering the player selection first
+     * @param output receives everything the game writes
+     * @return the started game
+     */
+    static GameManager start(Path levelsDir, List<String> level, InputReader input, MessageCallback output)
+            throws IOException {
+        GameManager game = create(levelsDir, level, input, output);
+        game.initializeGame(levelsDir.toString());
+        makeUnkillable(game);
+        return game;
+    }
+
+    /**
+     * Gives the player and every enemy of the current level enough health to survive any test.
+     * @param game the game
+     */
+    static void makeUnkillable(GameManager game) {
+        makeUnkillable(game, UNKILLABLE);
+    }
+
+    /**
+     * Raises the health of the player and every enemy of the current level by the given amount, and restores it.
+     * @param game the game
+     * @param health the health to add to each unit's capacity
+     */
+    static void makeUnkillable(GameManager game, int health) {
+        makeUnkillable(game.getPlayer(), health);
+        for (Enemy e : game.getEnemies()) {
+            makeUnkillable(e, health);
+        }
+    }
+
+    private static void makeUnkillable(Unit unit, int health) {
+        unit.getHealth().addCapacity(health);
+        unit.getHealth().restore();
+    }
+}
@@ -0,0 +1,41 @@
+/**
+ * Input reader for headless games.
+ * Answers the player selection first, if given, then repeats the given actions forever.
+ */
+class ScriptedInput implements InputReader {
+    private final String choice;
+    private final String[] actions;
+    private int next;
+
+    /**
+     * Creates an input that selects the given player, then repeats the actions.
+     * @param playerChoice the 1-based player selection
+     * @param actions the actions the player repeats
+     */
+    ScriptedInput(int playerChoice, String... actions) {
+        this.choice = String.valueOf(playerChoice);
+        this.actions = actions;
+        this.next = -1;
+    }
+
+    /**
+     * Creates an input that only repeats the actions, for games that skip the player selection.
+     * @param actions the actions the player repeats
+     */
+    ScriptedInput(String... actions) {
+        this.choice = null;
+        this.actions = actions;
+        this.next = 0;
+    }
+
+    @Override
+    public String read() {
+        if (next < 0) {
+            next = 0;
+            return choice;
+        }
+        String action = actions[next];
+        next = (next + 1) % actions.length;
+        return action;
+    }
+}
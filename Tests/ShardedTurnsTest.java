@@ -0,0 +1,122 @@
+import Tiles.Passability;
+import Tiles.Tile;
+import Tiles.Units.Enemies.Enemy;
+import Tiles.Units.Unit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ShardedTurns Class Tests")
+class ShardedTurnsTest {
+
+    private static final int TICKS = 60;
+    private static final long SEED = 42;
+
+    // Monsters crowd every band of the board, so many moves cross shard borders.
+    private static final List<String> LEVEL = List.of(
+            "################",
+            "#@.s..s..s..s..#",
+            "#..............#",
+            "#.s..s..s..s..s#",
+            "#..............#",
+            "#s..s..s..s..s.#",
+            "#..............#",
+            "#..s..s..s..s..#",
+            "################");
+
+    @TempDir
+    Path levelsDir;
+
+    @Nested
+    @DisplayName("Determinism")
+    class Determinism {
+
+        @Test
+        @DisplayName("a sharded game should play out the same for the same seed and shard count")
+        void testReproducible() throws IOException {
+            List<String> first = play(4);
+
+            assertEquals(first, play(4));
+            assertNotEquals(first, play(1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Moves")
+    class Moves {
+
+        @Test
+        @DisplayName("sharded moves should never stack enemies or lose track of occupied cells")
+        void testBoardConsistent() throws IOException {
+            GameManager game = start(3);
+            int enemies = game.getEnemies().size();
+            char[] actions = "q".repeat(TICKS).toCharArray();
+            int next = 0;
+            while (next < actions.length) {
+                next = game.playTick(actions, next);
+
+                Board board = game.getBoard();
+                Passability cells = board.getPassability();
+                int units = 0;
+                for (int y = 0; y < board.getHeight(); y++) {
+                    for (int x = 0; x < board.getWidth(); x++) {
+                        Tile tile = board.getTile(x, y);
+                        assertEquals(tile instanceof Unit, cells.isOccupied(x, y));
+                        if (tile instanceof Enemy e) {
+                            units++;
+                            assertEquals(tile.getPosition(), e.getPosition());
+                        }
+                    }
+                }
+                assertEquals(enemies, units);
+            }
+            game.setTickShards(1);
+        }
+
+        @Test
+        @DisplayName("abandoning a sharded game should stop its shard workers")
+        void testAbandon() throws IOException {
+            GameManager game = start(3);
+            game.playTick(new char[] {'q'}, 0);
+            game.abandon();
+
+            assertEquals(1, game.getTickShards());
+        }
+    }
+
+    /**
+     * Starts a seeded game on the crowded level, with the player and enemies too strong to die.
+     */
+    private GameManager start(int shards) throws IOException {
+        GameManager game = ScriptedGames.create(levelsDir, LEVEL, new ScriptedInput(ScriptedGames.WARRIOR, "q"), message -> {});
+        game.setTickShards(shards);
+        Unit.getRandom().setState(SEED);
+        game.initializeGame(levelsDir.toString());
+        ScriptedGames.makeUnkillable(game);
+        return game;
+    }
+
+    /**
+     * Plays the seeded game and returns the board after every tick.
+     */
+    private List<String> play(int shards) throws IOException {
+        GameManager game = start(shards);
+        List<String> boards = new ArrayList<>();
+        char[] actions = "dq".repeat(TICKS / 2).toCharArray();
+        int next = 0;
+        while (next < actions.length) {
+            next = game.playTick(actions, next);
+            boards.add(game.getBoard().toString());
+        }
+        game.setTickShards(1);
+        return boards;
+    }
+}
@@ -0,0 +1,214 @@
+import Broadcast.Spectator;
+import Broadcast.SpectatorFeed;
+import Rendering.CharGrid;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SpectatorFeed Class Tests")
+class SpectatorFeedTest {
+
+    private static final String FULL_REDRAW = "\u001B[2J";
+    private static final String STATS = "Jon Snow\tHealth: 300/300";
+
+    private SpectatorFeed feed;
+    private Grid grid;
+
+    @BeforeEach
+    void setUp() {
+        feed = new SpectatorFeed();
+        grid = new Grid(8, 3);
+    }
+
+    @Nested
+    @DisplayName("Broadcasting")
+    class Broadcasting {
+
+        @Test
+        @DisplayName("every spectator should receive the same frames and messages")
+        void testSharedFrames() throws InterruptedException {
+            ByteArrayOutputStream first = new ByteArrayOutputStream();
+            ByteArrayOutputStream second = new ByteArrayOutputStream();
+            Thread firstThread = watch(new Spectator(feed, first, 16));
+            Thread secondThread = watch(new Spectator(feed, second, 16));
+
+            play(0, 5);
+            feed.close();
+            firstThread.join();
+            secondThread.join();
+
+            String output = first.toString(StandardCharsets.UTF_8);
+            assertTrue(output.startsWith(FULL_REDRAW));
+            assertTrue(output.contains("Tick 4 message"));
+            assertEquals(output, second.toString(StandardCharsets.UTF_8));
+            assertEquals(0, feed.getSpectatorCount());
+        }
+
+        @Test
+        @DisplayName("a spectator joining mid-game should start with a keyframe")
+        void testJoinMidGame() throws InterruptedException {
+            Thread earlyThread = watch(new Spectator(feed, new ByteArrayOutputStream(), 16));
+            play(0, 5);
+            ByteArrayOutputStream late = new ByteArrayOutputStream();
+            Thread lateThread = watch(new Spectator(feed, late, 16));
+            play(5, 3);
+            feed.close();
+            earlyThread.join();
+            lateThread.join();
+
+            String output = late.toString(StandardCharsets.UTF_8);
+            assertTrue(output.startsWith(FULL_REDRAW), output);
+            assertFalse(output.contains("Tick 4 message"));
+            assertTrue(output.contains("Tick 7 message"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Flushing")
+    class Flushing {
+
+        @Test
+        @DisplayName("a flushed tick should reach spectators without waiting for the next frame")
+        void testFlush() throws InterruptedException {
+            BlockingOutput output = new BlockingOutput(new CountDownLatch(0));
+            Thread thread = watch(new Spectator(feed, output, 16));
+
+            play(0, 1);
+            feed.flush();
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (output.writes.isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(1);
+            }
+
+            assertEquals(1, output.writes.size());
+            assertTrue(output.writes.getFirst().startsWith(FULL_REDRAW));
+            assertTrue(output.writes.getFirst().contains("Tick 0 message"));
+            feed.close();
+            thread.join();
+        }
+    }
+
+    @Nested
+    @DisplayName("Slow spectators")
+    class SlowSpectators {
+
+        @Test
+        @DisplayName("a blocked spectator should not delay the game and should resume at a keyframe")
+        void testSlowSpectator() throws InterruptedException {
+            CountDownLatch release = new CountDownLatch(1);
+            BlockingOutput slow = new BlockingOutput(release);
+            Spectator slowSpectator = new Spectator(feed, slow, 2);
+            Thread slowThread = watch(slowSpectator);
+            ByteArrayOutputStream fast = new ByteArrayOutputStream();
+            Thread fastThread = watch(new Spectator(feed, fast, 64));
+
+            // A tick is sent once the next one starts.
+            play(0, 2);
+            while (slow.writes.isEmpty()) {
+                Thread.sleep(1);
+            }
+            assertTimeout(Duration.ofSeconds(2), () -> play(2, 48));
+            release.countDown();
+            play(50, 3);
+            feed.close();
+            slowThread.join();
+            fastThread.join();
+
+            assertTrue(slowSpectator.getFramesDropped() > 0);
+            assertTrue(slow.writes.size() > 1);
+            assertTrue(slow.writes.get(1).startsWith(FULL_REDRAW), slow.writes.get(1));
+            assertTrue(slow.writes.getLast().contains("Tick 52 message"));
+            assertTrue(fast.toString(StandardCharsets.UTF_8).contains("Tick 25 message"));
+        }
+    }
+
+    /**
+     * Subscribes a spectator and starts sending its frames on a new thread.
+     */
+    private Thread watch(Spectator spectator) {
+        feed.subscribe(spectator);
+        return Thread.ofVirtual().start(spectator);
+    }
+
+    /**
+     * Plays ticks the way a game does: a frame, then the tick's messages. The player walks along the middle row.
+     */
+    private void play(int firstTick, int ticks) {
+        for (int tick = firstTick; tick < firstTick + ticks; tick++) {
+            grid.fill('.');
+            grid.set(tick % grid.getWidth(), 1, '@');
+            feed.render(grid, STATS);
+            feed.message("Tick " + tick + " message");
+        }
+    }
+
+    /**
+     * A mutable grid of characters.
+     */
+    private static class Grid implements CharGrid {
+        private final char[][] rows;
+
+        private Grid(int width, int height) {
+            rows = new char[height][width];
+        }
+
+        private void fill(char c) {
+            for (char[] row : rows) {
+                Arrays.fill(row, c);
+            }
+        }
+
+        private void set(int x, int y, char c) {
+            rows[y][x] = c;
+        }
+
+        @Override
+        public int getWidth() { return rows[0].length; }
+
+        @Override
+        public int getHeight() { return rows.length; }
+
+        @Override
+        public char getChar(int x, int y) { return rows[y][x]; }
+    }
+
+    /**
+     * An output recording each write, whose first write blocks until released, like a stalled connection.
+     */
+    private static class BlockingOutput extends OutputStream {
+        private final List<String> writes = new CopyOnWriteArrayList<>();
+        private final CountDownLatch release;
+
+        private BlockingOutput(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            writes.add(new String(bytes, offset, length, StandardCharsets.UTF_8));
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+    }
+}
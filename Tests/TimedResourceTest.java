@@ -0,0 +1,122 @@
+import Utils.TickClock;
+import Utils.TimedResource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TimedResource Class Tests")
+class TimedResourceTest {
+
+    private TickClock clock;
+
+    @BeforeEach
+    void setUp() {
+        clock = new TickClock();
+    }
+
+    @Nested
+    @DisplayName("Elapsed Ticks")
+    class ElapsedTicks {
+
+        @Test
+        @DisplayName("the amount should follow the clock, and stop at zero and the capacity")
+        void testFastForward() {
+            TimedResource mana = new TimedResource(100, 10, clock, 3, 1);
+            TimedResource cooldown = new TimedResource(5, 5, clock, -1, 1);
+
+            clock.advance(4);
+            assertEquals(22, mana.getAmount());
+            assertEquals(1, cooldown.getAmount());
+
+            clock.advance(1_000_000_000_000L);
+            assertEquals(100, mana.getAmount());
+            assertEquals(0, cooldown.getAmount());
+        }
+
+        @Test
+        @DisplayName("changing the rate should only affect the ticks after the change")
+        void testSetRate() {
+            TimedResource mana = new TimedResource(100, 0, clock, 1, 1);
+            clock.advance(5);
+            mana.setRate(4);
+            clock.advance(5);
+
+            assertEquals(25, mana.getAmount());
+        }
+
+        @Test
+        @DisplayName("a longer period should only change the amount once it has gone by")
+        void testPeriod() {
+            TimedResource arrows = new TimedResource(10, 0, clock, 2, 3);
+
+            clock.advance(2);
+            assertEquals(0, arrows.getAmount());
+            assertEquals(2, arrows.getPhase());
+
+            clock.advance();
+            assertEquals(2, arrows.getAmount());
+            assertEquals(0, arrows.getPhase());
+
+            arrows.reduceAmount(1);
+            arrows.setPhase(2);
+            clock.advance();
+            assertEquals(3, arrows.getAmount(), "The period was already two ticks in.");
+        }
+
+        @Test
+        @DisplayName("the version should change as time changes the amount, and only then")
+        void testVersion() {
+            TimedResource mana = new TimedResource(3, 0, clock, 1, 2);
+            int version = mana.getVersion();
+
+            clock.advance();
+            assertEquals(version, mana.getVersion(), "Half a period changes nothing.");
+            clock.advance();
+            assertNotEquals(version, mana.getVersion());
+
+            clock.advance(10);
+            assertEquals(3, mana.getAmount());
+            version = mana.getVersion();
+            mana.setRate(1);
+            clock.advance(10);
+            assertEquals(version, mana.getVersion(), "A full resource stays full.");
+
+            TimedResource cooldown = new TimedResource(5, 0, clock, -1, 1);
+            version = cooldown.getVersion();
+            clock.advance(10);
+            assertEquals(version, cooldown.getVersion(), "An empty cooldown stays empty.");
+        }
+    }
+
+    @Nested
+    @DisplayName("Snapshots")
+    class Snapshots {
+
+        @Test
+        @DisplayName("a written resource should restore the amount it had when written")
+        void testRoundTrip() throws IOException {
+            TimedResource mana = new TimedResource(100, 10, clock, 5, 1);
+            clock.advance(3);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            mana.writeTo(new DataOutputStream(bytes));
+
+            TickClock other = new TickClock();
+            other.advance(50);
+            TimedResource restored = new TimedResource(100, 0, other, 5, 1);
+            restored.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+            assertEquals(25, restored.getAmount());
+            other.advance();
+            assertEquals(30, restored.getAmount());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+import Tiles.Units.Enemies.Monster;
+import Tiles.Units.Enemies.Trap;
+import Tiles.Units.Players.Hunter;
+import Tiles.Units.Players.Mage;
+import Tiles.Units.Players.Rogue;
+import Tiles.Units.Players.Warrior;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Unit Description Tests")
+class UnitDescriptionTest {
+
+    @Nested
+    @DisplayName("Format")
+    class Format {
+
+        @Test
+        @DisplayName("descriptions should read exactly as the formatted descriptions they replace")
+        void testFormat() {
+            assertEquals(player("Jon Snow", "300/300", 30, 4, 1, 0, 50) + "Cooldown: 0/3\t",
+                    new Warrior("Jon Snow", 300, 30, 4, 3).description());
+            assertEquals(player("Melisandre", "100/100", 5, 1, 1, 0, 50) + "Mana: 75/300\tSpell Power: 15",
+                    new Mage("Melisandre", 100, 5, 1, 300, 30, 15, 5, 6).description());
+            assertEquals(player("Arya Stark", "150/150", 40, 2, 1, 0, 50) + "Energy: 100/100",
+                    new Rogue("Arya Stark", 150, 40, 2, 20).description());
+            assertEquals(player("Ygritte", "220/220", 30, 2, 1, 0, 50) + "Arrows: 10/10\tRange: 6",
+                    new Hunter("Ygritte", 220, 30, 2, 6).description());
+            assertEquals(unit("Lannister Soldier", "80/80", 8, 3) + "Experience Value: 25\tVision Range: 3\t",
+                    new Monster("Lannister Soldier", 's', 80, 8, 3, 3, 25).description());
+            assertEquals(unit("Bonus Trap", "1/1", 1, 1) + "Experience Value: 250\t",
+                    new Trap("Bonus Trap", 'B', 1, 1, 1, 250, 1, 5).description());
+        }
+    }
+
+    @Nested
+    @DisplayName("Caching")
+    class Caching {
+
+        @Test
+        @DisplayName("an unchanged unit should return its cached description")
+        void testCached() {
+            Monster monster = new Monster("Lannister Soldier", 's', 80, 8, 3, 3, 25);
+            String description = monster.description();
+
+            assertSame(description, monster.description());
+        }
+
+        @Test
+        @DisplayName("ticking a player whose resources are full or empty should keep its cached description")
+        void testCachedAcrossTicks() {
+            Rogue rogue = new Rogue("Arya Stark", 150, 40, 2, 20);
+            Warrior warrior = new Warrior("Jon Snow", 300, 30, 4, 3);
+            String rogueDescription = rogue.description();
+            String warriorDescription = warrior.description();
+
+            rogue.gameTick();
+            warrior.gameTick();
+
+            assertSame(rogueDescription, rogue.description());
+            assertSame(warriorDescription, warrior.description());
+        }
+
+        @Test
+        @DisplayName("changing a described stat or resource should rebuild the description")
+        void testInvalidated() {
+            Warrior warrior = new Warrior("Jon Snow", 300, 30, 4, 3);
+            warrior.setCallbacks(message -> {}, (t1, t2) -> {}, () -> {});
+            warrior.description();
+
+            warrior.takeDamage(100);
+            assertTrue(warrior.description().contains("Health: 200/300"));
+            warrior.setDefensePoints(9);
+            assertTrue(warrior.description().contains("Defense: 9"));
+            warrior.gainXP(10);
+            assertTrue(warrior.description().contains("Experience: 10/50"));
+            warrior.gainXP(40);
+            assertEquals(player("Jon Snow", "330/330", 42, 13, 2, 0, 100) + "Cooldown: 0/3\t", warrior.description());
+
+            Monster monster = new Monster("Lannister Soldier", 's', 80, 8, 3, 3, 25);
+            monster.description();
+            monster.getHealth().reduceAmount(30);
+            assertTrue(monster.description().contains("Health: 50/80"));
+        }
+    }
+
+    /**
+     * Formats a unit's description the way it was formatted before descriptions were cached.
+     */
+    private static String unit(String name, String health, int attack, int defense) {
+        return String.format("%-20s\t\tHealth: %s\t\tAttack: %d\t\tDefense: %s\t\t", name, health, attack, defense);
+    }
+
+    private static String player(String name, String health, int attack, int defense, int level, int experience,
+                                 int nextLevel) {
+        return unit(name, health, attack, defense)
+                + String.format("Level: %d\tExperience: %d/%d\t", level, experience, nextLevel);
+    }
+}
@@ -0,0 +1,99 @@
+import Rendering.CharGrid;
+import Rendering.TextRenderer;
+import Rendering.Viewport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Viewport Class Tests")
+class ViewportTest {
+
+    // Every cell shows the last digit of its column.
+    private static final CharGrid LARGE = new CharGrid() {
+        @Override
+        public int getWidth() { return 10_000; }
+
+        @Override
+        public int getHeight() { return 10_000; }
+
+        @Override
+        public char getChar(int x, int y) { return (char) ('0' + x % 10); }
+    };
+
+    @Nested
+    @DisplayName("Positioning")
+    class Positioning {
+
+        @Test
+        @DisplayName("should centre on the given cell")
+        void testCentred() {
+            Viewport viewport = new Viewport(80, 24).centerOn(LARGE, 500, 300);
+
+            assertEquals(460, viewport.getLeft());
+            assertEquals(288, viewport.getTop());
+            assertEquals(80, viewport.getWidth());
+            assertEquals(24, viewport.getHeight());
+            assertEquals('0', viewport.getChar(40, 12));
+        }
+
+        @Test
+        @DisplayName("should clamp at the grid's edges")
+        void testClamped() {
+            Viewport viewport = new Viewport(80, 24);
+
+            viewport.centerOn(LARGE, 3, 2);
+            assertEquals(0, viewport.getLeft());
+            assertEquals(0, viewport.getTop());
+
+            viewport.centerOn(LARGE, 9_998, 9_999);
+            assertEquals(10_000 - 80, viewport.getLeft());
+            assertEquals(10_000 - 24, viewport.getTop());
+        }
+
+        @Test
+        @DisplayName("should shrink to a grid smaller than the viewport")
+        void testSmallGrid() {
+            CharGrid small = new CharGrid() {
+                @Override
+                public int getWidth() { return 5; }
+
+                @Override
+                public int getHeight() { return 3; }
+
+                @Override
+                public char getChar(int x, int y) { return '.'; }
+            };
+            Viewport viewport = new Viewport(80, 24).centerOn(small, 2, 1);
+
+            assertEquals(5, viewport.getWidth());
+            assertEquals(3, viewport.getHeight());
+            assertEquals(0, viewport.getLeft());
+            assertEquals(0, viewport.getTop());
+        }
+
+        @Test
+        @DisplayName("should reject an empty size")
+        void testInvalidSize() {
+            assertThrows(IllegalArgumentException.class, () -> new Viewport(0, 24));
+        }
+    }
+
+    @Nested
+    @DisplayName("Rendering")
+    class Rendering {
+
+        @Test
+        @DisplayName("should draw only the window of a huge grid")
+        void testRenderWindow() {
+            List<String> output = new ArrayList<>();
+            new TextRenderer(output::add).render(new Viewport(8, 2).centerOn(LARGE, 5_004, 7_000), "stats");
+
+            assertEquals(List.of("01234567\n01234567\n", "stats"), output);
+        }
+    }
+}
@@ -1,18 +1,40 @@
 import Callbacks.ChangePositionCallback;
 import Callbacks.EnemyCreatedCallback;
 import Callbacks.MessageCallback;
+import Metrics.EngineMetrics;
+import Metrics.MemoryLayout;
+import Metrics.MemoryReport;
+import Rendering.CharGrid;
+import Tiles.LevelTopology;
+import Tiles.Passability;
 import Tiles.Tile;
 import Tiles.TileFactory;
+import Tiles.TileKind;
+import Tiles.Units.Enemies.Enemy;
+import Tiles.Units.Players.Player;
+import Tiles.Units.Unit;
 import Utils.Position;
 
+import java.util.Arrays;
 import java.util.List;
 
-public class Board {
+public class Board implements CharGrid {
+    private static final ClassValue<String> MEMORY_CATEGORIES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            String kind = Enemy.class.isAssignableFrom(type) ? "Enemy" : Player.class.isAssignableFrom(type) ? "Player" : "Tile";
+            return kind + ": " + type.getSimpleName();
+        }
+    };
+
     private Tile[][] tiles;
+    private final Passability cells = new Passability();
+    private LevelTopology topology;
     private int width, height;
     private ChangePositionCallback pcb;
     private MessageCallback mcb;
     private EnemyCreatedCallback eccb;
+    private long heapEstimate;
 
     /**
      * Constructs a new Board with the given message and enemy created callbacks.
@@ -26,14 +48,92 @@ public class Board {
     }
 
     /**
-     * Sets up the board tiles from the given level map.
+     * Sets up the board tiles from the given level map, replacing the previous level's.
      * @param levelMap the list of strings representing the level map
      */
     public void setBoardMap(List<String> levelMap) {
-        height = levelMap.size();
-        width = levelMap.getFirst().length();
-        tiles = new Tile[width][height];
-        initializeBoard(levelMap);
+        setBoardMap(levelMap, LevelTopology.compute(levelMap));
+    }
+
+    /**
+     * Sets up the board tiles from the given level map and its precomputed topology.
+     * @param levelMap the list of strings representing the level map
+     * @param topology the level map's topology
+     * @throws IllegalArgumentException if the topology is not the level's size
+     */
+    public void setBoardMap(List<String> levelMap, LevelTopology topology) {
+        resize(levelMap.getFirst().length(), levelMap.size());
+        initializeBoard(levelMap, topology, true);
+    }
+
+    /**
+     * Sets up only the terrain of the given level map: every unit in it is replaced by an empty tile.
+     * Used when restoring a saved game, whose units are placed separately.
+     * @param levelMap the list of strings representing the level map
+     */
+    public void setTerrainMap(List<String> levelMap) {
+        setTerrainMap(levelMap, LevelTopology.compute(levelMap));
+    }
+
+    /**
+     * Sets up only the terrain of the given level map, with its precomputed topology.
+     * @param levelMap the list of strings representing the level map
+     * @param topology the level map's topology
+     * @throws IllegalArgumentException if the topology is not the level's size
+     */
+    public void setTerrainMap(List<String> levelMap, LevelTopology topology) {
+        resize(levelMap.getFirst().length(), levelMap.size());
+        initializeBoard(levelMap, topology, false);
+    }
+
+    /**
+     * Releases the board's share of the engine metrics. Called when the board is replaced or the game ends.
+     */
+    public void unload() {
+        if (heapEstimate != 0) {
+            EngineMetrics.BOARDS.decrement();
+            EngineMetrics.BOARD_HEAP_BYTES.add(-heapEstimate);
+            heapEstimate = 0;
+        }
+    }
+
+    /**
+     * Estimates the heap retained by the board: its tile arrays, tiles, positions and units,
+     * broken down by tile type and unit class. Tile arrays reused from a larger level are reported at the
+     * level's size, and the rest of their capacity separately.
+     * @param title the report's title
+     * @return the memory report
+     */
+    public MemoryReport memoryReport(String title) {
+        MemoryReport report = new MemoryReport(title);
+        int columns = tiles.length;
+        int rows = columns == 0 ? 0 : tiles[0].length;
+        long used = MemoryLayout.referenceArraySize(width) + width * MemoryLayout.referenceArraySize(height);
+        long capacity = MemoryLayout.referenceArraySize(columns) + columns * MemoryLayout.referenceArraySize(rows);
+        report.add("Tile arrays", width + 1L, used);
+        if (capacity > used)
+            report.add("Spare tile capacity", columns - width, capacity - used);
+        long positionBytes = MemoryLayout.shallowSize(Position.class);
+        report.add("Position", (long) width * height, positionBytes * width * height);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                Tile tile = tiles[x][y];
+                long bytes = tile instanceof Unit unit ? unit.estimatedRetainedBytes() : MemoryLayout.shallowSize(tile.getClass());
+                report.add(MEMORY_CATEGORIES.get(tile.getClass()), 1, bytes);
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Publishes the board's estimated heap size to the engine metrics.
+     * @param bytes the estimated size in bytes
+     */
+    public void setHeapEstimate(long bytes) {
+        if (heapEstimate == 0)
+            EngineMetrics.BOARDS.increment();
+        EngineMetrics.BOARD_HEAP_BYTES.add(bytes - heapEstimate);
+        heapEstimate = bytes;
     }
 
     /**
@@ -42,6 +142,20 @@ public class Board {
      */
     public ChangePositionCallback getPcb() { return this.pcb; }
 
+    /**
+     * Returns the width of the board.
+     * @return the number of columns
+     */
+    @Override
+    public int getWidth() { return width; }
+
+    /**
+     * Returns the height of the board.
+     * @return the number of rows
+     */
+    @Override
+    public int getHeight() { return height; }
+
     /**
      * Sets the tile at the specified position.
      * @param t the tile to set
@@ -49,6 +163,23 @@ public class Board {
      */
     public void setTile(Tile t, Position p) {
         tiles[p.getX()][p.getY()] = t;
+        cells.setOccupied(p.getX(), p.getY(), t instanceof Unit);
+    }
+
+    /**
+     * Returns the board's passability and occupancy bitsets, kept up to date as units move.
+     * @return the bitsets
+     */
+    public Passability getPassability() { return cells; }
+
+    /**
+     * Checks whether the specified cell can be walked on, with a single bit test.
+     * @param x the cell's column
+     * @param y the cell's row
+     * @return true for any cell but a wall
+     */
+    public boolean isPassable(int x, int y) {
+        return cells.isPassable(x, y);
     }
 
     /**
@@ -60,6 +191,35 @@ public class Board {
         return tiles[pos.getX()][pos.getY()];
     }
 
+    /**
+     * Returns the tile at the specified cell.
+     * @param x the cell's column
+     * @param y the cell's row
+     * @return the tile at the given cell
+     */
+    public Tile getTile(int x, int y) {
+        return tiles[x][y];
+    }
+
+    /**
+     * Returns the precomputed topology of the current level: the connected components of its walkable
+     * cells and their walkable neighbours. Units only ever move within their component, and walls never
+     * change, so the topology holds for the whole level.
+     * @return the level's topology
+     */
+    public LevelTopology getTopology() { return topology; }
+
+    /**
+     * Returns the character displayed at the given cell.
+     * @param x the column
+     * @param y the row
+     * @return the displayed character of the tile there
+     */
+    @Override
+    public char getChar(int x, int y) {
+        return tiles[x][y].getCharacter();
+    }
+
     /**
      * Returns a string representation of the board.
      * @return the board as a string
@@ -78,18 +238,52 @@ public class Board {
 
 
     /**
-     * Initializes the board tiles from the level map.
+     * Sets the board's dimensions, keeping the previous level's tile arrays when the new level fits in them.
+     * Cells outside the new level are cleared, so the previous level's tiles there can be collected.
+     * @param width the new number of columns
+     * @param height the new number of rows
+     */
+    private void resize(int width, int height) {
+        if (tiles == null || tiles.length < width || tiles.length > 0 && tiles[0].length < height) {
+            tiles = new Tile[width][height];
+        } else {
+            for (int x = 0; x < tiles.length; x++) {
+                Arrays.fill(tiles[x], x < width ? height : 0, tiles[x].length, null);
+            }
+        }
+        this.width = width;
+        this.height = height;
+        cells.reset(width, height);
+    }
+
+    /**
+     * Initializes the board tiles from the level map. Empty tiles and walls left in place by the previous
+     * level are kept where the new level has the same terrain.
      * @param levelMap the list of strings representing the level map
+     * @param topology the level map's topology, which supplies the cells' neighbour masks
+     * @param withUnits whether to create the map's units, or empty tiles in their place
      */
-    private void initializeBoard(List<String> levelMap) {
+    private void initializeBoard(List<String> levelMap, LevelTopology topology, boolean withUnits) {
+        if (topology.getWidth() != width || topology.getHeight() != height)
+            throw new IllegalArgumentException(String.format("A %dx%d topology does not fit a %dx%d level",
+                    topology.getWidth(), topology.getHeight(), width, height));
+        this.topology = topology;
         for(int y = 0; y < height; y++) {
             String row = levelMap.get(y);
             for(int x = 0; x < width; x++) {
-                Position pos = new Position(x,y);
-                tiles[x][y] = TileFactory.createTile(row.charAt(x),pos,eccb);
-
+                char c = row.charAt(x);
+                if (!withUnits && !TileFactory.isTerrain(c))
+                    c = TileFactory.EMPTY_CHAR;
+                Tile previous = tiles[x][y];
+                if (previous == null || previous.getKind() != TileFactory.terrainKind(c)) {
+                    Position pos = new Position(x,y);
+                    tiles[x][y] = TileFactory.createTile(c,pos,eccb);
+                }
+                cells.setPassable(x, y, tiles[x][y].getKind() != TileKind.WALL);
+                cells.setOccupied(x, y, tiles[x][y] instanceof Unit);
             }
         }
+        cells.setNeighbours(topology);
     }
 
     /**
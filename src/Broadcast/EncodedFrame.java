@@ -0,0 +1,22 @@
+package Broadcast;
+
+/**
+ * One tick of a session as spectators receive it: the frame's escape sequences and the tick's messages,
+ * encoded once and shared by every spectator's queue. The bytes are never modified after encoding.
+ */
+final class EncodedFrame {
+    /** Marks the end of the session in a spectator's queue. */
+    static final EncodedFrame END = new EncodedFrame(new byte[0], true);
+
+    final byte[] bytes;
+    final boolean keyframe;
+
+    /**
+     * @param bytes the encoded tick
+     * @param keyframe true if the frame redraws the whole screen, so it can be shown without the frames before it
+     */
+    EncodedFrame(byte[] bytes, boolean keyframe) {
+        this.bytes = bytes;
+        this.keyframe = keyframe;
+    }
+}
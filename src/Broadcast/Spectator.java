@@ -0,0 +1,107 @@
+package Broadcast;
+
+import Metrics.EngineMetrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * A viewer of a {@link SpectatorFeed}, with its own bounded queue of frames to send.
+ * <p>
+ * The session's game thread offers frames without ever waiting; {@link #run()} sends them on the spectator's
+ * own thread. When the spectator falls behind and its queue is full, the queued frames are dropped and the
+ * spectator skips ahead to the next keyframe, so a slow connection costs its viewer frames but never delays
+ * the game or the other spectators.
+ */
+public class Spectator implements Runnable {
+    private final SpectatorFeed feed;
+    private final OutputStream out;
+    private final BlockingQueue<EncodedFrame> queue;
+    // Only touched by the game thread offering frames.
+    private boolean awaitingKeyframe = true;
+    private volatile long framesDropped;
+
+    /**
+     * Creates a spectator of the given feed. It receives nothing until it is subscribed to the feed.
+     * @param feed the feed to watch
+     * @param out the stream to send frames to
+     * @param queueCapacity the number of frames that may wait to be sent before the spectator drops them
+     */
+    public Spectator(SpectatorFeed feed, OutputStream out, int queueCapacity) {
+        this.feed = feed;
+        this.out = out;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * Sends frames until the session ends, the spectator disconnects, or the thread is interrupted,
+     * then unsubscribes from the feed.
+     */
+    @Override
+    public void run() {
+        try {
+            EncodedFrame frame;
+            while ((frame = queue.take()) != EncodedFrame.END) {
+                out.write(frame.bytes);
+                out.flush();
+            }
+        } catch (IOException e) {
+            // The spectator disconnected.
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            feed.unsubscribe(this);
+        }
+    }
+
+    /**
+     * Returns the number of frames this spectator skipped because it fell behind or waited for a keyframe.
+     * @return the dropped frame count
+     */
+    public long getFramesDropped() { return framesDropped; }
+
+    /**
+     * Queues a frame without blocking. Called by the feed on the game thread.
+     * @param frame the frame to send
+     */
+    void offer(EncodedFrame frame) {
+        if (frame == EncodedFrame.END) {
+            while (!queue.offer(frame)) {
+                drop();
+            }
+            return;
+        }
+        if (awaitingKeyframe && !frame.keyframe) {
+            dropped(1);
+            return;
+        }
+        if (queue.offer(frame)) {
+            awaitingKeyframe = false;
+            return;
+        }
+        drop();
+        dropped(1);
+        if (frame.keyframe) {
+            queue.offer(frame);
+            awaitingKeyframe = false;
+        } else {
+            awaitingKeyframe = true;
+            feed.requestKeyframe();
+        }
+    }
+
+    /**
+     * Drops every queued frame.
+     */
+    private void drop() {
+        dropped(queue.size());
+        queue.clear();
+    }
+
+    private void dropped(int frames) {
+        framesDropped += frames;
+        EngineMetrics.SPECTATOR_FRAMES_DROPPED.add(frames);
+    }
+}
@@ -0,0 +1,135 @@
+package Broadcast;
+
+import Metrics.EngineMetrics;
+import Rendering.AnsiDeltaRenderer;
+import Rendering.CharGrid;
+import Rendering.FrameRenderer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Broadcasts one session's frames and messages to its spectators.
+ * <p>
+ * The session's game thread draws each frame here as well as for its player. The frame is encoded as an
+ * ANSI delta, the tick's messages are appended to it, and the whole tick is converted to bytes once, when
+ * the game flushes its output before waiting for the player, or at the latest when the next frame starts.
+ * The resulting {@link EncodedFrame} is shared by every spectator's queue, so broadcasting costs one
+ * encoding per tick however many spectators watch, and nothing while nobody does.
+ * <p>
+ * Offering a frame to a spectator never blocks the game thread. A spectator whose queue is full drops its
+ * backlog and waits for a keyframe, a frame drawn in full, which is sent at the next tick after any spectator
+ * asks for one and every {@value #KEYFRAME_INTERVAL} frames otherwise.
+ */
+public class SpectatorFeed implements FrameRenderer {
+    private static final int KEYFRAME_INTERVAL = 32;
+
+    private final List<Spectator> spectators = new CopyOnWriteArrayList<>();
+    private final StringBuilder tick = new StringBuilder(512);
+    private final AnsiDeltaRenderer encoder = new AnsiDeltaRenderer(tick::append);
+    private volatile boolean keyframeRequested = true;
+    private boolean tickIsKeyframe;
+    private int framesSinceKeyframe;
+    private boolean closed;
+
+    /**
+     * Starts a tick with the given frame, publishing whatever the previous tick left unflushed first.
+     * Called on the game thread.
+     * @param grid the board being drawn
+     * @param stats the player's stats line
+     */
+    @Override
+    public void render(CharGrid grid, String stats) {
+        flush();
+        if (spectators.isEmpty())
+            return;
+        tickIsKeyframe = keyframeRequested || ++framesSinceKeyframe >= KEYFRAME_INTERVAL;
+        if (tickIsKeyframe) {
+            keyframeRequested = false;
+            framesSinceKeyframe = 0;
+            encoder.invalidate();
+        }
+        encoder.render(grid, stats);
+    }
+
+    /**
+     * Adds a message to the current tick. Called on the game thread.
+     * @param message the message sent to the player
+     */
+    public void message(String message) {
+        if (spectators.isEmpty())
+            return;
+        tick.append(message).append('\n');
+    }
+
+    /**
+     * Starts broadcasting to a spectator. Its first frame is the next keyframe, which is sent at the next tick.
+     * @param spectator the spectator to add
+     */
+    public void subscribe(Spectator spectator) {
+        spectators.add(spectator);
+        EngineMetrics.SPECTATORS.increment();
+        requestKeyframe();
+        // The session may have ended while the spectator was added.
+        synchronized (this) {
+            if (closed && spectators.remove(spectator)) {
+                EngineMetrics.SPECTATORS.decrement();
+                spectator.offer(EncodedFrame.END);
+            }
+        }
+    }
+
+    /**
+     * Stops broadcasting to a spectator.
+     * @param spectator the spectator to remove
+     */
+    public void unsubscribe(Spectator spectator) {
+        if (spectators.remove(spectator))
+            EngineMetrics.SPECTATORS.decrement();
+    }
+
+    /**
+     * Returns the number of spectators currently watching.
+     * @return the spectator count
+     */
+    public int getSpectatorCount() { return spectators.size(); }
+
+    /**
+     * Publishes the last tick and ends every spectator's stream once it has been sent.
+     * Called on the game thread, or after it finished.
+     */
+    public void close() {
+        flush();
+        synchronized (this) {
+            closed = true;
+        }
+        for (Spectator spectator : spectators) {
+            unsubscribe(spectator);
+            spectator.offer(EncodedFrame.END);
+        }
+    }
+
+    /**
+     * Asks for the next frame to be a keyframe.
+     */
+    void requestKeyframe() {
+        keyframeRequested = true;
+    }
+
+    /**
+     * Encodes the current tick, as drawn and messaged so far, and offers it to every spectator.
+     * Called on the game thread, before it waits for the player, so spectators see the tick the player sees.
+     */
+    public void flush() {
+        if (tick.isEmpty())
+            return;
+        EncodedFrame frame = new EncodedFrame(tick.toString().getBytes(StandardCharsets.UTF_8), tickIsKeyframe);
+        tick.setLength(0);
+        tickIsKeyframe = false;
+        EngineMetrics.SPECTATOR_FRAMES.increment();
+        for (Spectator spectator : spectators) {
+            spectator.offer(frame);
+        }
+    }
+}
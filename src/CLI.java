@@ -4,7 +4,7 @@ import Tiles.TileFactory;
 import java.util.Scanner;
 
 public class CLI {
-    private static final String VALID_ACTION_KEYS = "wasdeq";
+    private static final String VALID_ACTION_KEYS = "wasdeqm";
     private static final int MIN_INDEX_CHARACTER = 1;
 
     private MessageCallback mcb;
@@ -12,14 +12,25 @@ public class CLI {
     private InputReader input;
 
     /**
-     * Initializes the CLI, message callback, and input reader.
+     * Initializes the CLI, message callback, and input reader on the console.
      */
     public CLI() {
         scanner = new Scanner(System.in);
-        mcb = (s) -> print(s);
+        mcb = (s) -> System.out.println(s);
         input = () -> getInput();
     }
 
+    /**
+     * Initializes a CLI that reads from the given input reader and writes to the given message callback.
+     * Used to run the game headlessly or over other channels than the console.
+     * @param input the reader supplying user input lines
+     * @param mcb the callback receiving all output
+     */
+    public CLI(InputReader input, MessageCallback mcb) {
+        this.input = input;
+        this.mcb = mcb;
+    }
+
     /**
      * Returns the message callback for printing messages.
      * @return the message callback
@@ -30,7 +41,13 @@ public class CLI {
      * Prints the given string to the console.
      * @param s the string to print
      */
-    public void print(String s) { System.out.println(s); }
+    public void print(String s) { mcb.call(s); }
+
+    /**
+     * Reads a raw line of input, for commands outside the game such as the replay viewer's.
+     * @return the line entered by the user
+     */
+    public String readLine() { return input.read(); }
 
     /**
      * Prompts the user to select a player character and returns the selection.
@@ -64,10 +81,10 @@ public class CLI {
             try {
                 userChoice = Integer.parseInt(input.read());
                 if(isInvalidCharacterChoice(userChoice)) {
-                    System.out.printf("Invalid number. Please choose between 1 and %d.%n",TileFactory.getPlayerCount());
+                    print(String.format("Invalid number. Please choose between 1 and %d.",TileFactory.getPlayerCount()));
                 }
             } catch (NumberFormatException e) {
-                System.out.println("Not a number.");
+                print("Not a number.");
             }
         }
         return userChoice;
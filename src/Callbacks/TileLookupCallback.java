@@ -0,0 +1,7 @@
+package Callbacks;
+
+import Tiles.Tile;
+
+public interface TileLookupCallback {
+    Tile call(int x, int y);
+}
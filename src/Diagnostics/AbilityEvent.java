@@ -0,0 +1,56 @@
+package Diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering a player casting their special ability.
+ * Failed casts (not enough resource, no targets) are recorded as well.
+ */
+@Name(AbilityEvent.NAME)
+@Label("Ability Cast")
+@Category({"Dungeons and Dragons", "Combat"})
+@Description("A player casting their special ability")
+@StackTrace(false)
+public class AbilityEvent extends jdk.jfr.Event {
+    public static final String NAME = "dnd.Ability";
+
+    @Label("Caster")
+    String caster;
+
+    @Label("Ability")
+    String ability;
+
+    @Label("Cast")
+    @Description("Whether the ability was actually cast")
+    boolean cast;
+
+    @Label("Targets Hit")
+    int targetsHit;
+
+    @Label("Total Damage")
+    int damage;
+
+    /**
+     * Ends the event and commits it with the cast results if it is enabled.
+     * @param caster the casting player's name
+     * @param ability the ability's name
+     * @param cast whether the ability was actually cast
+     * @param targetsHit the number of hits dealt to enemies
+     * @param damage the total damage dealt
+     */
+    public void finish(String caster, String ability, boolean cast, int targetsHit, int damage) {
+        end();
+        if (shouldCommit()) {
+            this.caster = caster;
+            this.ability = ability;
+            this.cast = cast;
+            this.targetsHit = targetsHit;
+            this.damage = damage;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package Diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering a single melee combat between two units.
+ */
+@Name(CombatEvent.NAME)
+@Label("Combat")
+@Category({"Dungeons and Dragons", "Combat"})
+@Description("A unit attacking another unit")
+@StackTrace(false)
+public class CombatEvent extends jdk.jfr.Event {
+    public static final String NAME = "dnd.Combat";
+
+    @Label("Attacker")
+    String attacker;
+
+    @Label("Defender")
+    String defender;
+
+    @Label("Attack Roll")
+    int attackRoll;
+
+    @Label("Defense Roll")
+    int defenseRoll;
+
+    @Label("Damage")
+    int damage;
+
+    @Label("Defender Killed")
+    boolean killed;
+
+    /**
+     * Ends the event and commits it with the combat results if it is enabled.
+     * @param attacker the attacking unit's name
+     * @param defender the defending unit's name
+     * @param attackRoll the attack roll value
+     * @param defenseRoll the defense roll value
+     * @param damage the damage dealt
+     * @param killed whether the defender died
+     */
+    public void finish(String attacker, String defender, int attackRoll, int defenseRoll, int damage, boolean killed) {
+        end();
+        if (shouldCommit()) {
+            this.attacker = attacker;
+            this.defender = defender;
+            this.attackRoll = attackRoll;
+            this.defenseRoll = defenseRoll;
+            this.damage = damage;
+            this.killed = killed;
+            commit();
+        }
+    }
+}
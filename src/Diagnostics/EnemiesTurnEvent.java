@@ -0,0 +1,34 @@
+package Diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering the enemies' turn of a game tick.
+ */
+@Name(EnemiesTurnEvent.NAME)
+@Label("Enemies Turn")
+@Category({"Dungeons and Dragons", "Engine"})
+@Description("All enemies on the board acting once")
+@StackTrace(false)
+public class EnemiesTurnEvent extends jdk.jfr.Event {
+    public static final String NAME = "dnd.EnemiesTurn";
+
+    @Label("Enemy Count")
+    int enemyCount;
+
+    /**
+     * Ends the event and commits it with the number of enemies that acted if it is enabled.
+     * @param enemyCount the number of enemies that acted
+     */
+    public void finish(int enemyCount) {
+        end();
+        if (shouldCommit()) {
+            this.enemyCount = enemyCount;
+            commit();
+        }
+    }
+}
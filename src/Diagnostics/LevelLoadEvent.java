@@ -0,0 +1,49 @@
+package Diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering reading a level file and building its board.
+ */
+@Name(LevelLoadEvent.NAME)
+@Label("Level Load")
+@Category({"Dungeons and Dragons", "Engine"})
+@Description("Reading a level file and building the board and its enemies")
+@StackTrace(false)
+public class LevelLoadEvent extends jdk.jfr.Event {
+    public static final String NAME = "dnd.LevelLoad";
+
+    @Label("Level")
+    int level;
+
+    @Label("Width")
+    int width;
+
+    @Label("Height")
+    int height;
+
+    @Label("Enemy Count")
+    int enemyCount;
+
+    /**
+     * Ends the event and commits it with the loaded level's details if it is enabled.
+     * @param level the loaded level index
+     * @param width the board width
+     * @param height the board height
+     * @param enemyCount the number of enemies created for the level
+     */
+    public void finish(int level, int width, int height, int enemyCount) {
+        end();
+        if (shouldCommit()) {
+            this.level = level;
+            this.width = width;
+            this.height = height;
+            this.enemyCount = enemyCount;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package Diagnostics;
+
+import Callbacks.MessageCallback;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-process JFR consumer that prints per-phase latency of the game engine.
+ * Durations are aggregated per event type and reported every time the stream flushes (about once a second).
+ * Garbage collection pauses are reported alongside, so they can be matched against the game phases.
+ */
+public class PhaseLatencyMonitor implements AutoCloseable {
+    private static final String GC_PAUSE = "jdk.GCPhasePause";
+
+    private final RecordingStream stream;
+    private final MessageCallback output;
+    private final Map<String, PhaseStats> phases = new LinkedHashMap<>();
+
+    /**
+     * Creates a monitor that reports to the given output.
+     * @param output the callback receiving the latency report lines
+     */
+    public PhaseLatencyMonitor(MessageCallback output) {
+        this.output = output;
+        this.stream = new RecordingStream();
+        for (String name : new String[]{TickEvent.NAME, EnemiesTurnEvent.NAME, LevelLoadEvent.NAME,
+                CombatEvent.NAME, AbilityEvent.NAME, GC_PAUSE}) {
+            phases.put(name, new PhaseStats());
+            stream.enable(name).withoutThreshold();
+            stream.onEvent(name, this::record);
+        }
+        stream.onFlush(this::report);
+    }
+
+    /**
+     * Starts a monitor in the background and returns it.
+     * @param output the callback receiving the latency report lines
+     * @return the started monitor
+     */
+    public static PhaseLatencyMonitor start(MessageCallback output) {
+        PhaseLatencyMonitor monitor = new PhaseLatencyMonitor(output);
+        monitor.stream.startAsync();
+        return monitor;
+    }
+
+    /**
+     * Stops the underlying recording stream.
+     */
+    @Override
+    public void close() {
+        stream.close();
+    }
+
+    /**
+     * Adds a received event's duration to its phase statistics.
+     * @param event the received event
+     */
+    private void record(RecordedEvent event) {
+        phases.get(event.getEventType().getName()).add(event.getDuration());
+    }
+
+    /**
+     * Prints the phases that had events since the last report and resets their statistics.
+     */
+    private void report() {
+        StringBuilder sb = new StringBuilder("[jfr]");
+        boolean any = false;
+        for (Map.Entry<String, PhaseStats> entry : phases.entrySet()) {
+            PhaseStats stats = entry.getValue();
+            if (stats.count == 0)
+                continue;
+            any = true;
+            sb.append(String.format(" %s: n=%d avg=%.3fms max=%.3fms;",
+                    entry.getKey(), stats.count, stats.totalNanos / 1e6 / stats.count, stats.maxNanos / 1e6));
+            stats.reset();
+        }
+        if (any)
+            output.call(sb.toString());
+    }
+
+    /**
+     * Running count, total and maximum duration of one phase.
+     */
+    private static class PhaseStats {
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+
+        private void add(Duration duration) {
+            long nanos = duration.toNanos();
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+
+        private void reset() {
+            count = 0;
+            totalNanos = 0;
+            maxNanos = 0;
+        }
+    }
+}
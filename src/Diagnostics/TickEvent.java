@@ -0,0 +1,45 @@
+package Diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering one full game tick: rendering, the player's turn and the enemies' turn.
+ * The duration includes the time spent waiting for user input.
+ */
+@Name(TickEvent.NAME)
+@Label("Game Tick")
+@Category({"Dungeons and Dragons", "Engine"})
+@Description("A single game tick, from rendering the board until all enemies acted")
+@StackTrace(false)
+public class TickEvent extends jdk.jfr.Event {
+    public static final String NAME = "dnd.Tick";
+
+    @Label("Level")
+    int level;
+
+    @Label("Enemy Count")
+    int enemyCount;
+
+    @Label("Player Dead")
+    boolean playerDead;
+
+    /**
+     * Ends the event and commits it with the given tick details if it is enabled.
+     * @param level the current level index
+     * @param enemyCount the number of enemies alive at the end of the tick
+     * @param playerDead whether the player died during the tick
+     */
+    public void finish(int level, int enemyCount, boolean playerDead) {
+        end();
+        if (shouldCommit()) {
+            this.level = level;
+            this.enemyCount = enemyCount;
+            this.playerDead = playerDead;
+            commit();
+        }
+    }
+}
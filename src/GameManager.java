@@ -1,24 +1,85 @@
+import Broadcast.SpectatorFeed;
 import Callbacks.*;
+import Diagnostics.EnemiesTurnEvent;
+import Diagnostics.LevelLoadEvent;
+import Diagnostics.TickEvent;
+import Metrics.EngineMetrics;
+import Metrics.MemoryReport;
+import Metrics.TickPhase;
+import Metrics.TickProfiler;
+import Persistence.ActionJournal;
+import Persistence.AutoSaver;
+import Persistence.ReplayRecorder;
+import Persistence.SnapshotFile;
+import Query.GameQuery;
+import Rendering.AnsiDeltaRenderer;
+import Rendering.CharGrid;
+import Rendering.FrameRenderer;
+import Rendering.RenderPipeline;
+import Rendering.TextRenderer;
+import Rendering.Viewport;
 import Tiles.Empty;
+import Tiles.LevelTopology;
+import Tiles.Tile;
 import Tiles.TileFactory;
+import Tiles.TileKind;
 import Tiles.Units.Enemies.Enemy;
+import Tiles.Units.Enemies.EnemyStore;
+import Tiles.Units.Enemies.ShardedTurns;
 import Tiles.Units.Players.Player;
+import Tiles.Units.Unit;
 import Utils.Direction;
 import Utils.Position;
 
-import java.util.ArrayList;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 
-public class GameManager {
+public final class GameManager {
+    private static final long TICK_BUDGET_MS = Long.getLong("dnd.tick.budgetMs", 50);
+    private static final boolean PRINT_TICK_SUMMARY = Boolean.getBoolean("dnd.tick.summary");
+    private static final long LEVEL_MEMORY_BUDGET = Long.getLong("dnd.level.memoryBudget", 0);
+    private static final String RENDER_MODE = System.getProperty("dnd.render", "text");
+    private static final boolean PIPELINED_RENDERING = Boolean.getBoolean("dnd.render.pipelined");
+    private static final int TICK_SHARDS = Integer.getInteger("dnd.tick.shards", 1);
+    private static final int VIEWPORT_WIDTH = Integer.getInteger("dnd.viewport.width", 0);
+    private static final int VIEWPORT_HEIGHT = Integer.getInteger("dnd.viewport.height", 0);
+    private static final char[] NO_ACTIONS = new char[0];
+    private static final char MEMORY_REPORT_KEY = 'm';
 
     private boolean gameRunning;
     private Board board;
     private Player player;
-    private List<Enemy> enemies;
+    private EnemyStore enemies;
     private CLI cli;
     private MapLoader mapLoader;
     private int currentLevel;
+    private int playerChoice;
+    private long tick;
+    private TickProfiler profiler;
+    private AutoSaver autoSaver;
+    private int autoSaveInterval;
+    private ActionJournal journal;
+    private ReplayRecorder recorder;
+    private char[] replayActions = NO_ACTIONS;
+    private int replayIndex;
+    private boolean replaying;
+    private boolean silent;
+    private final ByteArrayOutputStream snapshotBuffer = new ByteArrayOutputStream();
+    private final GameView view = new GameView(this);
+
+    private FrameRenderer renderer;
+    private RenderPipeline pipeline;
+    private ShardedTurns shardedTurns;
+    private Viewport viewport;
+    private SpectatorFeed spectators;
 
     private MessageCallback mcb;
     private EnemyCreatedCallback eccb;
@@ -27,20 +88,55 @@ public class GameManager {
     private ChangePositionCallback pcb;
 
     /**
-     * Initializes the game manager, CLI, and callback handlers.
+     * Initializes the game manager with a console CLI, and callback handlers.
      */
     public GameManager() {
+        this(new CLI());
+    }
+
+    /**
+     * Initializes the game manager with the given CLI, and callback handlers.
+     * @param cli the CLI used for input and output
+     */
+    public GameManager(CLI cli) {
+        this(cli, new TickProfiler(TICK_BUDGET_MS, System.err::println), PIPELINED_RENDERING);
+    }
+
+    /**
+     * Initializes the game manager with the given CLI and tick profiler, and callback handlers.
+     * @param cli the CLI used for input and output
+     * @param profiler the profiler measuring every tick
+     * @param pipelined true to render on a separate render thread
+     */
+    private GameManager(CLI cli, TickProfiler profiler, boolean pipelined) {
         gameRunning = false;
         currentLevel = 0;
-        enemies = new ArrayList<>();
-        cli = new CLI();
+        enemies = new EnemyStore();
+        this.cli = cli;
+        this.profiler = profiler;
 
-        mcb = cli.getMcb();
+        mcb = this::sendMessage;
+        renderer = createRenderer(RENDER_MODE);
+        setPipelinedRendering(pipelined);
+        setTickShards(TICK_SHARDS);
+        if (VIEWPORT_WIDTH > 0 && VIEWPORT_HEIGHT > 0)
+            viewport = new Viewport(VIEWPORT_WIDTH, VIEWPORT_HEIGHT);
         eccb = this::enemyCreated;
         pdcb = this::playerDied;
         edcb = this::enemyDied;
     }
 
+    /**
+     * Creates a game for one session of a server. Its ticks are still checked by the slow-tick watchdog,
+     * but not recorded into latency histograms, which would dominate the memory of an idle session.
+     * Sessions render on their own thread, since a render thread per session would outweigh its benefit.
+     * @param cli the CLI connected to the session's client
+     * @return the session's game manager
+     */
+    static GameManager forSession(CLI cli) {
+        return new GameManager(cli, new TickProfiler(TICK_BUDGET_MS, System.err::println, false), false);
+    }
+
     /**
      * Initializes the game by loading maps, selecting a player, and loading the first level.
      * @param mapsPath the path to the directory containing map files
@@ -51,6 +147,195 @@ public class GameManager {
         loadLevel();
     }
 
+    /**
+     * Restores a saved game: the player, the level and its units, and the random generator.
+     * The level's terrain is read from its level file; the snapshot only holds what differs from it.
+     * @param mapsPath the path to the directory containing map files
+     * @param snapshot the raw snapshot bytes, as returned by {@link #saveSnapshot()}
+     * @throws IOException if the snapshot is invalid or does not match the level files
+     */
+    public void restoreGame(String mapsPath, byte[] snapshot) throws IOException {
+        view.beginUpdate();
+        try {
+            restore(mapsPath, snapshot);
+        } finally {
+            view.endUpdate();
+        }
+        mcb.call(String.format("Restored %s on level %d.", player.getName(), currentLevel + 1));
+    }
+
+    /**
+     * Restores a saved game, as described in {@link #restoreGame(String, byte[])}.
+     * @param mapsPath the path to the directory containing map files
+     * @param snapshot the raw snapshot bytes
+     * @throws IOException if the snapshot is invalid or does not match the level files
+     */
+    private void restore(String mapsPath, byte[] snapshot) throws IOException {
+        mapLoader = new MapLoader(mapsPath);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(snapshot));
+        SnapshotFile.readHeader(in);
+        currentLevel = in.readInt();
+        playerChoice = in.readInt();
+        tick = in.readLong();
+        long randomState = in.readLong();
+        int width = in.readUnsignedShort();
+        int height = in.readUnsignedShort();
+
+        player = TileFactory.GetPlayer(playerChoice);
+        discardEnemies();
+        prepareBoard();
+        List<String> levelMap = mapLoader.loadMap(currentLevel);
+        board.setTerrainMap(levelMap, mapLoader.loadTopology(currentLevel, levelMap));
+        if (board.getWidth() != width || board.getHeight() != height)
+            throw new IOException("The snapshot does not match level " + (currentLevel + 1));
+
+        readUnit(in);
+        int enemyCount = in.readInt();
+        for (int i = 0; i < enemyCount; i++) {
+            readUnit(in);
+        }
+        pruneUnreachableEnemies();
+        Unit.getRandom().setState(randomState);
+        checkMemoryBudget(memoryReport());
+    }
+
+    /**
+     * Recovers a game from its journal: restores the journal's snapshot, then silently replays the
+     * actions recorded after it. Since the random generator is part of the snapshot, replaying
+     * reproduces the game exactly as it was when the journal was last synced.
+     * @param mapsPath the path to the directory containing map files
+     * @param recovery the state read from the journal
+     * @throws IOException if the journal's snapshot is invalid or does not match the level files
+     */
+    public void recoverGame(String mapsPath, ActionJournal.Recovery recovery) throws IOException {
+        char[] actions = recovery.getActions();
+        silent = true;
+        restoreGame(mapsPath, recovery.getSnapshot());
+        int next = 0;
+        while (recordsTick(actions, next) && !isOver()) {
+            next = playTick(actions, next);
+        }
+        silent = false;
+        if (recovery.getLevel() >= 0 && recovery.getLevel() != currentLevel)
+            System.err.println(String.format("Replaying %s ended on level %d, but the journal recorded level %d.",
+                    recovery.getSegment(), currentLevel + 1, recovery.getLevel() + 1));
+        mcb.call(String.format("Recovered %s on level %d by replaying %d actions.",
+                player.getName(), currentLevel + 1, next));
+    }
+
+    /**
+     * Serializes the complete game state into a flat binary snapshot: the level, the selected player,
+     * the tick count, the random generator's state, and every unit's position and state.
+     * Cheap enough to run on the game thread; compressing and writing it is left to the caller.
+     * @return the raw snapshot bytes
+     */
+    public byte[] saveSnapshot() {
+        snapshotBuffer.reset();
+        try (DataOutputStream out = new DataOutputStream(snapshotBuffer)) {
+            SnapshotFile.writeHeader(out);
+            out.writeInt(currentLevel);
+            out.writeInt(playerChoice);
+            out.writeLong(tick);
+            out.writeLong(Unit.getRandom().getState());
+            out.writeShort(board.getWidth());
+            out.writeShort(board.getHeight());
+            writeUnit(out, player);
+            out.writeInt(enemies.size());
+            for (Enemy e : enemies) {
+                writeUnit(out, e);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return snapshotBuffer.toByteArray();
+    }
+
+    /**
+     * Enables autosaving: every given number of ticks, a snapshot is taken and handed to the autosaver.
+     * @param autoSaver the autosaver writing snapshots in the background
+     * @param interval the number of ticks between snapshots
+     */
+    public void setAutoSaver(AutoSaver autoSaver, int interval) {
+        this.autoSaver = autoSaver;
+        this.autoSaveInterval = interval;
+    }
+
+    /**
+     * Enables journaling: every action read from now on is recorded, and a new journal segment starts
+     * from a fresh snapshot right away and then every {@link ActionJournal#getSegmentTicks()} ticks.
+     * @param journal the journal to record to
+     */
+    public void setJournal(ActionJournal journal) {
+        this.journal = journal;
+        journal.checkpoint(tick, saveSnapshot());
+    }
+
+    /**
+     * Enables recording a replay: every action read from now on is recorded, with a keyframe right away
+     * and then every {@link ReplayRecorder#getKeyframeTicks()} ticks.
+     * @param recorder the recorder to record to
+     */
+    public void setRecorder(ReplayRecorder recorder) {
+        this.recorder = recorder;
+        recorder.keyframe(tick, saveSnapshot());
+    }
+
+    /**
+     * Broadcasts every frame and message from now on to the feed's spectators.
+     * @param spectators the feed of the session's spectators
+     */
+    void setSpectatorFeed(SpectatorFeed spectators) { this.spectators = spectators; }
+
+    /**
+     * Switches between rendering on the game thread and on a separate render thread, which formats and writes
+     * each frame while the game simulates the next tick. The output is the same either way.
+     * @param pipelined true to render on a render thread
+     */
+    void setPipelinedRendering(boolean pipelined) {
+        if (pipelined && pipeline == null) {
+            pipeline = new RenderPipeline(renderer, this::send);
+        } else if (!pipelined && pipeline != null) {
+            RenderPipeline closing = pipeline;
+            pipeline = null;
+            closing.close();
+        }
+    }
+
+    /**
+     * Switches between playing the enemies' turns on the game thread and in parallel over horizontal shards
+     * of the board. A sharded game is reproducible for a given seed and shard count, but plays out differently
+     * from one ticked on the game thread.
+     * @param shards the number of shards, or 1 to play every turn on the game thread
+     * @see ShardedTurns
+     */
+    void setTickShards(int shards) {
+        if (shardedTurns != null && shardedTurns.getShardCount() == shards)
+            return;
+        if (shardedTurns != null) {
+            shardedTurns.close();
+            shardedTurns = null;
+        }
+        if (shards > 1)
+            shardedTurns = new ShardedTurns(shards);
+    }
+
+    /**
+     * Returns the number of shards the enemies' turns are played over.
+     * @return the shard count, or 1 when every turn is played on the game thread
+     */
+    int getTickShards() { return shardedTurns == null ? 1 : shardedTurns.getShardCount(); }
+
+    /**
+     * Waits until all output has been written, when rendering on a render thread, and sends the tick so far
+     * to the spectators.
+     */
+    void flushOutput() {
+        if (pipeline != null)
+            pipeline.flush();
+        if (spectators != null)
+            spectators.flush();
+    }
+
     /**
      * Starts the main game loop.
      */
@@ -64,27 +349,213 @@ public class GameManager {
      */
     private void gameLoop() {
         while(gameRunning) {
+            playTick();
+        }
+        handleGameOver();
+    }
+
+    /**
+     * Plays a single tick followed by the level status evaluation.
+     */
+    void playTick() {
+        view.beginUpdate();
+        try {
+            profiler.startTick();
             gameTick();
+            profiler.enter(TickPhase.LEVEL_STATUS);
             evaluateLevelStatus();
+            profiler.endTick(enemies.size(), board.getWidth(), board.getHeight());
+            EngineMetrics.TICKS.increment();
+            tick++;
+            if (isOver())
+                return;
+            if (autoSaver != null && tick % autoSaveInterval == 0)
+                autoSaver.submit(saveSnapshot());
+            if (journal != null && tick % journal.getSegmentTicks() == 0)
+                journal.checkpoint(tick, saveSnapshot());
+            if (recorder != null && tick % recorder.getKeyframeTicks() == 0)
+                recorder.keyframe(tick, saveSnapshot());
+        } finally {
+            view.endUpdate();
         }
-        handleGameOver();
     }
 
+    /**
+     * Plays a single tick, reading the player's actions from the given array instead of the CLI.
+     * @param actions the recorded actions
+     * @param next the index of the first action to use
+     * @return the index of the first action not used by the tick
+     * @throws IllegalStateException if the actions end partway through the tick
+     */
+    int playTick(char[] actions, int next) {
+        replaying = true;
+        replayActions = actions;
+        replayIndex = next;
+        try {
+            playTick();
+            return replayIndex;
+        } finally {
+            replaying = false;
+            replayActions = NO_ACTIONS;
+            replayIndex = 0;
+        }
+    }
+
+    /**
+     * Checks if the recorded actions hold a whole tick: the player's action, after any memory reports.
+     * A recording cut off by a crash may end partway through a tick, and playing that tick would need more input.
+     * @param actions the recorded actions
+     * @param next the index of the first action of the tick
+     * @return true if {@link #playTick(char[], int)} can play the tick from the actions alone
+     */
+    static boolean recordsTick(char[] actions, int next) {
+        for (int i = next; i < actions.length; i++) {
+            if (actions[i] != MEMORY_REPORT_KEY)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Mutes or unmutes all game output, for re-simulating ticks the viewer has already seen.
+     * @param silent true to drop all messages
+     */
+    void setSilent(boolean silent) { this.silent = silent; }
+
+    /**
+     * Displays the current board and player stats.
+     */
+    void showRound() { roundStats(); }
+
+    /**
+     * Returns the number of ticks played since the game started.
+     * @return the current tick
+     */
+    public long getTick() { return tick; }
+
+    /**
+     * Returns the read-only queries other threads may run on this game while it plays.
+     * @return the game's query API
+     */
+    public GameQuery getQuery() { return view; }
+
+    /**
+     * Returns the current level's board.
+     * @return the board, or null if no level is loaded
+     */
+    Board getBoard() { return board; }
+
     /**
      * Loads the current level's board and sets up player callbacks.
      */
-    private void loadLevel() {
-        board = new Board( mcb, eccb);
+    void loadLevel() {
+        LevelLoadEvent event = new LevelLoadEvent();
+        event.begin();
+        long start = System.nanoTime();
+        view.beginUpdate();
+        try {
+            prepareBoard();
+            List<String> levelMap = mapLoader.loadMap(currentLevel);
+            board.setBoardMap(levelMap, mapLoader.loadTopology(currentLevel, levelMap));
+            pruneUnreachableEnemies();
+        } finally {
+            view.endUpdate();
+        }
+        checkMemoryBudget(memoryReport());
+        if (journal != null)
+            journal.levelLoaded(tick, currentLevel, Unit.getRandom().getState());
+        EngineMetrics.LEVEL_LOADS.record(System.nanoTime() - start);
+        event.finish(currentLevel, board.getWidth(), board.getHeight(), enemies.size());
+    }
+
+    /**
+     * Deactivates the enemies that can never interact with the player, and tells the player and the metrics how many.
+     * A monster can only reach the player within the player's component of the board; a trap never moves,
+     * and attacks when the player stands next to it. Inactive enemies skip their turns, but players can
+     * still kill them with abilities, and the level still ends once every enemy is dead.
+     */
+    private void pruneUnreachableEnemies() {
+        LevelTopology topology = board.getTopology();
+        Position p = player.getPosition();
+        int playerLabel = topology.label(p.getX(), p.getY());
+        int reachable = enemies.partition(i -> canReachPlayer(enemies.get(i), topology, playerLabel));
+        if (reachable == enemies.size())
+            return;
+        int unreachable = enemies.size() - reachable;
+        EngineMetrics.UNREACHABLE_ENEMIES.add(unreachable);
+        mcb.call(String.format("%d of the enemies on level %d can never reach you.", unreachable, currentLevel + 1));
+    }
+
+    /**
+     * Checks whether an enemy can ever interact with the player.
+     * @param e the enemy
+     * @param topology the level's topology
+     * @param playerLabel the label of the player's component
+     * @return true if the enemy can reach the player, or the player can stand next to the trap
+     */
+    private boolean canReachPlayer(Enemy e, LevelTopology topology, int playerLabel) {
+        int width = board.getWidth();
+        int x = e.getX();
+        int y = e.getY();
+        if (e.getKind() != TileKind.TRAP)
+            return topology.label(x, y) == playerLabel;
+        for (int ny = Math.max(0, y - 1); ny <= Math.min(board.getHeight() - 1, y + 1); ny++) {
+            for (int nx = Math.max(0, x - 1); nx <= Math.min(width - 1, x + 1); nx++) {
+                if (topology.label(nx, ny) == playerLabel)
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Prepares the board for the next level and connects the player to it.
+     * The previous level's board is reused, so the next level can recycle its arrays and terrain.
+     */
+    private void prepareBoard() {
+        if (board != null)
+            board.unload();
+        else
+            board = new Board( mcb, eccb);
         pcb = board.getPcb();
         player.setCallbacks(mcb,pcb,pdcb);
-        board.setBoardMap(mapLoader.loadMap(currentLevel));
+    }
+
+    /**
+     * Writes a unit's symbol, position and state to a snapshot.
+     * @param out the snapshot output
+     * @param unit the unit to write
+     * @throws IOException if writing fails
+     */
+    private void writeUnit(DataOutput out, Unit unit) throws IOException {
+        out.writeChar(unit == player ? TileFactory.PLAYER_CHAR : unit.getSymbol());
+        out.writeShort(unit.getX());
+        out.writeShort(unit.getY());
+        unit.writeState(out);
+    }
+
+    /**
+     * Reads a unit written by {@link #writeUnit(DataOutput, Unit)} and places it on the board.
+     * @param in the snapshot input
+     * @throws IOException if reading fails
+     */
+    private void readUnit(DataInput in) throws IOException {
+        char symbol = in.readChar();
+        Position pos = new Position(in.readUnsignedShort(), in.readUnsignedShort());
+        Tile tile = TileFactory.createTile(symbol, pos, eccb);
+        board.setTile(tile, pos);
+        ((Unit) tile).readState(in);
     }
 
     /**
      * Prompts the user to select a player character.
      */
     private void selectPlayer() {
-        player = TileFactory.GetPlayer(cli.getCharacterSelection());
+        int choice = cli.getCharacterSelection();
+        view.beginUpdate();
+        playerChoice = choice;
+        player = TileFactory.GetPlayer(playerChoice);
+        view.endUpdate();
         mcb.call("You have selected: " + player.getName());
 
     }
@@ -93,30 +564,119 @@ public class GameManager {
      * Executes a single game tick, including player and enemy turns.
      */
     private void gameTick() {
+        TickEvent event = new TickEvent();
+        event.begin();
+        profiler.enter(TickPhase.RENDER);
         roundStats();
         playerTurn();
 
         if(!player.isDead())
             enemiesTurn();
+        event.finish(currentLevel, enemies.size(), player.isDead());
     }
 
     /**
-     * Displays the current round's board and player stats.
+     * Displays the current round's board, or the viewport around the player if enabled, and player stats.
      */
     private void roundStats() {
-        mcb.call(board.toString());
-        mcb.call(player.description());
+        if (silent)
+            return;
+        CharGrid frame = board;
+        if (viewport != null)
+            frame = viewport.centerOn(board, player.getPosition().getX(), player.getPosition().getY());
+        String stats = player.description();
+        if (pipeline != null)
+            pipeline.render(frame, stats);
+        else
+            renderer.render(frame, stats);
+        if (spectators != null)
+            spectators.render(frame, stats);
+    }
+
+    /**
+     * Creates the renderer drawing each round.
+     * @param mode "text" to print every frame in full, "ansi" to redraw only what changed on an ANSI terminal
+     * @return the renderer writing to the player's output
+     * @throws IllegalArgumentException if the mode is unknown
+     */
+    private FrameRenderer createRenderer(String mode) {
+        switch (mode) {
+            case "text":
+                return new TextRenderer(this::send);
+            case "ansi":
+                return new AnsiDeltaRenderer(this::send);
+            default:
+                throw new IllegalArgumentException("Unknown render mode: " + mode);
+        }
     }
 
     /**
      * Handles the player's turn, including input and actions.
      */
     private void playerTurn() {
-        char c = cli.getUserAction();
+        profiler.enter(TickPhase.INPUT);
+        char c = readAction();
+        while (c == MEMORY_REPORT_KEY) {
+            mcb.call(memoryReport().toString());
+            c = readAction();
+        }
+        profiler.enter(TickPhase.PLAYER_ACTION);
         player.gameTick();
         playerAction(c);
     }
 
+    /**
+     * Reads the next action, from the replayed actions while replaying, otherwise from the CLI
+     * once all output has been written, and records it in the journal and the replay.
+     * @return the action character
+     */
+    private char readAction() {
+        char action;
+        if (replaying) {
+            if (replayIndex == replayActions.length)
+                throw new IllegalStateException(String.format("The recording ends partway through tick %d.", tick));
+            action = replayActions[replayIndex++];
+        } else {
+            flushOutput();
+            // Queries need not wait for the player.
+            view.endUpdate();
+            try {
+                action = cli.getUserAction();
+            } finally {
+                view.beginUpdate();
+            }
+        }
+        if (journal != null)
+            journal.append(tick, action);
+        if (recorder != null)
+            recorder.action(action);
+        return action;
+    }
+
+    /**
+     * Estimates the heap retained by the current level: the board with its tiles and units, and the enemy store.
+     * @return the memory report
+     */
+    public MemoryReport memoryReport() {
+        String title = String.format("Level %d (%dx%d)", currentLevel + 1, board.getWidth(), board.getHeight());
+        MemoryReport report = board.memoryReport(title);
+        report.add("Enemy store", enemies.size(), enemies.estimatedRetainedBytes());
+        return report;
+    }
+
+    /**
+     * Publishes a freshly loaded level's estimated heap and warns if it exceeds the memory budget.
+     * @param report the level's memory report
+     */
+    private void checkMemoryBudget(MemoryReport report) {
+        board.setHeapEstimate(report.getTotalBytes());
+        if (LEVEL_MEMORY_BUDGET > 0 && report.getTotalBytes() > LEVEL_MEMORY_BUDGET) {
+            EngineMetrics.LEVEL_MEMORY_BUDGET_EXCEEDED.increment();
+            System.err.println(String.format("Level %d exceeds the memory budget of %,d bytes.%n%s",
+                    currentLevel + 1, LEVEL_MEMORY_BUDGET, report));
+        }
+    }
+
     /**
      * Executes the player's action based on the input character.
      * @param action the character representing the player's action
@@ -129,8 +689,11 @@ public class GameManager {
             case 'd':
             case 'q':
                 Direction direction = Direction.fromChar(action);
-                Position nextPos = Position.GetPosition(player.getPosition(),direction);
-                player.visit(board.getTile(nextPos));
+                int x = player.getPosition().getX() + direction.getX();
+                int y = player.getPosition().getY() + direction.getY();
+                // Walking into a wall does nothing, so skip the visit.
+                if (board.isPassable(x, y))
+                    player.visit(board.getTile(x, y));
                 break;
             case 'e':
                 player.castAbility(enemies);
@@ -145,18 +708,21 @@ public class GameManager {
      * Executes all enemies' turns.
      */
     private void enemiesTurn() {
-        for(Enemy e : enemies) {
-            e.setPlayerPosition(player.getPosition());
-            e.gameTick();
-            e.visit(board.getTile(e.getDesiredPosition()));
-        }
+        profiler.enter(TickPhase.ENEMIES_TURN);
+        EnemiesTurnEvent event = new EnemiesTurnEvent();
+        event.begin();
+        if (shardedTurns != null)
+            shardedTurns.playTurns(enemies, 0, enemies.getActiveCount(), player, board::getTile, board.getPassability());
+        else
+            enemies.playTurns(0, enemies.getActiveCount(), player, board::getTile, board.getPassability());
+        event.finish(enemies.size());
     }
 
     /**
      * Evaluates the current level status and advances or ends the game as needed.
      */
     private void evaluateLevelStatus() {
-        if (player.isDead() || (allEnemiesDead() && hasEnded()))
+        if (isOver())
         {
             gameRunning = false;
             return;
@@ -169,6 +735,14 @@ public class GameManager {
         }
     }
 
+    /**
+     * Checks if the game is over: the player is dead or the last level has been cleared.
+     * @return true if the game is over, false otherwise
+     */
+    boolean isOver() {
+        return player.isDead() || (allEnemiesDead() && hasEnded());
+    }
+
     /**
      * Checks if all enemies are dead.
      * @return true if all enemies are dead, false otherwise
@@ -194,6 +768,35 @@ public class GameManager {
             roundStats();
             mcb.call("Game Over.");
         }
+        view.beginUpdate();
+        discardEnemies();
+        board.unload();
+        view.endUpdate();
+        flushOutput();
+        setPipelinedRendering(false);
+        setTickShards(1);
+        if (PRINT_TICK_SUMMARY)
+            System.err.println(profiler.summary());
+    }
+
+    /**
+     * Releases the current level, the render thread and the shard workers of a game that will not be
+     * finished, such as when its player disconnects.
+     */
+    void abandon() {
+        try {
+            setPipelinedRendering(false);
+        } catch (RuntimeException e) {
+            // The output failed with the player's connection, the rest of it has nowhere to go.
+        }
+        setTickShards(1);
+        if (board == null)
+            return;
+        view.beginUpdate();
+        discardEnemies();
+        board.unload();
+        board = null;
+        view.endUpdate();
     }
 
     /**
@@ -204,12 +807,23 @@ public class GameManager {
         return currentLevel ==  mapLoader.NUM_OF_LEVELS - 1;
     }
 
+    /**
+     * Removes the enemies of a level that will not be played on, returning them to the pools.
+     */
+    private void discardEnemies() {
+        EngineMetrics.ENEMIES_ALIVE.add(-enemies.size());
+        while (!enemies.isEmpty()) {
+            TileFactory.recycle(enemies.remove(enemies.size() - 1));
+        }
+    }
+
     /**
      * Callback for when an enemy is created; adds the enemy to the list and sets callbacks.
      * @param e the created enemy
      */
     private void enemyCreated(Enemy e) {
         this.enemies.add(e);
+        EngineMetrics.ENEMIES_ALIVE.increment();
         e.setCallbacks(mcb,pcb,edcb);
     }
 
@@ -224,6 +838,41 @@ public class GameManager {
         empty.setPosition(pos);
         board.setTile(empty,pos);
         enemies.remove(e);
+        TileFactory.recycle(e);
+        EngineMetrics.ENEMIES_ALIVE.decrement();
     }
 
+    /**
+     * Sends a message to the player and the spectators, and counts it in the engine metrics.
+     * Messages are dropped while silent, when replaying ticks the player has already seen.
+     * @param message the message to send
+     */
+    private void sendMessage(String message) {
+        if (silent)
+            return;
+        if (spectators != null)
+            spectators.message(message);
+        if (pipeline != null)
+            pipeline.message(message);
+        else
+            send(message);
+    }
+
+    /**
+     * Sends output to the player and counts it in the engine metrics.
+     * Frames are sent here directly, since spectators receive frames encoded for them.
+     * @param message the output to send
+     */
+    private void send(String message) {
+        EngineMetrics.MESSAGES.increment();
+        EngineMetrics.MESSAGE_CHARS.add(message.length());
+        cli.getMcb().call(message);
+    }
+
+    ///For tests:
+    Player getPlayer() { return player; }
+
+    List<Enemy> getEnemies() { return enemies; }
+
+    TickProfiler getProfiler() { return profiler; }
 }
@@ -0,0 +1,242 @@
+import Broadcast.Spectator;
+import Broadcast.SpectatorFeed;
+import Metrics.EngineMetrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hosts many concurrent games over TCP on the loopback interface.
+ * Every connection gets its own session: a {@link GameManager} whose CLI reads from and writes to the socket,
+ * running on its own virtual thread. A session blocked waiting for its player's input holds no platform thread,
+ * so idle sessions only cost their heap.
+ * <p>
+ * If a spectator port is given, viewers connecting to it send the number of a session to watch it.
+ * Each session's output is broadcast to its spectators through a {@link SpectatorFeed}.
+ */
+public class GameServer implements AutoCloseable {
+    private static final int BACKLOG = 1024;
+    private static final int SPECTATOR_QUEUE_CAPACITY = 16;
+
+    private final ServerSocket serverSocket;
+    private final ServerSocket spectatorSocket;
+    private final String mapsPath;
+    private final ExecutorService sessions = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<SocketConnection> connections = ConcurrentHashMap.newKeySet();
+    private final Map<Integer, SpectatorFeed> feeds = new ConcurrentHashMap<>();
+    private final AtomicInteger nextSessionId = new AtomicInteger(1);
+    private final Thread acceptor;
+    private final Thread spectatorAcceptor;
+
+    /**
+     * Binds the server to the given port on the loopback interface, without spectators.
+     * @param port the port to listen on, 0 to pick a free one
+     * @param mapsPath the path to the directory containing map files
+     * @throws IOException if the port cannot be bound
+     */
+    public GameServer(int port, String mapsPath) throws IOException {
+        this(port, -1, mapsPath);
+    }
+
+    /**
+     * Binds the server to the given ports on the loopback interface.
+     * @param port the port to listen on for players, 0 to pick a free one
+     * @param spectatorPort the port to listen on for spectators, 0 to pick a free one, negative for no spectators
+     * @param mapsPath the path to the directory containing map files
+     * @throws IOException if a port cannot be bound
+     */
+    public GameServer(int port, int spectatorPort, String mapsPath) throws IOException {
+        this.serverSocket = new ServerSocket(port, BACKLOG, InetAddress.getLoopbackAddress());
+        try {
+            this.spectatorSocket = spectatorPort < 0 ? null
+                    : new ServerSocket(spectatorPort, BACKLOG, InetAddress.getLoopbackAddress());
+        } catch (IOException e) {
+            serverSocket.close();
+            throw e;
+        }
+        this.mapsPath = mapsPath;
+        this.acceptor = Thread.ofPlatform().name("game-server-accept").unstarted(this::acceptLoop);
+        this.spectatorAcceptor = spectatorSocket == null ? null
+                : Thread.ofPlatform().name("game-server-spectator-accept").unstarted(this::acceptSpectators);
+    }
+
+    /**
+     * Starts accepting connections in the background.
+     */
+    public void start() {
+        acceptor.start();
+        if (spectatorAcceptor != null)
+            spectatorAcceptor.start();
+    }
+
+    /**
+     * Blocks until the server is closed.
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void awaitClose() throws InterruptedException {
+        acceptor.join();
+    }
+
+    /**
+     * Returns the port the server listens on.
+     * @return the local port
+     */
+    public int getPort() { return serverSocket.getLocalPort(); }
+
+    /**
+     * Returns the port spectators connect to.
+     * @return the local spectator port, or -1 if spectators are disabled
+     */
+    public int getSpectatorPort() { return spectatorSocket == null ? -1 : spectatorSocket.getLocalPort(); }
+
+    /**
+     * Returns the number of sessions currently connected.
+     * @return the session count
+     */
+    public int getSessionCount() { return connections.size(); }
+
+    /**
+     * Returns the number of spectators watching a session.
+     * @param sessionId the session number
+     * @return the spectator count, or 0 if there is no such session
+     */
+    public int getSpectatorCount(int sessionId) {
+        SpectatorFeed feed = feeds.get(sessionId);
+        return feed == null ? 0 : feed.getSpectatorCount();
+    }
+
+    /**
+     * Stops accepting connections, disconnects every session and waits for them to end.
+     */
+    @Override
+    public void close() {
+        try {
+            serverSocket.close();
+            if (spectatorSocket != null)
+                spectatorSocket.close();
+        } catch (IOException e) {
+            System.err.println("Closing the game server failed: " + e.getMessage());
+        }
+        for (SocketConnection connection : connections) {
+            try {
+                connection.close();
+            } catch (IOException e) {
+                // The session ends either way.
+            }
+        }
+        // Interrupting a virtual thread blocked on a socket read closes the socket, which ends its session.
+        sessions.shutdownNow();
+        try {
+            sessions.awaitTermination(10, TimeUnit.SECONDS);
+            acceptor.join();
+            if (spectatorAcceptor != null)
+                spectatorAcceptor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Accepts connections until the server socket is closed, starting a session for each.
+     */
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                sessions.execute(() -> runSession(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed())
+                    System.err.println("Accepting a connection failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Accepts spectator connections until the spectator socket is closed.
+     */
+    private void acceptSpectators() {
+        while (!spectatorSocket.isClosed()) {
+            try {
+                Socket socket = spectatorSocket.accept();
+                sessions.execute(() -> runSpectator(socket));
+            } catch (IOException e) {
+                if (!spectatorSocket.isClosed())
+                    System.err.println("Accepting a spectator failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Asks a spectator which session to watch, then sends it the session's frames until either ends.
+     * @param socket the spectator socket
+     */
+    private void runSpectator(Socket socket) {
+        try (SocketConnection connection = new SocketConnection(socket)) {
+            SpectatorFeed feed = null;
+            while (feed == null) {
+                connection.call("Sessions: " + new TreeSet<>(feeds.keySet()) + ". Enter a session number to watch it:");
+                try {
+                    feed = feeds.get(Integer.parseInt(connection.read().trim()));
+                } catch (NumberFormatException e) {
+                    // Ask again.
+                }
+            }
+            connection.flush();
+            Spectator spectator = new Spectator(feed, socket.getOutputStream(), SPECTATOR_QUEUE_CAPACITY);
+            feed.subscribe(spectator);
+            spectator.run();
+        } catch (IOException | UncheckedIOException e) {
+            // The spectator disconnected.
+        }
+    }
+
+    /**
+     * Plays one game with a connected client, until the game ends or the client disconnects.
+     * @param socket the client socket
+     */
+    private void runSession(Socket socket) {
+        EngineMetrics.SESSIONS_STARTED.increment();
+        EngineMetrics.SESSIONS.increment();
+        GameManager game = null;
+        int sessionId = nextSessionId.getAndIncrement();
+        SpectatorFeed feed = spectatorSocket == null ? null : new SpectatorFeed();
+        try (SocketConnection connection = new SocketConnection(socket)) {
+            connections.add(connection);
+            try {
+                game = GameManager.forSession(new CLI(connection, connection));
+                if (feed != null) {
+                    connection.call("Spectators can watch this game as session " + sessionId + ".");
+                    game.setSpectatorFeed(feed);
+                    feeds.put(sessionId, feed);
+                }
+                game.initializeGame(mapsPath);
+                game.start();
+                game = null;
+                connection.flush();
+            } finally {
+                connections.remove(connection);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            // The client disconnected.
+        } finally {
+            if (game != null)
+                game.abandon();
+            if (feed != null) {
+                feeds.remove(sessionId);
+                feed.close();
+            }
+            EngineMetrics.SESSIONS.decrement();
+        }
+    }
+}
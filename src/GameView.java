@@ -0,0 +1,132 @@
+import Query.GameQuery;
+import Query.UnitView;
+import Tiles.Units.Enemies.Enemy;
+import Tiles.Units.Players.Player;
+import Tiles.Units.Unit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * Answers {@link GameQuery} queries on a game from other threads, guarded by a sequence lock.
+ * <p>
+ * The game thread brackets every update of the board and units with {@link #beginUpdate()} and
+ * {@link #endUpdate()}, taking the write lock of a {@link StampedLock}. Readers never take a lock: they copy
+ * what they need under an optimistic read stamp, and retry if the game updated meanwhile. The game thread
+ * therefore never waits for readers, and holds the lock only while simulating, never while waiting for input.
+ */
+class GameView implements GameQuery {
+    // Readers spin this many times while an update is in progress before yielding their thread instead.
+    private static final int SPINS_BEFORE_YIELD = 64;
+
+    private final GameManager game;
+    private final StampedLock lock = new StampedLock();
+    private long writeStamp;
+    private int updateDepth;
+
+    /**
+     * Creates the view of the given game.
+     * @param game the game to query
+     */
+    GameView(GameManager game) {
+        this.game = game;
+    }
+
+    /**
+     * Starts an update on the game thread. Updates may be nested; readers wait for the outermost to end.
+     */
+    void beginUpdate() {
+        if (updateDepth++ == 0)
+            writeStamp = lock.writeLock();
+    }
+
+    /**
+     * Ends an update on the game thread.
+     */
+    void endUpdate() {
+        if (--updateDepth == 0)
+            lock.unlockWrite(writeStamp);
+    }
+
+    @Override
+    public long getTick() {
+        return read(game::getTick);
+    }
+
+    @Override
+    public char tileAt(int x, int y) {
+        return read(() -> {
+            Board board = currentBoard();
+            if (x < 0 || y < 0 || x >= board.getWidth() || y >= board.getHeight())
+                throw new IndexOutOfBoundsException(String.format("(%d,%d) is outside the board", x, y));
+            return board.getChar(x, y);
+        });
+    }
+
+    @Override
+    public List<UnitView> unitsIn(int left, int top, int width, int height) {
+        return read(() -> {
+            currentBoard();
+            List<UnitView> units = new ArrayList<>();
+            addIfInside(units, game.getPlayer(), left, top, width, height);
+            List<Enemy> enemies = game.getEnemies();
+            for (int i = 0; i < enemies.size(); i++) {
+                addIfInside(units, enemies.get(i), left, top, width, height);
+            }
+            return units;
+        });
+    }
+
+    @Override
+    public UnitView getPlayer() {
+        return read(() -> {
+            Player player = game.getPlayer();
+            if (player == null)
+                throw new IllegalStateException("No player is selected");
+            return new UnitView(player);
+        });
+    }
+
+    /**
+     * Runs a query under an optimistic read stamp until it completes without an update overlapping it.
+     * While overlapping an update, the query may see the game halfway through it and fail; such failures
+     * are retried, and only those of a consistent view are thrown.
+     * @param query the query, copying everything it returns
+     * @return the query's result
+     */
+    private <T> T read(Supplier<T> query) {
+        for (int attempt = 0; ; attempt++) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                try {
+                    T result = query.get();
+                    if (lock.validate(stamp))
+                        return result;
+                } catch (RuntimeException e) {
+                    if (lock.validate(stamp))
+                        throw e;
+                }
+            }
+            if (attempt < SPINS_BEFORE_YIELD)
+                Thread.onSpinWait();
+            else
+                Thread.yield();
+        }
+    }
+
+    private Board currentBoard() {
+        Board board = game.getBoard();
+        if (board == null)
+            throw new IllegalStateException("No level is loaded");
+        return board;
+    }
+
+    private static void addIfInside(List<UnitView> units, Unit unit, int left, int top, int width, int height) {
+        int x = unit.getX();
+        int y = unit.getY();
+        if (x >= left && x < left + width && y >= top && y < top + height && unit.getCharacter() == unit.getSymbol())
+            units.add(new UnitView(unit));
+    }
+}
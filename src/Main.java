@@ -1,8 +1,18 @@
+import Diagnostics.PhaseLatencyMonitor;
+import Metrics.EngineMetrics;
+import Metrics.MetricsServer;
+import Persistence.ActionJournal;
+import Persistence.AutoSaver;
+import Persistence.ReplayFile;
+import Persistence.ReplayRecorder;
+import Persistence.SnapshotFile;
+
 import javax.swing.*;
+import java.nio.file.Path;
 
 
 public class Main {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws java.io.IOException {
         String levelsPath;
 
         if (args.length < 1) {
@@ -29,8 +39,79 @@ public class Main {
             levelsPath = args[0];
         }
 
-        GameManager gameManager = new GameManager();
-        gameManager.initializeGame(levelsPath);
-        gameManager.start();
+        if (Boolean.getBoolean("dnd.jfr.live")) {
+            PhaseLatencyMonitor.start(System.err::println);
+        }
+
+        Integer metricsPort = Integer.getInteger("dnd.metrics.port");
+        MetricsServer metricsServer = metricsPort == null ? null : new MetricsServer(metricsPort, EngineMetrics.REGISTRY);
+
+        Integer serverPort = Integer.getInteger("dnd.server.port");
+        if (serverPort != null) {
+            GameServer server = new GameServer(serverPort, Integer.getInteger("dnd.server.spectatorPort", -1), levelsPath);
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+            server.start();
+            System.out.println("Serving games on 127.0.0.1:" + server.getPort());
+            if (server.getSpectatorPort() >= 0)
+                System.out.println("Spectators can watch on 127.0.0.1:" + server.getSpectatorPort());
+            try {
+                server.awaitClose();
+            } catch (InterruptedException e) {
+                server.close();
+            }
+            if (metricsServer != null)
+                metricsServer.close();
+            return;
+        }
+
+        String replayPath = System.getProperty("dnd.replay");
+        if (replayPath != null) {
+            try (ReplayFile replay = new ReplayFile(Path.of(replayPath))) {
+                new ReplayViewer(replay, levelsPath, new CLI()).start();
+            }
+            return;
+        }
+
+        String loadPath = System.getProperty("dnd.load");
+        String autoSavePath = System.getProperty("dnd.autosave");
+        AutoSaver autoSaver = autoSavePath == null ? null : new AutoSaver(Path.of(autoSavePath));
+        String journalPath = System.getProperty("dnd.journal");
+        ActionJournal.Recovery recovery = journalPath == null ? null : ActionJournal.recover(Path.of(journalPath));
+        ActionJournal journal = journalPath == null ? null : new ActionJournal(Path.of(journalPath),
+                Integer.getInteger("dnd.journal.groupSize", 32),
+                Long.getLong("dnd.journal.groupMs", 200),
+                Integer.getInteger("dnd.journal.segmentTicks", 1000));
+        String recordPath = System.getProperty("dnd.record");
+        ReplayRecorder recorder = recordPath == null ? null
+                : new ReplayRecorder(Path.of(recordPath), Integer.getInteger("dnd.record.keyframeTicks", 100));
+
+        try {
+            GameManager gameManager = new GameManager();
+            if (recovery != null)
+                gameManager.recoverGame(levelsPath, recovery);
+            else if (loadPath != null)
+                gameManager.restoreGame(levelsPath, SnapshotFile.read(Path.of(loadPath)));
+            else
+                gameManager.initializeGame(levelsPath);
+            if (autoSaver != null)
+                gameManager.setAutoSaver(autoSaver, Integer.getInteger("dnd.autosave.interval", 10));
+            if (journal != null)
+                gameManager.setJournal(journal);
+            if (recorder != null)
+                gameManager.setRecorder(recorder);
+            gameManager.start();
+            // The game ended normally, there is nothing left to recover.
+            if (journal != null)
+                journal.discard();
+        } finally {
+            if (recorder != null)
+                recorder.close();
+            if (journal != null)
+                journal.close();
+            if (autoSaver != null)
+                autoSaver.close();
+            if (metricsServer != null)
+                metricsServer.close();
+        }
     }
 }
@@ -1,12 +1,20 @@
+import Metrics.EngineMetrics;
+import Persistence.LevelCache;
+import Tiles.LevelTopology;
+
 import java.io.File;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 public class MapLoader {
+    private static final boolean LEVEL_CACHE_DISABLED = Boolean.getBoolean("dnd.levelcache.disabled");
+
     private List<String> mapsFiles;
+    private final LevelCache cache;
     public final int NUM_OF_LEVELS;
 
     /**
@@ -16,6 +24,7 @@ public class MapLoader {
     public MapLoader(String levelsPath) {
         loadLevelFiles(levelsPath);
         NUM_OF_LEVELS = mapsFiles.size();
+        cache = LEVEL_CACHE_DISABLED ? null : new LevelCache(Path.of(levelsPath));
     }
 
     /**
@@ -28,14 +37,27 @@ public class MapLoader {
         if (levelIndex < mapsFiles.size()) {
             try {
                 levelData = Files.readAllLines(Paths.get(mapsFiles.get(levelIndex)));
+                EngineMetrics.LEVEL_FILE_BYTES.add(Files.size(Paths.get(mapsFiles.get(levelIndex))));
                 return levelData;
             } catch (Exception e) {
+                EngineMetrics.LEVEL_FILE_ERRORS.increment();
                 System.out.println("Program failed because of the level files at level " + levelIndex);
             }
         }
         return levelData;
     }
 
+    /**
+     * Returns the topology of the specified level, from the level cache unless the cache is disabled.
+     * @param levelIndex the index of the level
+     * @param levelData the level's map data, as returned by {@link #loadMap(int)}
+     * @return the level's topology
+     */
+    public LevelTopology loadTopology(int levelIndex, List<String> levelData) {
+        if (cache == null)
+            return LevelTopology.compute(levelData);
+        return cache.load(Paths.get(mapsFiles.get(levelIndex)).getFileName().toString(), levelData);
+    }
 
     /**
      * Loads all .txt level file paths from the specified directory into the levelFiles list.
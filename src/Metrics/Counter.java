@@ -0,0 +1,29 @@
+package Metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A monotonically increasing counter.
+ * Backed by a striped {@link LongAdder}, so concurrent sessions can increment it without contention.
+ */
+public class Counter extends Metric {
+    private final LongAdder value = new LongAdder();
+
+    public Counter(String name, String help) {
+        super(name, help);
+    }
+
+    public void increment() { value.increment(); }
+
+    public void add(long amount) { value.add(amount); }
+
+    public long get() { return value.sum(); }
+
+    @Override
+    protected String type() { return "counter"; }
+
+    @Override
+    protected void writeSamples(StringBuilder sb) {
+        sb.append(name).append(' ').append(get()).append('\n');
+    }
+}
@@ -0,0 +1,36 @@
+package Metrics;
+
+/**
+ * The engine-wide metrics, shared by every game session in the JVM.
+ */
+public final class EngineMetrics {
+    public static final MetricsRegistry REGISTRY = new MetricsRegistry();
+
+    public static final Counter TICKS = REGISTRY.counter("dnd_ticks_total", "Game ticks played.");
+    public static final Counter COMBATS = REGISTRY.counter("dnd_combats_total", "Melee combats resolved.");
+    public static final Counter MESSAGES = REGISTRY.counter("dnd_messages_total", "Messages sent to players.");
+    public static final Counter MESSAGE_CHARS = REGISTRY.counter("dnd_message_chars_total", "Characters of messages sent to players.");
+    public static final Gauge ENEMIES_ALIVE = REGISTRY.gauge("dnd_enemies_alive", "Enemies currently alive.");
+    public static final Counter ENEMIES_RECYCLED = REGISTRY.counter("dnd_enemies_recycled_total", "Enemies created by resetting a dead enemy from a pool.");
+    public static final Counter UNREACHABLE_ENEMIES = REGISTRY.counter("dnd_unreachable_enemies_total", "Enemies loaded walled off from the player, which never take turns.");
+    public static final Gauge BOARDS = REGISTRY.gauge("dnd_boards", "Boards currently loaded.");
+    public static final Gauge BOARD_HEAP_BYTES = REGISTRY.gauge("dnd_board_heap_bytes", "Estimated heap retained by loaded boards.");
+    public static final Timer LEVEL_LOADS = REGISTRY.timer("dnd_level_load_seconds", "Time spent loading levels.");
+    public static final Counter LEVEL_CACHE_HITS = REGISTRY.counter("dnd_level_cache_hits_total", "Level loads whose topology was mapped from the level cache.");
+    public static final Counter LEVEL_CACHE_MISSES = REGISTRY.counter("dnd_level_cache_misses_total", "Level loads whose topology was computed, and the level cache rebuilt.");
+    public static final Counter LEVEL_FILE_BYTES = REGISTRY.counter("dnd_level_file_bytes_total", "Bytes of level files read.");
+    public static final Counter LEVEL_MEMORY_BUDGET_EXCEEDED = REGISTRY.counter("dnd_level_memory_budget_exceeded_total", "Level loads whose estimated heap exceeded the memory budget.");
+    public static final Counter LEVEL_FILE_ERRORS = REGISTRY.counter("dnd_level_file_errors_total", "Level files that failed to load.");
+    public static final Counter SESSIONS_STARTED = REGISTRY.counter("dnd_sessions_total", "Server sessions started.");
+    public static final Gauge SESSIONS = REGISTRY.gauge("dnd_sessions", "Server sessions currently connected.");
+    public static final Gauge SPECTATORS = REGISTRY.gauge("dnd_spectators", "Spectators currently watching a session.");
+    public static final Counter SPECTATOR_FRAMES = REGISTRY.counter("dnd_spectator_frames_total", "Ticks encoded for spectators.");
+    public static final Counter SPECTATOR_FRAMES_DROPPED = REGISTRY.counter("dnd_spectator_frames_dropped_total", "Frames skipped by spectators that fell behind.");
+
+    static {
+        Runtime runtime = Runtime.getRuntime();
+        REGISTRY.gauge("dnd_jvm_heap_used_bytes", "JVM heap currently in use.", () -> runtime.totalMemory() - runtime.freeMemory());
+    }
+
+    private EngineMetrics() {}
+}
@@ -0,0 +1,25 @@
+package Metrics;
+
+import java.util.function.LongSupplier;
+
+/**
+ * A gauge whose value is computed when it is scraped.
+ */
+public class FunctionGauge extends Metric {
+    private final LongSupplier supplier;
+
+    public FunctionGauge(String name, String help, LongSupplier supplier) {
+        super(name, help);
+        this.supplier = supplier;
+    }
+
+    public long get() { return supplier.getAsLong(); }
+
+    @Override
+    protected String type() { return "gauge"; }
+
+    @Override
+    protected void writeSamples(StringBuilder sb) {
+        sb.append(name).append(' ').append(get()).append('\n');
+    }
+}
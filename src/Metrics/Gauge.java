@@ -0,0 +1,31 @@
+package Metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A value that can go up and down, such as the number of enemies alive.
+ * Every session adds and subtracts its own share, so the gauge holds the total across sessions.
+ */
+public class Gauge extends Metric {
+    private final LongAdder value = new LongAdder();
+
+    public Gauge(String name, String help) {
+        super(name, help);
+    }
+
+    public void increment() { value.increment(); }
+
+    public void decrement() { value.decrement(); }
+
+    public void add(long amount) { value.add(amount); }
+
+    public long get() { return value.sum(); }
+
+    @Override
+    protected String type() { return "gauge"; }
+
+    @Override
+    protected void writeSamples(StringBuilder sb) {
+        sb.append(name).append(' ').append(get()).append('\n');
+    }
+}
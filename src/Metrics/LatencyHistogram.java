@@ -0,0 +1,113 @@
+package Metrics;
+
+/**
+ * A fixed-size, log-bucketed latency histogram in the spirit of HdrHistogram.
+ * Values are bucketed by power of two and split into {@value #SUB_BUCKETS} linear sub-buckets,
+ * which keeps the relative error of any reported value around 3% with no allocation when recording.
+ *
+ * Recording is meant for a single writer thread; readers on other threads may see slightly stale counts.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long count;
+    private long total;
+    private long max;
+
+    /**
+     * Records a single value.
+     * @param value the value to record, negative values are recorded as 0
+     */
+    public void record(long value) {
+        if (value < 0)
+            value = 0;
+        counts[indexOf(value)]++;
+        count++;
+        total += value;
+        if (value > max)
+            max = value;
+    }
+
+    /**
+     * Returns the number of recorded values.
+     * @return the value count
+     */
+    public long getCount() { return count; }
+
+    /**
+     * Returns the sum of all recorded values.
+     * @return the total
+     */
+    public long getTotal() { return total; }
+
+    /**
+     * Returns the largest recorded value.
+     * @return the exact maximum, or 0 if nothing was recorded
+     */
+    public long getMax() { return max; }
+
+    /**
+     * Returns the mean of the recorded values.
+     * @return the mean, or 0 if nothing was recorded
+     */
+    public double getMean() { return count == 0 ? 0 : (double) total / count; }
+
+    /**
+     * Returns the value at the given percentile.
+     * The result is the highest value equivalent to the bucket holding the percentile, capped at the exact maximum.
+     * @param percentile the percentile, between 0 and 100
+     * @return the value at the percentile, or 0 if nothing was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (count == 0)
+            return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank)
+                return Math.min(highestEquivalentValue(i), max);
+        }
+        return max;
+    }
+
+    /**
+     * Clears all recorded values.
+     */
+    public void reset() {
+        java.util.Arrays.fill(counts, 0);
+        count = 0;
+        total = 0;
+        max = 0;
+    }
+
+    /**
+     * Returns the bucket index of a non-negative value.
+     * @param value the value
+     * @return the bucket index
+     */
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Returns the highest value that falls into the given bucket.
+     * @param index the bucket index
+     * @return the bucket's upper bound
+     */
+    private static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKETS)
+            return index;
+        int shift = index / SUB_BUCKETS - 1;
+        long lowest = (long) (index % SUB_BUCKETS + SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
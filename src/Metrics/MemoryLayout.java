@@ -0,0 +1,86 @@
+package Metrics;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * Estimates object sizes for a 64-bit HotSpot JVM with compressed references:
+ * a 12-byte object header, 4-byte references, 16-byte array headers and 8-byte alignment.
+ * Shallow sizes are computed once per class by reflection and cached, so estimating is cheap on hot paths.
+ */
+public final class MemoryLayout {
+    public static final int OBJECT_HEADER_BYTES = 12;
+    public static final int ARRAY_HEADER_BYTES = 16;
+    public static final int REFERENCE_BYTES = 4;
+    private static final int ALIGNMENT = 8;
+
+    private static final ClassValue<Long> SHALLOW_SIZES = new ClassValue<>() {
+        @Override
+        protected Long computeValue(Class<?> type) {
+            long size = OBJECT_HEADER_BYTES;
+            for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()))
+                        size += fieldSize(field.getType());
+                }
+            }
+            return align(size);
+        }
+    };
+
+    private MemoryLayout() {}
+
+    /**
+     * Returns the estimated size of an instance of the given class, not counting the objects it references.
+     * @param type the class
+     * @return the shallow size in bytes
+     */
+    public static long shallowSize(Class<?> type) {
+        return SHALLOW_SIZES.get(type);
+    }
+
+    /**
+     * Returns the estimated size of an array of references.
+     * @param length the array length
+     * @return the array size in bytes
+     */
+    public static long referenceArraySize(int length) {
+        return align(ARRAY_HEADER_BYTES + (long) REFERENCE_BYTES * length);
+    }
+
+    /**
+     * Returns the estimated size of an array of primitives.
+     * @param length the array length
+     * @param elementBytes the size of one element
+     * @return the array size in bytes
+     */
+    public static long primitiveArraySize(int length, int elementBytes) {
+        return align(ARRAY_HEADER_BYTES + (long) elementBytes * length);
+    }
+
+    /**
+     * Rounds a size up to the object alignment.
+     * @param bytes the unaligned size
+     * @return the aligned size
+     */
+    public static long align(long bytes) {
+        return (bytes + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+
+    /**
+     * Returns the size a field of the given type takes in an object.
+     * @param type the field's type
+     * @return the field size in bytes
+     */
+    private static int fieldSize(Class<?> type) {
+        if (type == long.class || type == double.class)
+            return 8;
+        if (type == int.class || type == float.class)
+            return 4;
+        if (type == short.class || type == char.class)
+            return 2;
+        if (type == byte.class || type == boolean.class)
+            return 1;
+        return REFERENCE_BYTES;
+    }
+}
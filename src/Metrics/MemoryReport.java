@@ -0,0 +1,81 @@
+package Metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An estimate of the heap retained by a game component, broken down by category.
+ * Categories keep the order in which they were first added.
+ */
+public class MemoryReport {
+    private final String title;
+    private final Map<String, long[]> categories = new LinkedHashMap<>();
+    private long totalBytes;
+
+    /**
+     * Creates an empty report.
+     * @param title the report's title
+     */
+    public MemoryReport(String title) {
+        this.title = title;
+    }
+
+    /**
+     * Adds objects to a category.
+     * @param category the category name
+     * @param count the number of objects
+     * @param bytes their total size in bytes
+     */
+    public void add(String category, long count, long bytes) {
+        long[] entry = categories.computeIfAbsent(category, k -> new long[2]);
+        entry[0] += count;
+        entry[1] += bytes;
+        totalBytes += bytes;
+    }
+
+    /**
+     * Adds all categories of another report to this one.
+     * @param other the report to merge in
+     */
+    public void addAll(MemoryReport other) {
+        for (Map.Entry<String, long[]> entry : other.categories.entrySet()) {
+            add(entry.getKey(), entry.getValue()[0], entry.getValue()[1]);
+        }
+    }
+
+    /**
+     * Returns the estimated bytes of a category.
+     * @param category the category name
+     * @return the category's bytes, or 0 if it is not in the report
+     */
+    public long getBytes(String category) {
+        long[] entry = categories.get(category);
+        return entry == null ? 0 : entry[1];
+    }
+
+    /**
+     * Returns the number of objects in a category.
+     * @param category the category name
+     * @return the category's object count, or 0 if it is not in the report
+     */
+    public long getCount(String category) {
+        long[] entry = categories.get(category);
+        return entry == null ? 0 : entry[0];
+    }
+
+    public long getTotalBytes() { return totalBytes; }
+
+    /**
+     * Returns the report as a table with one row per category.
+     * @return the formatted report
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(String.format("%s: %,d bytes", title, totalBytes));
+        for (Map.Entry<String, long[]> entry : categories.entrySet()) {
+            sb.append(String.format("%n  %-22s %8d objects %12s bytes",
+                    entry.getKey(), entry.getValue()[0], String.format("%,d", entry.getValue()[1])));
+        }
+        return sb.toString();
+    }
+}
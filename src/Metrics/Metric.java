@@ -0,0 +1,29 @@
+package Metrics;
+
+/**
+ * A named metric that can write itself in the Prometheus text exposition format.
+ */
+public abstract class Metric {
+    protected final String name;
+    protected final String help;
+
+    protected Metric(String name, String help) {
+        this.name = name;
+        this.help = help;
+    }
+
+    public String getName() { return name; }
+
+    /**
+     * Appends the metric's HELP, TYPE and sample lines.
+     * @param sb the builder to append to
+     */
+    public void writeTo(StringBuilder sb) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(' ').append(type()).append('\n');
+        writeSamples(sb);
+    }
+
+    protected abstract String type();
+    protected abstract void writeSamples(StringBuilder sb);
+}
@@ -0,0 +1,53 @@
+package Metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Holds named metrics and renders them in the Prometheus text exposition format.
+ * Registering is meant to happen once, at class initialization; the hot path only touches the metrics themselves.
+ */
+public class MetricsRegistry {
+    private final Map<String, Metric> metrics = new ConcurrentSkipListMap<>();
+
+    public Counter counter(String name, String help) {
+        return register(new Counter(name, help));
+    }
+
+    public Gauge gauge(String name, String help) {
+        return register(new Gauge(name, help));
+    }
+
+    public FunctionGauge gauge(String name, String help, LongSupplier supplier) {
+        return register(new FunctionGauge(name, help, supplier));
+    }
+
+    public Timer timer(String name, String help) {
+        return register(new Timer(name, help));
+    }
+
+    /**
+     * Renders all registered metrics, sorted by name.
+     * @return the metrics in Prometheus text format
+     */
+    public String scrape() {
+        StringBuilder sb = new StringBuilder();
+        for (Metric metric : metrics.values()) {
+            metric.writeTo(sb);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Adds a metric to the registry.
+     * @param metric the metric to add
+     * @return the added metric
+     * @throws IllegalArgumentException if a metric with the same name is already registered
+     */
+    private <T extends Metric> T register(T metric) {
+        if (metrics.putIfAbsent(metric.getName(), metric) != null)
+            throw new IllegalArgumentException("Metric already registered: " + metric.getName());
+        return metric;
+    }
+}
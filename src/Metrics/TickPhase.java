@@ -0,0 +1,27 @@
+package Metrics;
+
+/**
+ * The phases a game tick goes through, in order.
+ * Only {@link #INPUT} is spent waiting for the user; all other phases are engine work.
+ */
+public enum TickPhase {
+    RENDER("render"),
+    INPUT("input"),
+    PLAYER_ACTION("player_action"),
+    ENEMIES_TURN("enemies_turn"),
+    LEVEL_STATUS("level_status");
+
+    private final String label;
+
+    TickPhase(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() { return label; }
+
+    /**
+     * Checks if time spent in this phase is engine compute time.
+     * @return false for the input wait, true otherwise
+     */
+    public boolean isCompute() { return this != INPUT; }
+}
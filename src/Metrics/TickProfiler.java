@@ -0,0 +1,207 @@
+package Metrics;
+
+import Callbacks.MessageCallback;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures how long each phase of a game tick takes and keeps a latency histogram per phase.
+ * Input wait is tracked separately and excluded from the tick's compute time, so the compute
+ * percentiles reflect engine cost only.
+ * When a tick's compute time exceeds the configured budget, the watchdog logs the slowest phase
+ * together with the enemy count and board size.
+ * Optionally, the bytes allocated by the tick thread in each phase are tracked as well.
+ * The histograms can be left out for games that only need the watchdog, such as the many sessions
+ * of a server, since they take most of the profiler's memory.
+ */
+public class TickProfiler {
+    private static final TickPhase[] PHASES = TickPhase.values();
+    private static final double NANOS_PER_MS = 1_000_000.0;
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final LatencyHistogram[] phaseHistograms;
+    private final LatencyHistogram computeHistogram;
+    private final long[] tickPhaseNanos = new long[PHASES.length];
+    private final boolean[] tickPhaseEntered = new boolean[PHASES.length];
+    private final long[] phaseAllocatedBytes = new long[PHASES.length];
+    private final long budgetNanos;
+    private final MessageCallback log;
+
+    private TickPhase activePhase;
+    private long phaseStart;
+    private boolean trackAllocations;
+    private long phaseStartBytes;
+    private long ticks;
+    private long slowTicks;
+
+    /**
+     * Creates a profiler with the given compute budget per tick.
+     * @param budgetMillis the compute budget per tick in milliseconds, 0 or less disables the watchdog
+     * @param log the callback receiving watchdog reports
+     */
+    public TickProfiler(long budgetMillis, MessageCallback log) {
+        this(budgetMillis, log, true);
+    }
+
+    /**
+     * Creates a profiler with the given compute budget per tick, optionally without histograms.
+     * @param budgetMillis the compute budget per tick in milliseconds, 0 or less disables the watchdog
+     * @param log the callback receiving watchdog reports
+     * @param recordHistograms whether to keep latency histograms, or only run the watchdog
+     */
+    public TickProfiler(long budgetMillis, MessageCallback log, boolean recordHistograms) {
+        this.budgetNanos = budgetMillis * 1_000_000L;
+        this.log = log;
+        this.phaseHistograms = recordHistograms ? new LatencyHistogram[PHASES.length] : null;
+        this.computeHistogram = recordHistograms ? new LatencyHistogram() : null;
+        if (recordHistograms) {
+            for (int i = 0; i < PHASES.length; i++) {
+                phaseHistograms[i] = new LatencyHistogram();
+            }
+        }
+    }
+
+    /**
+     * Starts measuring a new tick.
+     */
+    public void startTick() {
+        java.util.Arrays.fill(tickPhaseNanos, 0);
+        java.util.Arrays.fill(tickPhaseEntered, false);
+        activePhase = null;
+    }
+
+    /**
+     * Ends the active phase, if any, and starts measuring the given one.
+     * A phase may be entered more than once per tick; its durations are summed.
+     * @param phase the phase being entered
+     */
+    public void enter(TickPhase phase) {
+        long now = System.nanoTime();
+        closeActivePhase(now);
+        activePhase = phase;
+        phaseStart = now;
+        if (trackAllocations)
+            phaseStartBytes = THREADS.getCurrentThreadAllocatedBytes();
+        tickPhaseEntered[phase.ordinal()] = true;
+    }
+
+    /**
+     * Ends the tick, records its phases and runs the slow-tick watchdog.
+     * @param enemyCount the number of enemies alive
+     * @param boardWidth the board width
+     * @param boardHeight the board height
+     */
+    public void endTick(int enemyCount, int boardWidth, int boardHeight) {
+        closeActivePhase(System.nanoTime());
+        activePhase = null;
+        ticks++;
+
+        long compute = 0;
+        TickPhase slowest = null;
+        for (TickPhase phase : PHASES) {
+            int i = phase.ordinal();
+            if (!tickPhaseEntered[i])
+                continue;
+            if (phaseHistograms != null)
+                phaseHistograms[i].record(tickPhaseNanos[i]);
+            if (phase.isCompute()) {
+                compute += tickPhaseNanos[i];
+                if (slowest == null || tickPhaseNanos[i] > tickPhaseNanos[slowest.ordinal()])
+                    slowest = phase;
+            }
+        }
+        if (computeHistogram != null)
+            computeHistogram.record(compute);
+
+        if (budgetNanos > 0 && compute > budgetNanos) {
+            slowTicks++;
+            log.call(String.format("Slow tick %d: compute %.3f ms exceeded budget of %.3f ms. " +
+                            "Slowest phase: %s (%.3f ms). Enemies: %d. Board: %dx%d.",
+                    ticks, compute / NANOS_PER_MS, budgetNanos / NANOS_PER_MS,
+                    slowest.getLabel(), tickPhaseNanos[slowest.ordinal()] / NANOS_PER_MS,
+                    enemyCount, boardWidth, boardHeight));
+        }
+    }
+
+    /**
+     * Enables or disables tracking the bytes allocated in each phase.
+     * @param track true to track allocations
+     */
+    public void setAllocationTracking(boolean track) { this.trackAllocations = track; }
+
+    /**
+     * Returns the total bytes allocated by the tick thread in the given phase while tracking was enabled.
+     * @param phase the phase
+     * @return the allocated bytes
+     */
+    public long getAllocatedBytes(TickPhase phase) { return phaseAllocatedBytes[phase.ordinal()]; }
+
+    /**
+     * Returns the histogram of the given phase.
+     * @param phase the phase
+     * @return the phase's latency histogram, in nanoseconds, or null if histograms are not recorded
+     */
+    public LatencyHistogram getHistogram(TickPhase phase) {
+        return phaseHistograms == null ? null : phaseHistograms[phase.ordinal()];
+    }
+
+    /**
+     * Returns the histogram of the per-tick compute time (all phases except input).
+     * @return the compute latency histogram, in nanoseconds, or null if histograms are not recorded
+     */
+    public LatencyHistogram getComputeHistogram() { return computeHistogram; }
+
+    /**
+     * Returns the number of measured ticks.
+     * @return the tick count
+     */
+    public long getTicks() { return ticks; }
+
+    /**
+     * Returns the number of ticks that exceeded the compute budget.
+     * @return the slow tick count
+     */
+    public long getSlowTicks() { return slowTicks; }
+
+    /**
+     * Returns a table of the p50, p90, p99 and max latency of every phase and of the tick compute time.
+     * @return the formatted latency summary
+     */
+    public String summary() {
+        if (computeHistogram == null)
+            return String.format("Tick latency over %d ticks (%d slow) was not recorded.", ticks, slowTicks);
+        StringBuilder sb = new StringBuilder(String.format("Tick latency over %d ticks (%d slow), in ms:%n", ticks, slowTicks));
+        for (TickPhase phase : PHASES) {
+            appendRow(sb, phase.getLabel(), phaseHistograms[phase.ordinal()]);
+        }
+        appendRow(sb, "compute", computeHistogram);
+        return sb.deleteCharAt(sb.length() - 1).toString();
+    }
+
+    /**
+     * Adds the time, and the allocated bytes if tracked, since the active phase started to that phase.
+     * @param now the current time in nanoseconds
+     */
+    private void closeActivePhase(long now) {
+        if (activePhase == null)
+            return;
+        tickPhaseNanos[activePhase.ordinal()] += now - phaseStart;
+        if (trackAllocations)
+            phaseAllocatedBytes[activePhase.ordinal()] += THREADS.getCurrentThreadAllocatedBytes() - phaseStartBytes;
+    }
+
+    /**
+     * Appends a summary row for one histogram.
+     * @param sb the builder to append to
+     * @param label the row label
+     * @param histogram the histogram to summarize
+     */
+    private static void appendRow(StringBuilder sb, String label, LatencyHistogram histogram) {
+        sb.append(String.format("%-14s p50: %9.3f  p90: %9.3f  p99: %9.3f  max: %9.3f%n", label,
+                histogram.getValueAtPercentile(50) / NANOS_PER_MS,
+                histogram.getValueAtPercentile(90) / NANOS_PER_MS,
+                histogram.getValueAtPercentile(99) / NANOS_PER_MS,
+                histogram.getMax() / NANOS_PER_MS));
+    }
+}
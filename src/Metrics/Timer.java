@@ -0,0 +1,37 @@
+package Metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accumulates durations, exposed as a Prometheus summary with a sum in seconds and a count.
+ */
+public class Timer extends Metric {
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder count = new LongAdder();
+
+    public Timer(String name, String help) {
+        super(name, help);
+    }
+
+    /**
+     * Records one duration.
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(long nanos) {
+        totalNanos.add(nanos);
+        count.increment();
+    }
+
+    public long getCount() { return count.sum(); }
+
+    public long getTotalNanos() { return totalNanos.sum(); }
+
+    @Override
+    protected String type() { return "summary"; }
+
+    @Override
+    protected void writeSamples(StringBuilder sb) {
+        sb.append(name).append("_sum ").append(getTotalNanos() / 1e9).append('\n');
+        sb.append(name).append("_count ").append(getCount()).append('\n');
+    }
+}
@@ -0,0 +1,407 @@
+package Persistence;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only write-ahead journal of the player's actions, for recovering a game after a crash.
+ * <p>
+ * The journal is a sequence of segment files. Each segment starts with a full snapshot of the game
+ * (which holds the level and the random generator's state), followed by the actions read since, and
+ * a marker for every level loaded. Recovery restores the newest complete segment's snapshot and
+ * replays its actions.
+ * <p>
+ * Appending only copies a few bytes into memory, and starting a segment only queues its snapshot. A
+ * background thread does all the file work: it writes the pending bytes out and forces them to disk with
+ * group commit, once {@code groupSize} actions are pending or every {@code groupMillis} milliseconds,
+ * whichever comes first. It also opens the queued segments, and deletes the older ones once a new
+ * segment's snapshot is on disk.
+ */
+public class ActionJournal implements AutoCloseable {
+    public static final int MAGIC = 0x444E444A; // "DNDJ"
+    public static final short VERSION = 1;
+
+    private static final byte ACTION = 1;
+    private static final byte LEVEL = 2;
+    private static final String PREFIX = "journal-";
+    private static final String SUFFIX = ".log";
+    private static final int BUFFER_SIZE = 4096;
+
+    private final Path dir;
+    private final int groupSize;
+    private final long groupMillis;
+    private final int segmentTicks;
+    private final Thread syncer;
+
+    // Guarded by this.
+    private ByteBuffer pending = ByteBuffer.allocate(BUFFER_SIZE);
+    private ByteBuffer spare = ByteBuffer.allocate(BUFFER_SIZE);
+    private final ArrayDeque<Roll> rolls = new ArrayDeque<>();
+    private int unsynced;
+    private boolean closed;
+
+    // Only used by the syncer thread.
+    private FileChannel segment;
+    private Path segmentFile;
+
+    /**
+     * Creates a journal writing segments into the given directory.
+     * @param dir the journal directory, created if missing
+     * @param groupSize the number of pending actions that triggers a sync
+     * @param groupMillis the longest time an action may stay unsynced, in milliseconds
+     * @param segmentTicks the number of ticks between segments
+     * @throws IOException if the directory cannot be created
+     */
+    public ActionJournal(Path dir, int groupSize, long groupMillis, int segmentTicks) throws IOException {
+        this.dir = Files.createDirectories(dir);
+        this.groupSize = groupSize;
+        this.groupMillis = groupMillis;
+        this.segmentTicks = segmentTicks;
+        this.syncer = new Thread(this::syncLoop, "journal-sync");
+        syncer.setDaemon(true);
+        syncer.start();
+    }
+
+    /**
+     * Returns the number of ticks between segments.
+     * @return the segment length in ticks
+     */
+    public int getSegmentTicks() { return segmentTicks; }
+
+    /**
+     * Starts a new segment from a snapshot of the game. The segment is written by the background thread,
+     * and older segments are deleted once it is on disk.
+     * @param tick the tick the snapshot was taken at
+     * @param snapshot the raw snapshot bytes
+     */
+    public synchronized void checkpoint(long tick, byte[] snapshot) {
+        // The bytes appended so far end the current segment; the new segment starts with an empty buffer.
+        rolls.add(new Roll(tick, snapshot, pending));
+        pending = ByteBuffer.allocate(BUFFER_SIZE);
+        notifyAll();
+    }
+
+    /**
+     * Records a player action.
+     * @param tick the tick the action was read in
+     * @param action the action character
+     */
+    public synchronized void append(long tick, char action) {
+        ensureCapacity(11);
+        pending.put(ACTION).putLong(tick).putChar(action);
+        if (++unsynced >= groupSize)
+            notifyAll();
+    }
+
+    /**
+     * Records that a level was loaded, so recovery can tell whether replaying diverged.
+     * @param tick the tick the level was loaded in
+     * @param level the 0-based level index
+     * @param randomState the random generator's state after loading
+     */
+    public synchronized void levelLoaded(long tick, int level, long randomState) {
+        ensureCapacity(21);
+        pending.put(LEVEL).putLong(tick).putInt(level).putLong(randomState);
+        unsynced++;
+    }
+
+    /**
+     * Syncs everything appended so far and stops the background thread.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+        try {
+            syncer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Closes the journal and deletes all its segments, after the game ended normally.
+     * @throws IOException if a segment cannot be deleted
+     */
+    public void discard() throws IOException {
+        close();
+        for (Path file : segments(dir)) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Reads the newest complete segment in a journal directory.
+     * A segment whose snapshot is incomplete is skipped; an incomplete record at the end of a segment,
+     * left by a crash mid-write, ends its actions.
+     * @param dir the journal directory
+     * @return the recovered snapshot and actions, or null if there is nothing to recover
+     * @throws IOException if the directory cannot be read
+     */
+    public static Recovery recover(Path dir) throws IOException {
+        if (!Files.isDirectory(dir))
+            return null;
+        List<Path> files = segments(dir);
+        files.sort(null);
+        for (int i = files.size() - 1; i >= 0; i--) {
+            Recovery recovery = readSegment(files.get(i));
+            if (recovery != null)
+                return recovery;
+        }
+        return null;
+    }
+
+    /**
+     * Waits for a group of actions, a new segment or the group timeout, then syncs. Once the journal is
+     * closed, syncs what is left and closes the current segment.
+     */
+    private void syncLoop() {
+        List<Roll> started = new ArrayList<>();
+        while (true) {
+            ByteBuffer data;
+            synchronized (this) {
+                try {
+                    if (!closed && rolls.isEmpty() && unsynced < groupSize)
+                        wait(groupMillis);
+                } catch (InterruptedException e) {
+                    break;
+                }
+                if (unsynced == 0 && rolls.isEmpty()) {
+                    if (closed)
+                        break;
+                    continue;
+                }
+                started.addAll(rolls);
+                rolls.clear();
+                data = pending;
+                pending = spare;
+                spare = data;
+                unsynced = 0;
+            }
+            for (Roll roll : started) {
+                startSegment(roll);
+            }
+            started.clear();
+            write(data);
+        }
+        closeSegment();
+    }
+
+    /**
+     * Ends the current segment with the bytes appended before a checkpoint, then starts the checkpoint's
+     * segment. Once its snapshot is on disk, the older segments are deleted.
+     * @param roll the checkpoint
+     */
+    private void startSegment(Roll roll) {
+        write(roll.tail);
+        closeSegment();
+        // Named by tick, then wall-clock time: a recovered game restarts at its segment's tick.
+        Path file = dir.resolve(String.format("%s%020d-%013d%s", PREFIX, roll.tick, System.currentTimeMillis(), SUFFIX));
+        ByteBuffer header = ByteBuffer.allocate(10 + roll.snapshot.length);
+        header.putInt(MAGIC).putShort(VERSION).putInt(roll.snapshot.length).put(roll.snapshot);
+        try {
+            segment = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            segmentFile = file;
+            writeFully(segment, header.flip());
+            segment.force(false);
+        } catch (IOException e) {
+            System.err.println("Journal checkpoint in " + dir + " failed: " + e.getMessage());
+            closeSegment();
+            return;
+        }
+        try {
+            for (Path old : segments(dir)) {
+                if (!old.equals(file))
+                    Files.deleteIfExists(old);
+            }
+        } catch (IOException e) {
+            System.err.println("Journal compaction in " + dir + " failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes bytes out to the current segment and forces them to disk, then clears the buffer.
+     * Without a segment, the bytes are dropped.
+     * @param data the bytes to write
+     */
+    private void write(ByteBuffer data) {
+        try {
+            if (segment != null && data.position() > 0) {
+                writeFully(segment, data.flip());
+                segment.force(false);
+            }
+        } catch (IOException e) {
+            System.err.println("Journal sync in " + dir + " failed: " + e.getMessage());
+        } finally {
+            data.clear();
+        }
+    }
+
+    private void closeSegment() {
+        if (segment == null)
+            return;
+        try {
+            segment.close();
+        } catch (IOException e) {
+            System.err.println("Closing the journal segment " + segmentFile + " failed: " + e.getMessage());
+        }
+        segment = null;
+        segmentFile = null;
+    }
+
+    /**
+     * Grows the pending buffer so it can hold the given number of additional bytes.
+     * @param bytes the number of bytes about to be written
+     */
+    private void ensureCapacity(int bytes) {
+        if (pending.remaining() >= bytes)
+            return;
+        ByteBuffer larger = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + bytes));
+        pending = larger.put(pending.flip());
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer data) throws IOException {
+        while (data.hasRemaining()) {
+            channel.write(data);
+        }
+    }
+
+    /**
+     * Lists the segment files in a journal directory.
+     * @param dir the journal directory
+     * @return the segment files, in no particular order
+     * @throws IOException if the directory cannot be read
+     */
+    private static List<Path> segments(Path dir) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, PREFIX + "*" + SUFFIX)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Reads one segment.
+     * @param file the segment file
+     * @return the segment's snapshot and actions, or null if its snapshot is incomplete
+     * @throws IOException if the file cannot be read
+     */
+    private static Recovery readSegment(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            byte[] snapshot;
+            try {
+                if (in.readInt() != MAGIC || in.readShort() != VERSION)
+                    return null;
+                snapshot = new byte[in.readInt()];
+                in.readFully(snapshot);
+            } catch (EOFException e) {
+                return null;
+            }
+
+            StringBuilder actions = new StringBuilder();
+            long lastTick = -1;
+            int level = -1;
+            try {
+                while (true) {
+                    byte type = in.readByte();
+                    if (type == ACTION) {
+                        long tick = in.readLong();
+                        char action = in.readChar();
+                        lastTick = tick;
+                        actions.append(action);
+                    } else if (type == LEVEL) {
+                        long tick = in.readLong();
+                        int loaded = in.readInt();
+                        in.readLong();
+                        lastTick = tick;
+                        level = loaded;
+                    } else {
+                        break;
+                    }
+                }
+            } catch (EOFException e) {
+                // A record torn by the crash ends the segment.
+            }
+            return new Recovery(file, snapshot, actions.toString().toCharArray(), lastTick, level);
+        }
+    }
+
+    /**
+     * A segment to start: the bytes that end the previous segment, and the new segment's snapshot.
+     */
+    private static final class Roll {
+        private final long tick;
+        private final byte[] snapshot;
+        private final ByteBuffer tail;
+
+        private Roll(long tick, byte[] snapshot, ByteBuffer tail) {
+            this.tick = tick;
+            this.snapshot = snapshot;
+            this.tail = tail;
+        }
+    }
+
+    /**
+     * The state recovered from a journal: a snapshot and the actions read after it.
+     */
+    public static final class Recovery {
+        private final Path segment;
+        private final byte[] snapshot;
+        private final char[] actions;
+        private final long lastTick;
+        private final int level;
+
+        private Recovery(Path segment, byte[] snapshot, char[] actions, long lastTick, int level) {
+            this.segment = segment;
+            this.snapshot = snapshot;
+            this.actions = actions;
+            this.lastTick = lastTick;
+            this.level = level;
+        }
+
+        /**
+         * Returns the segment file the state was recovered from.
+         * @return the segment file
+         */
+        public Path getSegment() { return segment; }
+
+        /**
+         * Returns the snapshot the segment starts with.
+         * @return the raw snapshot bytes
+         */
+        public byte[] getSnapshot() { return snapshot; }
+
+        /**
+         * Returns the actions read after the snapshot, in order.
+         * @return the action characters
+         */
+        public char[] getActions() { return actions; }
+
+        /**
+         * Returns the tick of the last complete record.
+         * @return the last recorded tick, or -1 if the segment has no records
+         */
+        public long getLastTick() { return lastTick; }
+
+        /**
+         * Returns the last level recorded as loaded.
+         * @return the 0-based level index, or -1 if no level was loaded after the snapshot
+         */
+        public int getLevel() { return level; }
+    }
+}
@@ -0,0 +1,74 @@
+package Persistence;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Writes snapshots to disk on a background thread, so saving never stalls a game tick.
+ * The game thread only hands over an already-serialized copy of its state. If saves arrive faster than
+ * they can be written, only the newest pending snapshot is kept.
+ */
+public class AutoSaver implements AutoCloseable {
+    private final Path file;
+    private final AtomicReference<byte[]> pending = new AtomicReference<>();
+    private final ExecutorService writer;
+
+    /**
+     * Creates an autosaver writing to the given file.
+     * @param file the snapshot file
+     */
+    public AutoSaver(Path file) {
+        this.file = file;
+        this.writer = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "autosave");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues a snapshot for writing, replacing any snapshot still waiting to be written.
+     * @param snapshot the raw snapshot bytes, which must not be modified afterwards
+     */
+    public void submit(byte[] snapshot) {
+        if (pending.getAndSet(snapshot) == null)
+            writer.execute(this::writePending);
+    }
+
+    /**
+     * Returns the file snapshots are written to.
+     * @return the snapshot file
+     */
+    public Path getFile() { return file; }
+
+    /**
+     * Writes the pending snapshot, if any, and waits for the background thread to finish.
+     */
+    @Override
+    public void close() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes the newest pending snapshot.
+     */
+    private void writePending() {
+        byte[] snapshot = pending.getAndSet(null);
+        if (snapshot == null)
+            return;
+        try {
+            SnapshotFile.write(file, snapshot);
+        } catch (IOException e) {
+            System.err.println("Autosave to " + file + " failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package Persistence;
+
+import Metrics.EngineMetrics;
+import Tiles.LevelTopology;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Caches the precomputed topology of level files on disk, so it is computed once per level rather than on every load.
+ * <p>
+ * Each level has one cache file, named after the level file, holding {@link #MAGIC}, {@link #VERSION}, the SHA-256
+ * of the level's rows, the level's size and the topology written by {@link LevelTopology#writeTo}. A cache file is
+ * memory-mapped when loaded, and rebuilt whenever the level's content no longer matches its hash. Rows are hashed
+ * rather than raw bytes, so line endings do not matter. Cache files are replaced atomically, so workers sharing a
+ * levels directory never read a torn file.
+ */
+public final class LevelCache {
+    public static final int MAGIC = 0x444E444C; // "DNDL"
+    public static final short VERSION = 1;
+    /** The name of the cache directory, inside the levels directory. */
+    public static final String DIRECTORY = ".cache";
+    private static final String EXTENSION = ".topology";
+    private static final int HASH_BYTES = 32;
+    private static final int HEADER_BYTES = Integer.BYTES + Short.BYTES + HASH_BYTES + 2 * Integer.BYTES;
+
+    private final Path dir;
+
+    /**
+     * Creates a cache for the levels in a directory. The cache directory is created when first written to.
+     * @param levelsDir the directory containing the level files
+     */
+    public LevelCache(Path levelsDir) {
+        this.dir = levelsDir.resolve(DIRECTORY);
+    }
+
+    /**
+     * Returns a level's topology from its cache file, or computes it and rewrites the cache file if the file
+     * is missing, unreadable, or was built from different content. Failing to write the cache is only a warning.
+     * @param levelName the level file's name
+     * @param levelMap the level's rows
+     * @return the level's topology
+     */
+    public LevelTopology load(String levelName, List<String> levelMap) {
+        Path file = dir.resolve(levelName + EXTENSION);
+        byte[] hash = hash(levelMap);
+        try {
+            LevelTopology cached = read(file, hash);
+            if (cached != null) {
+                EngineMetrics.LEVEL_CACHE_HITS.increment();
+                return cached;
+            }
+        } catch (IOException e) {
+            System.err.println("Could not read the level cache " + file + ": " + e.getMessage());
+        }
+        EngineMetrics.LEVEL_CACHE_MISSES.increment();
+        LevelTopology topology = LevelTopology.compute(levelMap);
+        try {
+            write(file, hash, topology);
+        } catch (IOException e) {
+            System.err.println("Could not write the level cache " + file + ": " + e.getMessage());
+        }
+        return topology;
+    }
+
+    /**
+     * Maps a cache file and wraps its topology.
+     * @param file the cache file
+     * @param hash the hash of the level's current rows
+     * @return the topology, or null if there is no cache file or it does not match the level
+     * @throws IOException if reading fails
+     */
+    private static LevelTopology read(Path file, byte[] hash) throws IOException {
+        if (!Files.isRegularFile(file))
+            return null;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0)
+                    return null;
+            }
+            header.flip();
+            if (header.getInt() != MAGIC || header.getShort() != VERSION)
+                return null;
+            byte[] cachedHash = new byte[HASH_BYTES];
+            header.get(cachedHash);
+            if (!Arrays.equals(hash, cachedHash))
+                return null;
+            int width = header.getInt();
+            int height = header.getInt();
+            if (width <= 0 || height <= 0 || channel.size() - HEADER_BYTES != LevelTopology.byteSize(width, height))
+                return null;
+            // Only a matching file is mapped; the mapping outlives the channel.
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, channel.size() - HEADER_BYTES);
+            return LevelTopology.wrap(width, height, data);
+        }
+    }
+
+    /**
+     * Atomically replaces a cache file with a topology.
+     * @param file the cache file
+     * @param hash the hash of the level's rows
+     * @param topology the level's topology
+     * @throws IOException if writing fails
+     */
+    private static void write(Path file, byte[] hash, LevelTopology topology) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeShort(VERSION);
+                out.write(hash);
+                out.writeInt(topology.getWidth());
+                out.writeInt(topology.getHeight());
+                topology.writeTo(out);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Hashes a level's rows, each followed by a line break.
+     * @param levelMap the level's rows
+     * @return the SHA-256 of the rows
+     */
+    private static byte[] hash(List<String> levelMap) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+        for (String row : levelMap) {
+            digest.update(row.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        return digest.digest();
+    }
+}
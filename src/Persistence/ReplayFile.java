@@ -0,0 +1,214 @@
+package Persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Random access to a replay file written by {@link ReplayRecorder}.
+ * <p>
+ * Layout: a header ({@link #MAGIC}, {@link #VERSION}, keyframe interval), then a stream of records:
+ * keyframes (tick, snapshot) and actions (one character each). A closed replay ends with an index
+ * record listing every keyframe's tick and file offset, followed by the index offset and {@link #MAGIC}.
+ * If the index is missing, because the recording game crashed, it is rebuilt by scanning the records.
+ * <p>
+ * Seeking reads the index, then only the nearest keyframe and the actions after it.
+ */
+public class ReplayFile implements AutoCloseable {
+    public static final int MAGIC = 0x444E4452; // "DNDR"
+    public static final short VERSION = 1;
+
+    static final byte KEYFRAME = 1;
+    static final byte ACTION = 2;
+    static final byte INDEX = 3;
+
+    private static final int HEADER_BYTES = 10;
+    private static final int TRAILER_BYTES = 12;
+    private static final int KEYFRAME_HEADER_BYTES = 13;
+    private static final int ACTION_BYTES = 3;
+
+    private final FileChannel channel;
+    private final int keyframeTicks;
+    private long[] ticks;
+    private long[] offsets;
+    private int keyframes;
+    private long recordsEnd;
+
+    /**
+     * Opens a replay file and reads its keyframe index.
+     * @param file the replay file
+     * @throws IOException if the file is not a replay or cannot be read
+     */
+    public ReplayFile(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = read(0, HEADER_BYTES);
+            if (header.getInt() != MAGIC)
+                throw new IOException("Not a replay file");
+            short version = header.getShort();
+            if (version != VERSION)
+                throw new IOException("Unsupported replay version: " + version);
+            keyframeTicks = header.getInt();
+            if (!readIndex())
+                scanIndex();
+            if (keyframes == 0)
+                throw new IOException("The replay has no keyframes");
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of ticks between keyframes, which bounds how many ticks a seek re-simulates.
+     * @return the keyframe interval in ticks
+     */
+    public int getKeyframeTicks() { return keyframeTicks; }
+
+    /**
+     * Returns the number of keyframes.
+     * @return the keyframe count
+     */
+    public int getKeyframeCount() { return keyframes; }
+
+    /**
+     * Returns the tick of a keyframe.
+     * @param keyframe the keyframe index
+     * @return the tick the keyframe was taken at
+     */
+    public long getKeyframeTick(int keyframe) { return ticks[keyframe]; }
+
+    /**
+     * Finds the last keyframe taken at or before the given tick.
+     * @param tick the tick to seek to
+     * @return the keyframe index, or 0 if the tick is before the first keyframe
+     */
+    public int findKeyframe(long tick) {
+        int found = Arrays.binarySearch(ticks, 0, keyframes, tick);
+        if (found >= 0)
+            return found;
+        return Math.max(0, -found - 2);
+    }
+
+    /**
+     * Reads a keyframe's snapshot.
+     * @param keyframe the keyframe index
+     * @return the raw snapshot bytes
+     * @throws IOException if reading fails
+     */
+    public byte[] readSnapshot(int keyframe) throws IOException {
+        ByteBuffer header = read(offsets[keyframe], KEYFRAME_HEADER_BYTES);
+        header.position(9);
+        byte[] snapshot = new byte[header.getInt()];
+        read(offsets[keyframe] + KEYFRAME_HEADER_BYTES, snapshot.length).get(snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Reads the actions recorded between a keyframe and the next one.
+     * @param keyframe the keyframe index
+     * @return the action characters, in order
+     * @throws IOException if reading fails
+     */
+    public char[] readActions(int keyframe) throws IOException {
+        ByteBuffer header = read(offsets[keyframe], KEYFRAME_HEADER_BYTES);
+        long start = offsets[keyframe] + KEYFRAME_HEADER_BYTES + header.getInt(9);
+        long end = keyframe + 1 < keyframes ? offsets[keyframe + 1] : recordsEnd;
+        ByteBuffer records = read(start, (int) (end - start));
+        char[] actions = new char[records.remaining() / ACTION_BYTES];
+        int count = 0;
+        while (records.remaining() >= ACTION_BYTES && records.get() == ACTION) {
+            actions[count++] = records.getChar();
+        }
+        return count == actions.length ? actions : Arrays.copyOf(actions, count);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Reads the index written when the replay was closed.
+     * @return true if the replay has a valid index
+     * @throws IOException if reading fails
+     */
+    private boolean readIndex() throws IOException {
+        long size = channel.size();
+        if (size < HEADER_BYTES + TRAILER_BYTES)
+            return false;
+        ByteBuffer trailer = read(size - TRAILER_BYTES, TRAILER_BYTES);
+        long indexOffset = trailer.getLong();
+        if (trailer.getInt() != MAGIC || indexOffset < HEADER_BYTES || indexOffset + 5 > size - TRAILER_BYTES)
+            return false;
+        ByteBuffer index = read(indexOffset, (int) (size - TRAILER_BYTES - indexOffset));
+        if (index.get() != INDEX)
+            return false;
+        keyframes = index.getInt();
+        ticks = new long[keyframes];
+        offsets = new long[keyframes];
+        for (int i = 0; i < keyframes; i++) {
+            ticks[i] = index.getLong();
+            offsets[i] = index.getLong();
+        }
+        recordsEnd = indexOffset;
+        return true;
+    }
+
+    /**
+     * Rebuilds the index by scanning the records, stopping at the first incomplete one.
+     * @throws IOException if reading fails
+     */
+    private void scanIndex() throws IOException {
+        ticks = new long[16];
+        offsets = new long[16];
+        keyframes = 0;
+        long size = channel.size();
+        long position = HEADER_BYTES;
+        while (position < size) {
+            byte type = read(position, 1).get();
+            if (type == ACTION) {
+                if (position + ACTION_BYTES > size)
+                    break;
+                position += ACTION_BYTES;
+            } else if (type == KEYFRAME) {
+                if (position + KEYFRAME_HEADER_BYTES > size)
+                    break;
+                ByteBuffer header = read(position, KEYFRAME_HEADER_BYTES);
+                long next = position + KEYFRAME_HEADER_BYTES + header.getInt(9);
+                if (next > size)
+                    break;
+                if (keyframes == ticks.length) {
+                    ticks = Arrays.copyOf(ticks, keyframes * 2);
+                    offsets = Arrays.copyOf(offsets, keyframes * 2);
+                }
+                ticks[keyframes] = header.getLong(1);
+                offsets[keyframes] = position;
+                keyframes++;
+                position = next;
+            } else {
+                break;
+            }
+        }
+        recordsEnd = position;
+    }
+
+    /**
+     * Reads a range of the file.
+     * @param position the file offset
+     * @param length the number of bytes
+     * @return a buffer holding the bytes, ready for reading
+     * @throws IOException if the range cannot be read completely
+     */
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0)
+                throw new IOException("Unexpected end of the replay file");
+        }
+        return buffer.flip();
+    }
+}
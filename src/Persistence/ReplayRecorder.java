@@ -0,0 +1,117 @@
+package Persistence;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Records a game into a replay file: the player's input stream, with a full snapshot of the game
+ * (a keyframe) every {@code keyframeTicks} ticks. The first keyframe holds the random generator's seed state,
+ * so the inputs alone reproduce the game; later keyframes let a viewer seek without re-simulating from tick 0.
+ * When closed, an index of keyframe ticks and file offsets is appended. See {@link ReplayFile} for the layout.
+ */
+public class ReplayRecorder implements AutoCloseable {
+    private final Path file;
+    private final DataOutputStream out;
+    private final int keyframeTicks;
+    private long[] ticks = new long[16];
+    private long[] offsets = new long[16];
+    private int keyframes;
+    private boolean failed;
+
+    /**
+     * Creates a recorder writing to the given file.
+     * @param file the replay file, replaced if it exists
+     * @param keyframeTicks the number of ticks between keyframes
+     * @throws IOException if the file cannot be created
+     */
+    public ReplayRecorder(Path file, int keyframeTicks) throws IOException {
+        this.file = file;
+        this.keyframeTicks = keyframeTicks;
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+        out.writeInt(ReplayFile.MAGIC);
+        out.writeShort(ReplayFile.VERSION);
+        out.writeInt(keyframeTicks);
+    }
+
+    /**
+     * Returns the number of ticks between keyframes.
+     * @return the keyframe interval in ticks
+     */
+    public int getKeyframeTicks() { return keyframeTicks; }
+
+    /**
+     * Records a keyframe.
+     * @param tick the tick the snapshot was taken at
+     * @param snapshot the raw snapshot bytes
+     */
+    public void keyframe(long tick, byte[] snapshot) {
+        if (failed)
+            return;
+        if (keyframes == ticks.length) {
+            ticks = Arrays.copyOf(ticks, keyframes * 2);
+            offsets = Arrays.copyOf(offsets, keyframes * 2);
+        }
+        ticks[keyframes] = tick;
+        offsets[keyframes] = out.size();
+        keyframes++;
+        try {
+            out.writeByte(ReplayFile.KEYFRAME);
+            out.writeLong(tick);
+            out.writeInt(snapshot.length);
+            out.write(snapshot);
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Records a player action.
+     * @param action the action character
+     */
+    public void action(char action) {
+        if (failed)
+            return;
+        try {
+            out.writeByte(ReplayFile.ACTION);
+            out.writeChar(action);
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Writes the keyframe index and closes the file.
+     */
+    @Override
+    public void close() {
+        try {
+            if (!failed) {
+                long indexOffset = out.size();
+                out.writeByte(ReplayFile.INDEX);
+                out.writeInt(keyframes);
+                for (int i = 0; i < keyframes; i++) {
+                    out.writeLong(ticks[i]);
+                    out.writeLong(offsets[i]);
+                }
+                out.writeLong(indexOffset);
+                out.writeInt(ReplayFile.MAGIC);
+            }
+            out.close();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Reports a write failure and stops recording.
+     * @param e the failure
+     */
+    private void fail(IOException e) {
+        failed = true;
+        System.err.println("Recording the replay to " + file + " failed: " + e.getMessage());
+    }
+}
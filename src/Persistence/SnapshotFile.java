@@ -0,0 +1,83 @@
+package Persistence;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Reads and writes game snapshots.
+ * A snapshot is a flat binary record written with {@link DataOutput}, starting with {@link #MAGIC} and {@link #VERSION}.
+ * On disk it is deflate-compressed and replaced atomically, so a crash mid-write never leaves a torn file.
+ */
+public final class SnapshotFile {
+    public static final int MAGIC = 0x444E4453; // "DNDS"
+    public static final short VERSION = 2; // 2: traps no longer write their visibility
+
+    private SnapshotFile() {}
+
+    /**
+     * Writes the snapshot header.
+     * @param out the output to write to
+     * @throws IOException if writing fails
+     */
+    public static void writeHeader(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+    }
+
+    /**
+     * Reads and validates the snapshot header.
+     * @param in the input to read from
+     * @throws IOException if the data is not a snapshot of a supported version
+     */
+    public static void readHeader(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC)
+            throw new IOException("Not a game snapshot");
+        short version = in.readShort();
+        if (version != VERSION)
+            throw new IOException("Unsupported snapshot version: " + version);
+    }
+
+    /**
+     * Compresses a snapshot and atomically replaces the file with it.
+     * @param file the file to write
+     * @param snapshot the raw snapshot bytes
+     * @throws IOException if writing fails
+     */
+    public static void write(Path file, byte[] snapshot) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try {
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try (OutputStream out = new DeflaterOutputStream(Files.newOutputStream(temp), deflater)) {
+                out.write(snapshot);
+            } finally {
+                deflater.end();
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Reads and decompresses a snapshot file.
+     * @param file the file to read
+     * @return the raw snapshot bytes
+     * @throws IOException if reading fails
+     */
+    public static byte[] read(Path file) throws IOException {
+        try (InputStream in = new InflaterInputStream(Files.newInputStream(file))) {
+            return in.readAllBytes();
+        }
+    }
+}
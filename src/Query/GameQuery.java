@@ -0,0 +1,45 @@
+package Query;
+
+import java.util.List;
+
+/**
+ * Read-only queries on a running game, safe to call from any thread while the game thread plays.
+ * Every query returns a consistent view: the game as it was between two of its updates, never halfway
+ * through one. Queries never block the game thread; a query that overlaps an update is retried instead.
+ */
+public interface GameQuery {
+    /**
+     * Returns the number of ticks played when the view was taken.
+     * @return the tick
+     */
+    long getTick();
+
+    /**
+     * Returns the character displayed at a cell of the current level.
+     * @param x the column
+     * @param y the row
+     * @return the displayed character
+     * @throws IllegalStateException if no level is loaded
+     * @throws IndexOutOfBoundsException if the cell is outside the board
+     */
+    char tileAt(int x, int y);
+
+    /**
+     * Returns the visible units inside a region of the current level, the player first, then the enemies
+     * in turn order. Hidden traps are left out, as the player cannot see them either.
+     * @param left the region's first column
+     * @param top the region's first row
+     * @param width the region's width
+     * @param height the region's height
+     * @return copies of the units' state
+     * @throws IllegalStateException if no level is loaded
+     */
+    List<UnitView> unitsIn(int left, int top, int width, int height);
+
+    /**
+     * Returns the player's stats.
+     * @return a copy of the player's state
+     * @throws IllegalStateException if no player is selected
+     */
+    UnitView getPlayer();
+}
@@ -0,0 +1,71 @@
+package Query;
+
+import Tiles.Units.Players.Player;
+import Tiles.Units.Unit;
+
+/**
+ * An immutable copy of a unit's state, taken for an observer outside the game thread.
+ */
+public class UnitView {
+    private final String name;
+    private final char symbol;
+    private final int x;
+    private final int y;
+    private final int health;
+    private final int maxHealth;
+    private final int attack;
+    private final int defense;
+    private final int level;
+    private final int experience;
+
+    /**
+     * Copies the given unit's state.
+     * @param unit the unit to copy
+     */
+    public UnitView(Unit unit) {
+        this.name = unit.getName();
+        this.symbol = unit.getCharacter();
+        this.x = unit.getX();
+        this.y = unit.getY();
+        this.health = unit.getHealth().getAmount();
+        this.maxHealth = unit.getHealth().getCapacity();
+        this.attack = unit.getAttackPoints();
+        this.defense = unit.getDefensePoints();
+        this.level = unit instanceof Player player ? player.getLevel() : 0;
+        this.experience = unit instanceof Player player ? player.getExperience() : 0;
+    }
+
+    public String getName() { return name; }
+
+    public char getSymbol() { return symbol; }
+
+    public int getX() { return x; }
+
+    public int getY() { return y; }
+
+    public int getHealth() { return health; }
+
+    public int getMaxHealth() { return maxHealth; }
+
+    public int getAttack() { return attack; }
+
+    public int getDefense() { return defense; }
+
+    /**
+     * Returns the player's level.
+     * @return the level, or 0 for enemies
+     */
+    public int getLevel() { return level; }
+
+    /**
+     * Returns the player's experience towards the next level.
+     * @return the experience, or 0 for enemies
+     */
+    public int getExperience() { return experience; }
+
+    @Override
+    public String toString() {
+        return String.format("%s '%c' at (%d,%d) Health: %d/%d Attack: %d Defense: %d",
+                name, symbol, x, y, health, maxHealth, attack, defense);
+    }
+}
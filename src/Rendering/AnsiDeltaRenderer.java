@@ -0,0 +1,109 @@
+package Rendering;
+
+import Callbacks.MessageCallback;
+
+import java.util.Arrays;
+
+/**
+ * Draws frames on an ANSI terminal by sending only what changed since the previous frame.
+ * <p>
+ * The board occupies the top rows of the screen, the stats line the row below it, and the messages of the
+ * current tick follow underneath. Each frame moves the cursor to the cells that changed and rewrites only those,
+ * clears and rewrites the stats line in place if it changed, and clears the message area for the next tick's messages.
+ * A frame is drawn in full when the board's size changes and every {@value #FULL_REDRAW_INTERVAL} frames,
+ * which also repairs the screen if a burst of messages scrolled the board.
+ */
+public class AnsiDeltaRenderer implements FrameRenderer {
+    private static final String CSI = "\u001B[";
+    private static final int FULL_REDRAW_INTERVAL = 64;
+    // Unchanged cells are rewritten instead of moving the cursor over gaps up to this size,
+    // since a cursor move takes about as many bytes.
+    private static final int MAX_REWRITTEN_GAP = 4;
+
+    private final MessageCallback out;
+    private final StringBuilder frame = new StringBuilder(256);
+    private char[] previous = new char[0];
+    private int width = -1;
+    private int height = -1;
+    private String previousStats;
+    private int framesSinceFullRedraw;
+
+    /**
+     * Creates a renderer writing to the given output.
+     * @param out the callback receiving the escape sequences of each frame
+     */
+    public AnsiDeltaRenderer(MessageCallback out) {
+        this.out = out;
+    }
+
+    /**
+     * Makes the next frame draw the whole screen, for a viewer that has not seen the frames before it.
+     */
+    public void invalidate() {
+        width = -1;
+    }
+
+    @Override
+    public void render(CharGrid grid, String stats) {
+        frame.setLength(0);
+        boolean full = grid.getWidth() != width || grid.getHeight() != height
+                || ++framesSinceFullRedraw >= FULL_REDRAW_INTERVAL;
+        if (full) {
+            width = grid.getWidth();
+            height = grid.getHeight();
+            if (previous.length != width * height)
+                previous = new char[width * height];
+            Arrays.fill(previous, '\0');
+            previousStats = null;
+            framesSinceFullRedraw = 0;
+            frame.append(CSI).append("2J");
+        }
+
+        for (int y = 0; y < height; y++) {
+            appendChangedCells(grid, y);
+        }
+        if (!stats.equals(previousStats)) {
+            // The stats are separated by tabs, which move the cursor without overwriting: clear the line first.
+            moveTo(0, height);
+            frame.append(CSI).append("2K").append(stats);
+            previousStats = stats;
+        }
+        moveTo(0, height + 1);
+        frame.append(CSI).append('J');
+        out.call(frame.toString());
+    }
+
+    /**
+     * Appends the changed cells of one row, as runs of characters each preceded by a cursor move.
+     * @param grid the board being drawn
+     * @param y the row
+     */
+    private void appendChangedCells(CharGrid grid, int y) {
+        int row = y * width;
+        int cursor = -1;
+        for (int x = 0; x < width; x++) {
+            char c = grid.getChar(x, y);
+            if (previous[row + x] == c)
+                continue;
+            if (cursor >= 0 && x > cursor && x - cursor <= MAX_REWRITTEN_GAP) {
+                for (int gap = cursor; gap < x; gap++) {
+                    frame.append(previous[row + gap]);
+                }
+            } else if (cursor != x) {
+                moveTo(x, y);
+            }
+            frame.append(c);
+            previous[row + x] = c;
+            cursor = x + 1;
+        }
+    }
+
+    /**
+     * Appends a cursor move to the given 0-based column and row.
+     * @param x the column
+     * @param y the row
+     */
+    private void moveTo(int x, int y) {
+        frame.append(CSI).append(y + 1).append(';').append(x + 1).append('H');
+    }
+}
@@ -0,0 +1,26 @@
+package Rendering;
+
+/**
+ * A rectangular grid of display characters, such as a game board, that renderers read cell by cell.
+ */
+public interface CharGrid {
+    /**
+     * Returns the number of columns.
+     * @return the grid width
+     */
+    int getWidth();
+
+    /**
+     * Returns the number of rows.
+     * @return the grid height
+     */
+    int getHeight();
+
+    /**
+     * Returns the character displayed at the given cell.
+     * @param x the column, from 0 to the width - 1
+     * @param y the row, from 0 to the height - 1
+     * @return the displayed character
+     */
+    char getChar(int x, int y);
+}
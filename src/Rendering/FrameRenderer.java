@@ -0,0 +1,13 @@
+package Rendering;
+
+/**
+ * Draws a frame of the game: the board followed by the player's stats line.
+ */
+public interface FrameRenderer {
+    /**
+     * Draws the given board and stats line.
+     * @param grid the board to draw
+     * @param stats the player's stats line
+     */
+    void render(CharGrid grid, String stats);
+}
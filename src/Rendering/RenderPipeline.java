@@ -0,0 +1,191 @@
+package Rendering;
+
+import Callbacks.MessageCallback;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formats and writes frames on a render thread, so the game thread can simulate the next tick meanwhile.
+ * <p>
+ * Each frame is copied into one of two frame buffers, an immutable view of the board and stats for as long as
+ * the render thread owns it. While the render thread formats one buffer, the game thread fills the other;
+ * it only waits when the render thread is still busy with both, which bounds how far output can lag behind.
+ * Messages are queued in order with the frames, so the output is exactly what rendering on the game thread
+ * would have written. Before the game reads input, {@link #flush()} waits for everything queued to be written.
+ */
+public class RenderPipeline implements FrameRenderer, AutoCloseable {
+    private static final int FRAME_BUFFERS = 2;
+    private static final long IDLE_SECONDS = 1;
+
+    private final FrameRenderer renderer;
+    private final MessageCallback out;
+    private final ThreadPoolExecutor thread;
+    private final BlockingQueue<FrameBuffer> free = new ArrayBlockingQueue<>(FRAME_BUFFERS);
+    private volatile RuntimeException failure;
+
+    /**
+     * Creates a pipeline in front of the given renderer. The render thread stops when idle and restarts when needed.
+     * @param renderer the renderer formatting frames, used only on the render thread from now on
+     * @param out the callback receiving messages, called on the render thread
+     */
+    public RenderPipeline(FrameRenderer renderer, MessageCallback out) {
+        this.renderer = renderer;
+        this.out = out;
+        this.thread = new ThreadPoolExecutor(1, 1, IDLE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread t = new Thread(r, "render");
+            t.setDaemon(true);
+            return t;
+        });
+        thread.allowCoreThreadTimeOut(true);
+        for (int i = 0; i < FRAME_BUFFERS; i++) {
+            free.add(new FrameBuffer());
+        }
+    }
+
+    /**
+     * Copies the frame into a free frame buffer and queues it for rendering,
+     * waiting if the render thread is still using both buffers.
+     * @param grid the board to draw
+     * @param stats the player's stats line
+     * @throws RuntimeException the first failure of the render thread
+     */
+    @Override
+    public void render(CharGrid grid, String stats) {
+        checkFailure();
+        FrameBuffer buffer = takeFreeBuffer();
+        buffer.copy(grid, stats);
+        thread.execute(() -> {
+            try {
+                write(() -> renderer.render(buffer, buffer.stats));
+            } finally {
+                free.add(buffer);
+            }
+        });
+    }
+
+    /**
+     * Queues a message to be written after everything queued before it.
+     * @param message the message to write
+     * @throws RuntimeException the first failure of the render thread
+     */
+    public void message(String message) {
+        checkFailure();
+        thread.execute(() -> write(() -> out.call(message)));
+    }
+
+    /**
+     * Waits until every queued frame and message has been written.
+     * @throws RuntimeException the first failure of the render thread, such as the output being disconnected
+     */
+    public void flush() {
+        try {
+            thread.submit(() -> {}).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Queued tasks never throw, failures are kept for the game thread instead.
+        }
+        checkFailure();
+    }
+
+    /**
+     * Writes everything queued and stops the render thread.
+     */
+    @Override
+    public void close() {
+        try {
+            flush();
+        } finally {
+            thread.shutdown();
+        }
+    }
+
+    /**
+     * Waits for the render thread to free a frame buffer. The wait ignores interrupts and passes them on to the
+     * caller afterwards: the render thread is always about to free a buffer, and dropping the frame instead
+     * would leave the output behind the game.
+     * @return the free frame buffer
+     */
+    private FrameBuffer takeFreeBuffer() {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return free.take();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted)
+                Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes output on the render thread, keeping its failure for the game thread.
+     * After a failure, the rest of the output is dropped.
+     * @param output the task writing output
+     */
+    private void write(Runnable output) {
+        if (failure != null)
+            return;
+        try {
+            output.run();
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+    }
+
+    /**
+     * Rethrows the render thread's failure on the game thread.
+     */
+    private void checkFailure() {
+        RuntimeException e = failure;
+        if (e != null)
+            throw e;
+    }
+
+    /**
+     * A copy of a frame, owned by either the game thread or the render thread.
+     */
+    private static class FrameBuffer implements CharGrid {
+        private char[] cells = new char[0];
+        private int width;
+        private int height;
+        private String stats;
+
+        /**
+         * Copies the given frame into the buffer.
+         * @param grid the board
+         * @param stats the stats line
+         */
+        private void copy(CharGrid grid, String stats) {
+            width = grid.getWidth();
+            height = grid.getHeight();
+            if (cells.length != width * height)
+                cells = new char[width * height];
+            for (int y = 0; y < height; y++) {
+                int row = y * width;
+                for (int x = 0; x < width; x++) {
+                    cells[row + x] = grid.getChar(x, y);
+                }
+            }
+            this.stats = stats;
+        }
+
+        @Override
+        public int getWidth() { return width; }
+
+        @Override
+        public int getHeight() { return height; }
+
+        @Override
+        public char getChar(int x, int y) { return cells[y * width + x]; }
+    }
+}
@@ -0,0 +1,32 @@
+package Rendering;
+
+import Callbacks.MessageCallback;
+
+/**
+ * Draws every frame in full as plain text: the whole board as one message, then the stats line as another.
+ */
+public class TextRenderer implements FrameRenderer {
+    private final MessageCallback out;
+    private final StringBuilder frame = new StringBuilder();
+
+    /**
+     * Creates a renderer writing to the given output.
+     * @param out the callback receiving the frames
+     */
+    public TextRenderer(MessageCallback out) {
+        this.out = out;
+    }
+
+    @Override
+    public void render(CharGrid grid, String stats) {
+        frame.setLength(0);
+        for (int y = 0; y < grid.getHeight(); y++) {
+            for (int x = 0; x < grid.getWidth(); x++) {
+                frame.append(grid.getChar(x, y));
+            }
+            frame.append('\n');
+        }
+        out.call(frame.toString());
+        out.call(stats);
+    }
+}
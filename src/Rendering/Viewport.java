@@ -0,0 +1,71 @@
+package Rendering;
+
+/**
+ * A window of a larger grid, centred on a point and clamped at the grid's edges.
+ * Renderers draw the viewport like any other grid; it reads the cells of the underlying grid directly,
+ * so drawing it costs the same however large the grid is.
+ */
+public class Viewport implements CharGrid {
+    private final int maxWidth;
+    private final int maxHeight;
+    private CharGrid grid;
+    private int left;
+    private int top;
+    private int width;
+    private int height;
+
+    /**
+     * Creates a viewport of the given size.
+     * @param maxWidth the number of columns shown, fewer if the grid is narrower
+     * @param maxHeight the number of rows shown, fewer if the grid is shorter
+     */
+    public Viewport(int maxWidth, int maxHeight) {
+        if (maxWidth <= 0 || maxHeight <= 0)
+            throw new IllegalArgumentException("Viewport size must be positive: " + maxWidth + "x" + maxHeight);
+        this.maxWidth = maxWidth;
+        this.maxHeight = maxHeight;
+    }
+
+    /**
+     * Moves the viewport over the given grid, as close to centred on the given cell as the grid's edges allow.
+     * @param grid the grid to show
+     * @param x the column to centre on
+     * @param y the row to centre on
+     * @return this viewport
+     */
+    public Viewport centerOn(CharGrid grid, int x, int y) {
+        this.grid = grid;
+        width = Math.min(maxWidth, grid.getWidth());
+        height = Math.min(maxHeight, grid.getHeight());
+        left = clamp(x - width / 2, grid.getWidth() - width);
+        top = clamp(y - height / 2, grid.getHeight() - height);
+        return this;
+    }
+
+    /**
+     * Returns the grid column shown in the viewport's first column.
+     * @return the left edge
+     */
+    public int getLeft() { return left; }
+
+    /**
+     * Returns the grid row shown in the viewport's first row.
+     * @return the top edge
+     */
+    public int getTop() { return top; }
+
+    @Override
+    public int getWidth() { return width; }
+
+    @Override
+    public int getHeight() { return height; }
+
+    @Override
+    public char getChar(int x, int y) {
+        return grid.getChar(left + x, top + y);
+    }
+
+    private static int clamp(int value, int max) {
+        return Math.max(0, Math.min(value, max));
+    }
+}
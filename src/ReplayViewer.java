@@ -0,0 +1,178 @@
+import Persistence.ReplayFile;
+
+import java.io.IOException;
+
+/**
+ * Plays back a recorded game in the CLI.
+ * The viewer drives a headless {@link GameManager} with the recorded actions. Seeking restores the nearest
+ * keyframe at or before the target tick and silently re-simulates the ticks after it, so no seek re-simulates
+ * more than one keyframe interval.
+ */
+public class ReplayViewer {
+    private static final String HELP = "Replay commands: [Enter] step, n <count> step count ticks, " +
+            "f <count> fast-forward, g <tick> go to tick, x exit.";
+
+    private final ReplayFile replay;
+    private final String mapsPath;
+    private final CLI cli;
+    private final GameManager game;
+    private int keyframe;
+    private char[] actions;
+    private int next;
+
+    /**
+     * Creates a viewer for the given replay.
+     * @param replay the replay to play back
+     * @param mapsPath the path to the directory containing the map files the game was recorded with
+     * @param cli the CLI used for commands and output
+     */
+    public ReplayViewer(ReplayFile replay, String mapsPath, CLI cli) {
+        this.replay = replay;
+        this.mapsPath = mapsPath;
+        this.cli = cli;
+        this.game = new GameManager(cli);
+    }
+
+    /**
+     * Shows the start of the replay and handles commands until the user exits.
+     * @throws IOException if the replay cannot be read
+     */
+    public void start() throws IOException {
+        seek(replay.getKeyframeTick(0));
+        print(HELP);
+        game.showRound();
+        while (true) {
+            game.flushOutput();
+            String[] command = cli.readLine().trim().split("\\s+");
+            try {
+                switch (command[0]) {
+                    case "":
+                        step(1);
+                        break;
+                    case "n":
+                        step(parseArgument(command, 1));
+                        break;
+                    case "f":
+                        fastForward(parseArgument(command, replay.getKeyframeTicks()));
+                        break;
+                    case "g":
+                        seek(parseArgument(command, 0));
+                        showPosition();
+                        break;
+                    case "x":
+                        return;
+                    default:
+                        print(HELP);
+                        break;
+                }
+            } catch (NumberFormatException e) {
+                print(HELP);
+            }
+        }
+    }
+
+    /**
+     * Moves to the given tick: restores the nearest keyframe at or before it and silently re-simulates the rest.
+     * @param tick the tick to move to
+     * @throws IOException if the replay cannot be read
+     */
+    public void seek(long tick) throws IOException {
+        keyframe = replay.findKeyframe(tick);
+        game.setSilent(true);
+        try {
+            game.restoreGame(mapsPath, replay.readSnapshot(keyframe));
+            actions = replay.readActions(keyframe);
+            next = 0;
+            advance(tick - game.getTick());
+        } finally {
+            game.setSilent(false);
+        }
+    }
+
+    /**
+     * Returns the game being played back.
+     * @return the viewer's game
+     */
+    public GameManager getGame() { return game; }
+
+    /**
+     * Plays the given number of ticks, showing each of them as the player saw it.
+     * @param count the number of ticks
+     * @throws IOException if the replay cannot be read
+     */
+    private void step(long count) throws IOException {
+        if (!advance(count))
+            print(String.format("End of replay at tick %d.", game.getTick()));
+    }
+
+    /**
+     * Silently plays the given number of ticks, then shows where the replay is.
+     * @param count the number of ticks
+     * @throws IOException if the replay cannot be read
+     */
+    private void fastForward(long count) throws IOException {
+        game.setSilent(true);
+        boolean more;
+        try {
+            more = advance(count);
+        } finally {
+            game.setSilent(false);
+        }
+        showPosition();
+        if (!more)
+            print(String.format("End of replay at tick %d.", game.getTick()));
+    }
+
+    /**
+     * Plays up to the given number of recorded ticks.
+     * @param count the number of ticks
+     * @return false if the replay ended first
+     * @throws IOException if the replay cannot be read
+     */
+    private boolean advance(long count) throws IOException {
+        for (long i = 0; i < count; i++) {
+            if (!hasNextTick())
+                return false;
+            next = game.playTick(actions, next);
+        }
+        return true;
+    }
+
+    /**
+     * Checks if another tick was recorded, moving on to the next keyframe's actions when the current ones run out.
+     * The game state already matches the next keyframe, so its snapshot is not needed. A replay cut off partway
+     * through a tick ends before that tick, rather than waiting for input the recording does not have.
+     * @return true if another tick can be played
+     * @throws IOException if the replay cannot be read
+     */
+    private boolean hasNextTick() throws IOException {
+        if (game.isOver())
+            return false;
+        while (!GameManager.recordsTick(actions, next)) {
+            if (keyframe + 1 >= replay.getKeyframeCount())
+                return false;
+            keyframe++;
+            actions = replay.readActions(keyframe);
+            next = 0;
+        }
+        return true;
+    }
+
+    private void showPosition() {
+        print(String.format("Tick %d:", game.getTick()));
+        game.showRound();
+    }
+
+    /**
+     * Prints a viewer message after the game's output, which may still be rendering.
+     * @param message the message to print
+     */
+    private void print(String message) {
+        game.flushOutput();
+        cli.print(message);
+    }
+
+    private static long parseArgument(String[] command, long defaultValue) {
+        return command.length > 1 ? Long.parseLong(command[1]) : defaultValue;
+    }
+}
@@ -0,0 +1,95 @@
+import Callbacks.MessageCallback;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A client connection of the game server, serving as its session's input reader and message callback.
+ * Messages are buffered and flushed whenever the game waits for input, so each tick's frame and messages
+ * leave in as few writes as possible. Buffers are kept small, since a server holds thousands of idle connections.
+ * When the client disconnects, reading or writing throws an {@link UncheckedIOException} that ends the session.
+ */
+public class SocketConnection implements InputReader, MessageCallback, AutoCloseable {
+    private static final int INPUT_BUFFER_SIZE = 256;
+    private static final int OUTPUT_BUFFER_SIZE = 2048;
+    private static final int MAX_LINE_LENGTH = 128;
+
+    private final Socket socket;
+    private final InputStream in;
+    private final OutputStream out;
+    private final byte[] line = new byte[MAX_LINE_LENGTH];
+
+    /**
+     * Wraps an accepted client socket.
+     * @param socket the client socket
+     * @throws IOException if the socket's streams cannot be opened
+     */
+    public SocketConnection(Socket socket) throws IOException {
+        this.socket = socket;
+        this.in = new BufferedInputStream(socket.getInputStream(), INPUT_BUFFER_SIZE);
+        this.out = new BufferedOutputStream(socket.getOutputStream(), OUTPUT_BUFFER_SIZE);
+    }
+
+    /**
+     * Sends all buffered messages, then blocks until the client sends a line.
+     * Characters beyond {@value #MAX_LINE_LENGTH} bytes are dropped.
+     * @return the line, without its line terminator
+     */
+    @Override
+    public String read() {
+        try {
+            out.flush();
+            int length = 0;
+            int b;
+            while ((b = in.read()) != '\n') {
+                if (b < 0)
+                    throw new EOFException("Client disconnected");
+                if (length < line.length)
+                    line[length++] = (byte) b;
+            }
+            if (length > 0 && line[length - 1] == '\r')
+                length--;
+            return new String(line, 0, length, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Buffers a message as one line for the client.
+     * @param message the message to send
+     */
+    @Override
+    public void call(String message) {
+        try {
+            out.write(message.getBytes(StandardCharsets.UTF_8));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Sends all buffered messages.
+     * @throws IOException if the client disconnected
+     */
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    /**
+     * Closes the connection, discarding any unsent messages.
+     * @throws IOException if closing the socket fails
+     */
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}
@@ -0,0 +1,136 @@
+package Tiles;
+
+import Metrics.EngineMetrics;
+import Tiles.Units.Enemies.Enemy;
+import Tiles.Units.Enemies.Monster;
+import Tiles.Units.Enemies.Trap;
+import Tiles.Units.Players.Hunter;
+import Tiles.Units.Players.Mage;
+import Tiles.Units.Players.Player;
+import Tiles.Units.Players.Rogue;
+import Tiles.Units.Players.Warrior;
+
+import java.util.Arrays;
+
+/**
+ * An immutable stat block for a kind of unit, from which any number of identical units are created.
+ */
+public final class Archetype {
+
+    /**
+     * The classes a unit can be created as, with the number of stats each takes after its name.
+     */
+    public enum Type {
+        MONSTER(5, false),
+        TRAP(6, false),
+        WARRIOR(4, true),
+        MAGE(8, true),
+        ROGUE(4, true),
+        HUNTER(4, true);
+
+        private final int stats;
+        private final boolean player;
+
+        Type(int stats, boolean player) {
+            this.stats = stats;
+            this.player = player;
+        }
+
+        public int getStatCount() { return stats; }
+
+        public boolean isPlayer() { return player; }
+    }
+
+    private final char symbol;
+    private final Type type;
+    private final String name;
+    private final int[] stats;
+
+    /**
+     * Creates an archetype.
+     * @param symbol the unit's level file symbol
+     * @param type the unit's class
+     * @param name the unit's name
+     * @param stats the stats passed to the class's constructor after the name, in order
+     * @throws IllegalArgumentException if the number of stats does not match the type
+     */
+    public Archetype(char symbol, Type type, String name, int... stats) {
+        if (stats.length != type.getStatCount())
+            throw new IllegalArgumentException(String.format("%s needs %d stats, not %d",
+                    name, type.getStatCount(), stats.length));
+        this.symbol = symbol;
+        this.type = type;
+        this.name = name;
+        this.stats = stats.clone();
+    }
+
+    public char getSymbol() { return symbol; }
+
+    public Type getType() { return type; }
+
+    public String getName() { return name; }
+
+    /**
+     * Creates a new enemy from this archetype.
+     * @return the enemy
+     * @throws IllegalStateException if this is a player archetype
+     */
+    public Enemy createEnemy() {
+        int[] s = stats;
+        return switch (type) {
+            case MONSTER -> new Monster(name, symbol, s[0], s[1], s[2], s[3], s[4]);
+            case TRAP -> new Trap(name, symbol, s[0], s[1], s[2], s[3], s[4], s[5]);
+            default -> throw new IllegalStateException(name + " is not an enemy");
+        };
+    }
+
+    /**
+     * Creates an enemy from this archetype, resetting a pooled enemy of the same class if there is one.
+     * @param pools the pools of dead enemies
+     * @return the enemy
+     * @throws IllegalStateException if this is a player archetype
+     */
+    public Enemy createEnemy(EnemyPools pools) {
+        int[] s = stats;
+        switch (type) {
+            case MONSTER -> {
+                Monster monster = pools.takeMonster();
+                if (monster == null)
+                    return createEnemy();
+                monster.reset(name, symbol, s[0], s[1], s[2], s[3], s[4]);
+                EngineMetrics.ENEMIES_RECYCLED.increment();
+                return monster;
+            }
+            case TRAP -> {
+                Trap trap = pools.takeTrap();
+                if (trap == null)
+                    return createEnemy();
+                trap.reset(name, symbol, s[0], s[1], s[2], s[3], s[4], s[5]);
+                EngineMetrics.ENEMIES_RECYCLED.increment();
+                return trap;
+            }
+            default -> throw new IllegalStateException(name + " is not an enemy");
+        }
+    }
+
+    /**
+     * Creates a new player from this archetype.
+     * @return the player
+     * @throws IllegalStateException if this is an enemy archetype
+     */
+    public Player createPlayer() {
+        int[] s = stats;
+        return switch (type) {
+            case WARRIOR -> new Warrior(name, s[0], s[1], s[2], s[3]);
+            case MAGE -> new Mage(name, s[0], s[1], s[2], s[3], s[4], s[5], s[6], s[7]);
+            case ROGUE -> new Rogue(name, s[0], s[1], s[2], s[3]);
+            case HUNTER -> new Hunter(name, s[0], s[1], s[2], s[3]);
+            default -> throw new IllegalStateException(name + " is not a player");
+        };
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%c %s %s %s", symbol, type, name, Arrays.toString(stats));
+    }
+}
@@ -0,0 +1,143 @@
+package Tiles;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The unit archetypes of the game, loaded once from an archetype file.
+ * <p>
+ * Enemy archetypes are kept in an array indexed by their level file symbol, so creating a level's units
+ * takes an array read per cell rather than a map lookup on a boxed character. Player archetypes are kept
+ * in the order they are offered. The file format is described in the bundled {@code archetypes.txt}.
+ */
+public final class ArchetypeTable {
+    /** The system property naming an archetype file to use instead of the bundled one. */
+    public static final String FILE_PROPERTY = "dnd.archetypes";
+    private static final String BUNDLED_FILE = "archetypes.txt";
+    // Symbols are ASCII characters, so the table covers every symbol a level file can use.
+    private static final int SYMBOLS = 128;
+    private static final char COMMENT = '#';
+    private static final String SEPARATOR = "\\|";
+
+    private final Archetype[] enemies = new Archetype[SYMBOLS];
+    private final List<Archetype> players = new ArrayList<>();
+
+    private ArchetypeTable() {}
+
+    /**
+     * Loads the archetype file named by the {@value #FILE_PROPERTY} system property, or the bundled one.
+     * @return the archetypes
+     * @throws UncheckedIOException if the file cannot be read
+     * @throws IllegalArgumentException if the file is malformed
+     */
+    public static ArchetypeTable load() {
+        String path = System.getProperty(FILE_PROPERTY);
+        try {
+            if (path != null) {
+                try (Reader reader = Files.newBufferedReader(Path.of(path), StandardCharsets.UTF_8)) {
+                    return parse(reader, path);
+                }
+            }
+            try (InputStream in = ArchetypeTable.class.getResourceAsStream(BUNDLED_FILE)) {
+                if (in == null)
+                    throw new IOException("Missing bundled " + BUNDLED_FILE);
+                return parse(new InputStreamReader(in, StandardCharsets.UTF_8), BUNDLED_FILE);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Parses archetypes from a reader.
+     * @param reader the archetype file's content
+     * @param source the file's name, for error messages
+     * @return the archetypes
+     * @throws IOException if reading fails
+     * @throws IllegalArgumentException if the content is malformed
+     */
+    public static ArchetypeTable parse(Reader reader, String source) throws IOException {
+        ArchetypeTable table = new ArchetypeTable();
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        for (int number = 1; (line = lines.readLine()) != null; number++) {
+            String trimmed = line.strip();
+            if (trimmed.isEmpty() || trimmed.charAt(0) == COMMENT)
+                continue;
+            try {
+                table.add(parseLine(trimmed));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(String.format("%s line %d: %s", source, number, e.getMessage()), e);
+            }
+        }
+        if (table.players.isEmpty())
+            throw new IllegalArgumentException(source + " has no player archetypes");
+        return table;
+    }
+
+    /**
+     * Returns the enemy archetype for a level file symbol.
+     * @param symbol the symbol
+     * @return the archetype, or null if no enemy uses the symbol
+     */
+    public Archetype enemy(char symbol) {
+        return symbol < SYMBOLS ? enemies[symbol] : null;
+    }
+
+    /**
+     * Returns the player archetypes in the order they are offered.
+     * @return the player archetypes
+     */
+    public List<Archetype> players() {
+        return List.copyOf(players);
+    }
+
+    private void add(Archetype archetype) {
+        char symbol = archetype.getSymbol();
+        if (archetype.getType().isPlayer()) {
+            if (symbol != TileFactory.PLAYER_CHAR)
+                throw new IllegalArgumentException("Players must use the symbol " + TileFactory.PLAYER_CHAR);
+            players.add(archetype);
+            return;
+        }
+        if (symbol >= SYMBOLS || symbol == TileFactory.PLAYER_CHAR || TileFactory.isTerrain(symbol))
+            throw new IllegalArgumentException("Invalid enemy symbol " + symbol);
+        if (enemies[symbol] != null)
+            throw new IllegalArgumentException("Symbol " + symbol + " is already used by " + enemies[symbol].getName());
+        enemies[symbol] = archetype;
+    }
+
+    private static Archetype parseLine(String line) {
+        String[] columns = line.split(SEPARATOR);
+        if (columns.length < 3)
+            throw new IllegalArgumentException("Expected a symbol, a type and a name");
+        String symbol = columns[0].strip();
+        if (symbol.length() != 1)
+            throw new IllegalArgumentException("Invalid symbol " + symbol);
+        Archetype.Type type;
+        try {
+            type = Archetype.Type.valueOf(columns[1].strip().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown type " + columns[1].strip());
+        }
+        int[] stats = new int[columns.length - 3];
+        for (int i = 0; i < stats.length; i++) {
+            try {
+                stats[i] = Integer.parseInt(columns[i + 3].strip());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid number " + columns[i + 3].strip());
+            }
+        }
+        return new Archetype(symbol.charAt(0), type, columns[2].strip(), stats);
+    }
+}
@@ -11,6 +11,7 @@ public class Empty extends Tile {
     public Empty() {
         super();
         this.character = '.';
+        this.kind = TileKind.EMPTY;
     }
 
     @Override
@@ -0,0 +1,67 @@
+package Tiles;
+
+import Tiles.Units.Enemies.Enemy;
+import Tiles.Units.Enemies.Monster;
+import Tiles.Units.Enemies.Trap;
+
+import java.util.ArrayDeque;
+
+/**
+ * Bounded pools of dead monsters and traps, which {@link TileFactory} resets and reuses for the enemies of
+ * later levels instead of allocating new ones. Pools belong to a single game thread.
+ */
+public final class EnemyPools {
+    private final int capacity;
+    private final ArrayDeque<Monster> monsters = new ArrayDeque<>();
+    private final ArrayDeque<Trap> traps = new ArrayDeque<>();
+
+    /**
+     * Creates empty pools.
+     * @param capacity the most enemies kept in each pool; further dead enemies are left to the garbage collector
+     */
+    public EnemyPools(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns a dead enemy to its pool, if the pool has room, and otherwise releases its row.
+     * The enemy must no longer be used by the game, as once it died and left the enemy list.
+     * @param enemy the dead enemy
+     * @return true if the enemy was pooled
+     */
+    public boolean recycle(Enemy enemy) {
+        boolean pooled = false;
+        if (enemy instanceof Monster monster)
+            pooled = offer(monsters, monster);
+        else if (enemy instanceof Trap trap)
+            pooled = offer(traps, trap);
+        if (!pooled)
+            enemy.release();
+        return pooled;
+    }
+
+    /**
+     * Takes a pooled monster to reset.
+     * @return the monster, or null if the pool is empty
+     */
+    public Monster takeMonster() { return monsters.pollLast(); }
+
+    /**
+     * Takes a pooled trap to reset.
+     * @return the trap, or null if the pool is empty
+     */
+    public Trap takeTrap() { return traps.pollLast(); }
+
+    /**
+     * Returns the number of pooled enemies.
+     * @return the number of monsters and traps in the pools
+     */
+    public int size() { return monsters.size() + traps.size(); }
+
+    private <T extends Enemy> boolean offer(ArrayDeque<T> pool, T enemy) {
+        if (pool.size() >= capacity)
+            return false;
+        pool.addLast(enemy);
+        return true;
+    }
+}
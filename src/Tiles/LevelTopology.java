@@ -0,0 +1,153 @@
+package Tiles;
+
+import Utils.UnionFind;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.List;
+
+/**
+ * The precomputed shape of a level's terrain: which connected component every cell belongs to,
+ * and which of its four neighbours can be walked on.
+ * <p>
+ * Both depend only on the level file's content, so they can be computed once and cached on disk.
+ * A cell's entries are at {@code y * width + x}. Topologies read from a cache wrap the cache's
+ * buffer rather than copying it, so a memory-mapped cache file is never read into the heap.
+ */
+public final class LevelTopology {
+    /** The label of a wall cell, which belongs to no component. */
+    public static final int WALL = -1;
+
+    private final int width;
+    private final int height;
+    private final IntBuffer labels;
+    private final ByteBuffer neighbours;
+
+    private LevelTopology(int width, int height, IntBuffer labels, ByteBuffer neighbours) {
+        this.width = width;
+        this.height = height;
+        this.labels = labels;
+        this.neighbours = neighbours;
+    }
+
+    /**
+     * Computes the topology of a level map. Every cell but a wall can be walked on, and walkable cells
+     * are connected to their walkable neighbours in the four step directions.
+     * @param levelMap the level's rows
+     * @return the topology
+     */
+    public static LevelTopology compute(List<String> levelMap) {
+        int width = levelMap.getFirst().length();
+        int height = levelMap.size();
+        UnionFind components = new UnionFind(width * height);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (!isWalkable(levelMap, x, y))
+                    continue;
+                if (x + 1 < width && isWalkable(levelMap, x + 1, y))
+                    components.union(y * width + x, y * width + x + 1);
+                if (y + 1 < height && isWalkable(levelMap, x, y + 1))
+                    components.union(y * width + x, (y + 1) * width + x);
+            }
+        }
+        IntBuffer labels = IntBuffer.allocate(width * height);
+        ByteBuffer neighbours = ByteBuffer.allocate(width * height);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int cell = y * width + x;
+                labels.put(cell, isWalkable(levelMap, x, y) ? components.find(cell) : WALL);
+                int mask = 0;
+                for (int step = 0; step < Passability.STEP_KEYS.length(); step++) {
+                    int nx = x + Passability.stepX(step);
+                    int ny = y + Passability.stepY(step);
+                    if (nx >= 0 && ny >= 0 && nx < width && ny < height && isWalkable(levelMap, nx, ny))
+                        mask |= 1 << step;
+                }
+                neighbours.put(cell, (byte) mask);
+            }
+        }
+        return new LevelTopology(width, height, labels, neighbours);
+    }
+
+    /**
+     * Wraps a topology previously written with {@link #writeTo(DataOutput)}, without copying it.
+     * @param width the level's width
+     * @param height the level's height
+     * @param data the written topology, positioned at its start
+     * @return the topology
+     * @throws IllegalArgumentException if the data is not the size of a topology of the given size
+     */
+    public static LevelTopology wrap(int width, int height, ByteBuffer data) {
+        int cells = width * height;
+        if (data.remaining() != byteSize(width, height))
+            throw new IllegalArgumentException(String.format("Expected %d bytes for a %dx%d topology, not %d",
+                    byteSize(width, height), width, height, data.remaining()));
+        int start = data.position();
+        IntBuffer labels = data.slice(start, cells * Integer.BYTES).asIntBuffer();
+        ByteBuffer neighbours = data.slice(start + cells * Integer.BYTES, cells);
+        return new LevelTopology(width, height, labels, neighbours);
+    }
+
+    /**
+     * Returns the number of bytes {@link #writeTo(DataOutput)} writes for a level of the given size.
+     * @param width the level's width
+     * @param height the level's height
+     * @return the size in bytes
+     */
+    public static long byteSize(int width, int height) {
+        return (long) width * height * (Integer.BYTES + 1);
+    }
+
+    /**
+     * Writes the component labels of every cell followed by their neighbour masks.
+     * @param out the output to write to
+     * @throws IOException if writing fails
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        int cells = width * height;
+        for (int cell = 0; cell < cells; cell++) {
+            out.writeInt(labels.get(cell));
+        }
+        for (int cell = 0; cell < cells; cell++) {
+            out.writeByte(neighbours.get(cell));
+        }
+    }
+
+    public int getWidth() { return width; }
+
+    public int getHeight() { return height; }
+
+    /**
+     * Returns the connected component of a cell. Cells share a label exactly when a unit could walk between them.
+     * @param x the cell's column
+     * @param y the cell's row
+     * @return the cell's component, or {@link #WALL} for a wall
+     */
+    public int label(int x, int y) {
+        return labels.get(y * width + x);
+    }
+
+    /**
+     * Returns the steps from a cell onto a walkable neighbour, one bit per step in the order of {@link Passability#STEP_KEYS}.
+     * @param x the cell's column
+     * @param y the cell's row
+     * @return the step mask
+     */
+    public int neighbours(int x, int y) {
+        return neighbours.get(y * width + x);
+    }
+
+    /**
+     * Copies every cell's neighbour mask into an array.
+     * @param masks the array to fill, at least one entry per cell
+     */
+    void copyNeighbours(byte[] masks) {
+        neighbours.get(0, masks, 0, width * height);
+    }
+
+    private static boolean isWalkable(List<String> levelMap, int x, int y) {
+        return levelMap.get(y).charAt(x) != TileFactory.WALL_CHAR;
+    }
+}
@@ -0,0 +1,169 @@
+package Tiles;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * Bitsets over a board's cells: which cells can be walked on, which hold a unit, and for each cell,
+ * which of its four neighbours can be walked on.
+ * <p>
+ * A cell's bit is {@code y * width + x}. Passability follows the terrain and is fixed for a level, so the
+ * neighbour masks are computed once, or taken from the level's cached {@link LevelTopology}, when the level
+ * loads; occupancy is kept up to date by the board as units move. Moves are then validated with a bit test
+ * instead of visiting the target tile.
+ * Neighbour masks use one bit per step, in the order of {@link #STEP_KEYS}.
+ * <p>
+ * Bits are set atomically, since cells sharing a word may belong to different shards of a sharded enemy turn.
+ */
+public final class Passability {
+    /** The keys of the four steps, in the order of their bits in a step mask. */
+    public static final String STEP_KEYS = "wasd";
+    /** A step mask allowing every step. */
+    public static final int ALL_STEPS = 0b1111;
+    private static final int[] STEP_X = {0, -1, 0, 1};
+    private static final int[] STEP_Y = {-1, 0, 1, 0};
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private int width;
+    private int height;
+    private long[] passable = new long[0];
+    private long[] occupied = new long[0];
+    private byte[] neighbours = new byte[0];
+
+    /**
+     * Clears every cell for a board of the given size, reusing the bitsets when they are large enough.
+     * @param width the number of columns
+     * @param height the number of rows
+     */
+    public void reset(int width, int height) {
+        this.width = width;
+        this.height = height;
+        int cells = width * height;
+        int words = (cells + 63) >>> 6;
+        if (passable.length < words) {
+            passable = new long[words];
+            occupied = new long[words];
+        } else {
+            Arrays.fill(passable, 0);
+            Arrays.fill(occupied, 0);
+        }
+        if (neighbours.length < cells)
+            neighbours = new byte[cells];
+    }
+
+    public int getWidth() { return width; }
+
+    public int getHeight() { return height; }
+
+    /**
+     * Marks whether a cell can be walked on.
+     * @param x the cell's column
+     * @param y the cell's row
+     * @param value true for any cell but a wall
+     */
+    public void setPassable(int x, int y, boolean value) {
+        set(passable, y * width + x, value);
+    }
+
+    /**
+     * Marks whether a cell holds a unit.
+     * @param x the cell's column
+     * @param y the cell's row
+     * @param value true if a player or an enemy is in the cell
+     */
+    public void setOccupied(int x, int y, boolean value) {
+        set(occupied, y * width + x, value);
+    }
+
+    /**
+     * Computes every cell's neighbour mask from the passable cells. Called once the level's terrain is set.
+     */
+    public void computeNeighbours() {
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int mask = 0;
+                for (int step = 0; step < STEP_X.length; step++) {
+                    int nx = x + STEP_X[step];
+                    int ny = y + STEP_Y[step];
+                    if (nx >= 0 && ny >= 0 && nx < width && ny < height && isPassable(nx, ny))
+                        mask |= 1 << step;
+                }
+                neighbours[y * width + x] = (byte) mask;
+            }
+        }
+    }
+
+    /**
+     * Takes every cell's neighbour mask from a level's precomputed topology, instead of computing them.
+     * @param topology the level's topology, the same size as the cells
+     */
+    public void setNeighbours(LevelTopology topology) {
+        topology.copyNeighbours(neighbours);
+    }
+
+    /**
+     * Checks whether a cell can be walked on.
+     * @param x the cell's column
+     * @param y the cell's row
+     * @return true for any cell but a wall
+     */
+    public boolean isPassable(int x, int y) {
+        return get(passable, y * width + x);
+    }
+
+    /**
+     * Checks whether a cell holds a unit.
+     * @param x the cell's column
+     * @param y the cell's row
+     * @return true if a player or an enemy is in the cell
+     */
+    public boolean isOccupied(int x, int y) {
+        return get(occupied, y * width + x);
+    }
+
+    /**
+     * Returns the steps from a cell onto a walkable neighbour not held by another enemy:
+     * neighbours that are free, or held by the player.
+     * @param x the cell's column
+     * @param y the cell's row
+     * @param playerX the player's column
+     * @param playerY the player's row
+     * @return the step mask
+     */
+    public int openSteps(int x, int y, int playerX, int playerY) {
+        int mask = neighbours[y * width + x];
+        for (int step = 0; step < STEP_X.length; step++) {
+            int nx = x + STEP_X[step];
+            int ny = y + STEP_Y[step];
+            if ((mask & 1 << step) != 0 && isOccupied(nx, ny) && (nx != playerX || ny != playerY))
+                mask &= ~(1 << step);
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the column offset of a step.
+     * @param step the step's bit index
+     * @return the step's x delta
+     */
+    public static int stepX(int step) { return STEP_X[step]; }
+
+    /**
+     * Returns the row offset of a step.
+     * @param step the step's bit index
+     * @return the step's y delta
+     */
+    public static int stepY(int step) { return STEP_Y[step]; }
+
+    private static void set(long[] bits, int cell, boolean value) {
+        if (value)
+            WORDS.getAndBitwiseOr(bits, cell >>> 6, 1L << cell);
+        else
+            WORDS.getAndBitwiseAnd(bits, cell >>> 6, ~(1L << cell));
+    }
+
+    private static boolean get(long[] bits, int cell) {
+        return (bits[cell >>> 6] & 1L << cell) != 0;
+    }
+}
@@ -6,6 +6,7 @@ import Utils.Position;
 public abstract class Tile {
     protected Position position;
     protected char character;
+    protected byte kind = TileKind.OTHER;
 
 
     /**
@@ -15,7 +16,19 @@ public abstract class Tile {
     public Tile() {}
 
     public abstract void accept(Unit unit);
+
+    /**
+     * Returns the tile's kind, one of the {@link TileKind} tags.
+     * @return the tile's kind
+     */
+    public final byte getKind() { return kind; }
     public char getCharacter() { return character; }
+
+    /**
+     * Returns the character representing this tile in level files, regardless of how it is currently displayed.
+     * @return the tile's level file symbol
+     */
+    public char getSymbol() { return character; }
     public Position getPosition() { return position; }
     public void setPosition(Position position) { this.position = position; }
 
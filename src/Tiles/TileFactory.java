@@ -2,48 +2,27 @@ package Tiles;
 
 import Callbacks.EnemyCreatedCallback;
 import Tiles.Units.Enemies.Enemy;
-import Tiles.Units.Enemies.Monster;
-import Tiles.Units.Enemies.Trap;
-import Tiles.Units.Players.Mage;
 import Tiles.Units.Players.Player;
-import Tiles.Units.Players.Rogue;
-import Tiles.Units.Players.Warrior;
-import Tiles.Units.Players.Hunter; // Import the new Hunter class
 import Utils.Position;
 
 import java.util.List;
-import java.util.Map;
-import java.util.function.Supplier;
 
 
 public class TileFactory {
-    private static Player selectedPlayer;
+    public static final char EMPTY_CHAR = '.';
+    public static final char WALL_CHAR = '#';
+    public static final char PLAYER_CHAR = '@';
 
-    private static final Map<Character, Supplier<Enemy>> enemyMap = Map.ofEntries(
-            Map.entry('s', () -> new Monster("Lannister Soldier", 's', 80, 8, 3, 3, 25)),
-            Map.entry('k', () -> new Monster("Lannister Knight", 'k', 200, 14, 8, 4, 50)),
-            Map.entry('q', () -> new Monster("Queen’s Guard", 'q', 400, 20, 15, 5, 100)),
-            Map.entry('z', () -> new Monster("Wright", 'z', 600, 30, 15, 3, 100)),
-            Map.entry('b', () -> new Monster("Bear-Wright", 'b', 1000, 75, 30, 4, 250)),
-            Map.entry('g', () -> new Monster("Giant-Wright", 'g', 1500, 100, 40, 5, 500)),
-            Map.entry('w', () -> new Monster("White Walker", 'w', 2000, 150, 50, 6, 1000)),
-            Map.entry('M', () -> new Monster("The Mountain", 'M', 1000, 60, 25, 6, 500)),
-            Map.entry('C', () -> new Monster("Queen Cersei", 'C', 100, 10, 10, 1, 1000)),
-            Map.entry('K', () -> new Monster("Night’s King", 'K', 5000, 300, 150, 8, 5000)),
-            Map.entry('B', () -> new Trap("Bonus Trap", 'B', 1, 1, 1, 250, 1, 5)),
-            Map.entry('Q', () -> new Trap("Queen’s Trap", 'Q', 250, 50, 10, 100, 3, 7)),
-            Map.entry('D', () -> new Trap("Death Trap", 'D', 500, 100, 20, 250, 1, 10))
-    );
+    // Per thread, since concurrent game sessions each select their own player.
+    private static final ThreadLocal<Player> selectedPlayer = new ThreadLocal<>();
 
-    private static final List<Supplier<Player>> playerSuppliers = List.of(
-            () -> new Warrior("Jon Snow", 300, 30, 4, 3),
-            () -> new Warrior("The Hound", 400, 20, 6, 5),
-            () -> new Mage("Melisandre", 100, 5, 1, 300, 30,15 ,5, 6),
-            () -> new Mage("Thoros of Myr", 250, 25, 4, 150, 20,20,3, 4),
-            () -> new Rogue("Arya Stark", 150, 40, 2,20),
-            () -> new Rogue("Bronn", 250, 35, 3,50),
-            () -> new Hunter("Ygritte", 220, 30, 2, 6)
-    );
+    // Loaded once; see archetypes.txt for the stats of every unit.
+    private static final ArchetypeTable archetypes = ArchetypeTable.load();
+    private static final List<Archetype> playerArchetypes = archetypes.players();
+    // Per thread like the selected player, so each game session reuses its own dead enemies.
+    private static final int ENEMY_POOL_CAPACITY = Integer.getInteger("dnd.pool.enemies", 256);
+    private static final ThreadLocal<EnemyPools> enemyPools =
+            ThreadLocal.withInitial(() -> new EnemyPools(ENEMY_POOL_CAPACITY));
 
     /**
      * Creates a tile based on the given character, position, and enemy creation callback.
@@ -56,29 +35,58 @@ public class TileFactory {
     public static Tile createTile(char tileChar, Position position, EnemyCreatedCallback eccb) {
         Tile tile;
         switch (tileChar) {
-            case '.':
+            case EMPTY_CHAR:
                 tile = new Empty();
                 break;
-            case '#':
+            case WALL_CHAR:
                 tile = new Wall();
                 break;
-            case '@':
-                tile = selectedPlayer;
+            case PLAYER_CHAR:
+                tile = selectedPlayer.get();
                 break;
             default:
-                if (enemyMap.containsKey(tileChar)) {
-                    Enemy e = enemyMap.get(tileChar).get();
-                    eccb.call(e);
-                    tile = e;
-                } else {
+                Archetype archetype = archetypes.enemy(tileChar);
+                if (archetype == null)
                     throw new IllegalArgumentException("Unknown tile character: " + tileChar);
-                }
+                Enemy e = archetype.createEnemy(enemyPools.get());
+                eccb.call(e);
+                tile = e;
 
         }
         tile.setPosition(position);
         return tile;
     }
 
+    /**
+     * Returns a dead enemy to the current thread's pools, to be reset and reused by a later level.
+     * @param enemy the dead enemy, no longer used by the game
+     */
+    public static void recycle(Enemy enemy) {
+        enemyPools.get().recycle(enemy);
+    }
+
+    /**
+     * Returns the kind of terrain a level file character stands for.
+     * @param tileChar the character
+     * @return {@link TileKind#EMPTY} or {@link TileKind#WALL}, or {@link TileKind#OTHER} for units
+     */
+    public static byte terrainKind(char tileChar) {
+        return switch (tileChar) {
+            case EMPTY_CHAR -> TileKind.EMPTY;
+            case WALL_CHAR -> TileKind.WALL;
+            default -> TileKind.OTHER;
+        };
+    }
+
+    /**
+     * Checks if the given level file character is terrain rather than a unit.
+     * @param tileChar the character to check
+     * @return true for empty tiles and walls, false otherwise
+     */
+    public static boolean isTerrain(char tileChar) {
+        return tileChar == EMPTY_CHAR || tileChar == WALL_CHAR;
+    }
+
     /**
      * Returns a string describing all available player types.
      * @return a formatted string with player descriptions
@@ -86,8 +94,8 @@ public class TileFactory {
     public static String PlayersDescription() {
         int i = 1;
         StringBuilder output = new StringBuilder();
-        for (Supplier<Player> playerSupplier : playerSuppliers) {
-            Player player = playerSupplier.get();
+        for (Archetype archetype : playerArchetypes) {
+            Player player = archetype.createPlayer();
             output.append(i).append(". ").append(player.description()).append('\n');
             i++;
         }
@@ -100,8 +108,9 @@ public class TileFactory {
      * @return the selected Player
      */
     public static Player GetPlayer(int choice) {
-        selectedPlayer = playerSuppliers.get(choice - 1).get();
-        return selectedPlayer;
+        Player player = playerArchetypes.get(choice - 1).createPlayer();
+        selectedPlayer.set(player);
+        return player;
     }
 
     /**
@@ -109,6 +118,6 @@ public class TileFactory {
      * @return the player count
      */
     public static int getPlayerCount() {
-        return playerSuppliers.size();
+        return playerArchetypes.size();
     }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package Tiles;
+
+/**
+ * Small integer tags for the kinds of tiles, so interactions can be resolved with a switch on the tag
+ * instead of a chain of virtual calls.
+ */
+public final class TileKind {
+    /** A tile with no tag of its own, resolved through {@link Tile#accept(Tiles.Units.Unit)}. */
+    public static final byte OTHER = -1;
+    public static final byte EMPTY = 0;
+    public static final byte WALL = 1;
+    public static final byte PLAYER = 2;
+    public static final byte MONSTER = 3;
+    public static final byte TRAP = 4;
+
+    private TileKind() {}
+}
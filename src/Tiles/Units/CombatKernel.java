@@ -0,0 +1,94 @@
+package Tiles.Units;
+
+/**
+ * Resolves strikes against many targets at once, over primitive arrays indexed by target.
+ * <p>
+ * The strike and compare loops are counted loops over int arrays, without calls, branches or dependencies
+ * between targets: the shape HotSpot's loop optimizer can vectorise, though whether it does depends on the
+ * JIT and the CPU. Packing death flags into a bitmask carries each word from one target to the next, so it
+ * is a separate, scalar pass over the flags. Rolls are drawn by the caller beforehand, so the random
+ * generator is used in the same order as when targets are struck one at a time.
+ */
+public final class CombatKernel {
+
+    private CombatKernel() {}
+
+    /**
+     * Strikes every target once with the same attack: each takes the attack less its defense roll, if positive.
+     * @param attack the attack value
+     * @param defenseRolls each target's defense roll
+     * @param health each target's health, reduced by the damage taken
+     * @param damage receives each target's damage
+     * @param count the number of targets
+     * @return the total damage dealt
+     */
+    public static int strike(int attack, int[] defenseRolls, int[] health, int[] damage, int count) {
+        for (int i = 0; i < count; i++) {
+            damage[i] = Math.max(0, attack - defenseRolls[i]);
+        }
+        int total = 0;
+        for (int i = 0; i < count; i++) {
+            health[i] -= damage[i];
+            total += damage[i];
+        }
+        return total;
+    }
+
+    /**
+     * Marks the targets left with no health, as a death mask.
+     * @param health each target's health
+     * @param count the number of targets
+     * @param dead scratch space of at least {@code count} ints, receiving 1 for each dead target, else 0
+     * @param deaths at least {@code (count + 63) / 64} words, receiving a set bit for each dead target
+     * @return the number of dead targets
+     */
+    public static int deaths(int[] health, int count, int[] dead, long[] deaths) {
+        int total = markDead(health, count, dead);
+        pack(dead, count, deaths);
+        return total;
+    }
+
+    /**
+     * Flags the targets left with no health, one int per target.
+     * @param health each target's health
+     * @param count the number of targets
+     * @param dead receives 1 for every dead target and 0 for the others
+     * @return the number of dead targets
+     */
+    public static int markDead(int[] health, int count, int[] dead) {
+        int total = 0;
+        for (int i = 0; i < count; i++) {
+            // The sign of health - 1 tells a non-positive health, except for MIN_VALUE, whose own sign tells it.
+            dead[i] = ((health[i] - 1) | health[i]) >>> 31;
+            total += dead[i];
+        }
+        return total;
+    }
+
+    /**
+     * Packs flags of 0 or 1 into a bitmask, 64 targets per word.
+     * @param flags each target's flag
+     * @param count the number of targets
+     * @param mask receives the flags, one bit per target; at least {@code (count + 63) / 64} words
+     */
+    public static void pack(int[] flags, int count, long[] mask) {
+        for (int w = 0, base = 0; base < count; w++, base += 64) {
+            int end = Math.min(count, base + 64);
+            long word = 0;
+            for (int i = base; i < end; i++) {
+                word |= (long) flags[i] << (i - base);
+            }
+            mask[w] = word;
+        }
+    }
+
+    /**
+     * Checks a target's bit in a death mask.
+     * @param deaths the death mask filled by {@link #deaths(int[], int, int[], long[])}
+     * @param i the target
+     * @return true if the target is dead
+     */
+    public static boolean isDead(long[] deaths, int i) {
+        return (deaths[i >>> 6] & 1L << i) != 0;
+    }
+}
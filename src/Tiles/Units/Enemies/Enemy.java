@@ -3,35 +3,71 @@ package Tiles.Units.Enemies;
 import Callbacks.ChangePositionCallback;
 import Callbacks.EnemyDeathCallback;
 import Callbacks.MessageCallback;
+import Metrics.MemoryLayout;
 import Tiles.Units.Players.Player;
 import Tiles.Units.Unit;
 import Utils.Position;
-import Utils.Resource;
 
+/**
+ * An enemy of the player. The enemy's hot fields live in a row of an {@link EnemyStore};
+ * the enemy itself is a view of that row, keeping only its identity, name and callbacks.
+ */
 public abstract class Enemy extends Unit {
     
     protected int experienceValue;
     protected Position playerPosition;
-    protected Position desiredPosition;
     private EnemyDeathCallback edcb;
+    EnemyStore store;
+    int index;
 
-    public Enemy(String name, char tile, int health, int attack, int defense, int exp) {
+    Enemy(String name, char tile, byte kind, int health, int attack, int defense, int exp) {
         super();
         this.name = name;
         this.character = tile;
-        this.health = new Resource(health,health);
-        this.attackPoints = attack;
-        this.defensePoints = defense;
+        this.kind = kind;
+        EnemyStore.create(this, kind, health, attack, defense);
+        this.health = new StoredHealth(this);
         this.experienceValue = exp;
     }
 
     /**
-     * Returns a string describing the enemy's stats and experience value.
-     * @return the formatted description string
+     * Resets a dead enemy to the state of a newly created one, so it can be reused instead of allocating
+     * a new enemy. The enemy must no longer be in the game's store, as after its death.
+     * @param name the enemy's name
+     * @param tile the enemy's symbol
+     * @param health the enemy's starting health and health capacity
+     * @param attack the enemy's attack points
+     * @param defense the enemy's defense points
+     * @param exp the experience value
      */
-    public String description() {
-        return String.format(
-                super.description()  + "Experience Value: %d\t",experienceValue);
+    protected void reset(String name, char tile, int health, int attack, int defense, int exp) {
+        this.name = name;
+        this.character = tile;
+        this.experienceValue = exp;
+        store.reset(index, kind, health, attack, defense);
+        playerPosition = null;
+        edcb = null;
+        mcb = null;
+        pcb = null;
+        invalidateDescription();
+    }
+
+    /**
+     * Frees the enemy's row for the next enemy created on this thread. The enemy must no longer be in a game's
+     * store, and is never used again.
+     */
+    public void release() {
+        EnemyStore.release(this);
+    }
+
+    /**
+     * Appends the enemy's stats and experience value.
+     * @param sb the description being built
+     */
+    @Override
+    protected void describe(StringBuilder sb) {
+        super.describe(sb);
+        sb.append("Experience Value: ").append(experienceValue).append('\t');
     }
 
     /**
@@ -49,7 +85,7 @@ public abstract class Enemy extends Unit {
      * Returns the desired position for the enemy to move to.
      * @return the desired position
      */
-    public Position getDesiredPosition() { return desiredPosition; }
+    public Position getDesiredPosition() { return new Position(store.desiredX[index], store.desiredY[index]); }
 
     /**
      * Returns the experience value awarded for defeating this enemy.
@@ -67,6 +103,69 @@ public abstract class Enemy extends Unit {
         edcb.call(this);
     }
 
+    /**
+     * Advances the enemy's own tick counter and updates its desired position, given the player's position.
+     * Meant for an enemy on its own; a game plays the turns of all its enemies with
+     * {@link EnemyStore#playTurns}, which starts a single turn for all of them.
+     */
+    @Override
+    public void gameTick() {
+        store.advanceTicks(index);
+        store.tick(index, playerPosition.getX(), playerPosition.getY(), null);
+    }
+
+    /**
+     * Returns a new copy of the enemy's position, which lives in the enemy store. Unlike other tiles' positions,
+     * changing the copy does not move the enemy; that takes {@link #setPosition(Position)}.
+     * Code reading only the coordinates should use {@link #getX()} and {@link #getY()}, which do not allocate.
+     * @return a copy of the enemy's position
+     */
+    @Override
+    public Position getPosition() { return new Position(store.x[index], store.y[index]); }
+
+    @Override
+    public int getX() { return store.x[index]; }
+
+    @Override
+    public int getY() { return store.y[index]; }
+
+    @Override
+    public void setPosition(Position position) {
+        store.x[index] = position.getX();
+        store.y[index] = position.getY();
+    }
+
+    @Override
+    public boolean isDead() { return store.health[index] <= 0; }
+
+    @Override
+    public int getAttackPoints() { return store.attack[index]; }
+
+    @Override
+    public int getDefensePoints() { return store.defense[index]; }
+
+    @Override
+    public void setAttackPoints(int p) {
+        store.attack[index] = p;
+        invalidateDescription();
+    }
+
+    @Override
+    public void setDefensePoints(int d) {
+        store.defense[index] = d;
+        invalidateDescription();
+    }
+
+    /**
+     * Returns an estimate of the heap retained by the enemy's view and its health view.
+     * The enemy's row is accounted for by its store.
+     * @return the estimated size in bytes
+     */
+    @Override
+    public long estimatedRetainedBytes() {
+        return MemoryLayout.shallowSize(getClass()) + MemoryLayout.shallowSize(StoredHealth.class);
+    }
+
     /**
      * Sets the current position of the player for enemy tracking.
      * @param p the player's position
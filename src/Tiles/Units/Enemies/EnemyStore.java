@@ -0,0 +1,504 @@
+package Tiles.Units.Enemies;
+
+import Callbacks.TileLookupCallback;
+import Metrics.MemoryLayout;
+import Tiles.Passability;
+import Tiles.Tile;
+import Tiles.TileKind;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+import java.util.function.IntPredicate;
+
+/**
+ * Stores the enemies of a level as a structure of arrays: every hot field of the enemies, their position,
+ * health, attack, defense, kind and tick counters, lives in a primitive array indexed by the enemy's row.
+ * <p>
+ * The enemies' turn walks the rows in order, reading each field from a contiguous array instead of chasing
+ * every enemy's object, position and health. {@link Enemy} objects remain as thin views of their row, so the
+ * rest of the game uses the {@link Enemy} API as before. The store is also the game's list of enemies,
+ * in the order they were created.
+ * <p>
+ * An enemy is created in a row of its thread's staging store, and moves its row into the game's store when
+ * added to it. When removed, it moves back into a free row of the staging store, so a dead enemy's view stays
+ * usable until it is released. Like the enemy pools, a staging store belongs to a single game thread.
+ * <p>
+ * The first {@link #getActiveCount()} rows are the active enemies, which take turns. Enemies that can
+ * never interact with the player are moved behind them by {@link #partition(IntPredicate)}.
+ */
+public class EnemyStore extends AbstractList<Enemy> implements RandomAccess {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int INT_COLUMNS = 12;
+    private static final ThreadLocal<EnemyStore> staging = ThreadLocal.withInitial(() -> new EnemyStore(true));
+
+    // Whether this is a staging store, holding the rows of enemies in no game's store.
+    private final boolean staged;
+    // The staging store's unused rows.
+    private int[] free = new int[0];
+    private int freeCount;
+    private int size;
+    private int activeCount;
+    private long turn;
+    Enemy[] views;
+    byte[] kind;
+    int[] x;
+    int[] y;
+    int[] health;
+    int[] capacity;
+    int[] attack;
+    int[] defense;
+    int[] desiredX;
+    int[] desiredY;
+    // Monsters only.
+    int[] visionRange;
+    // Traps only.
+    int[] visibilityTime;
+    int[] invisibilityTime;
+    // Each trap's tick counter less the store's turn, modulo the trap's cycle, so counters need no update per turn.
+    int[] ticksOffset;
+
+    /**
+     * Creates an empty store.
+     */
+    public EnemyStore() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates an empty store with room for the given number of enemies.
+     * @param capacity the initial number of rows
+     */
+    EnemyStore(int capacity) {
+        this(capacity, false);
+    }
+
+    private EnemyStore(boolean staged) {
+        this(INITIAL_CAPACITY, staged);
+    }
+
+    private EnemyStore(int capacity, boolean staged) {
+        this.staged = staged;
+        views = new Enemy[capacity];
+        kind = new byte[capacity];
+        x = new int[capacity];
+        y = new int[capacity];
+        health = new int[capacity];
+        this.capacity = new int[capacity];
+        attack = new int[capacity];
+        defense = new int[capacity];
+        desiredX = new int[capacity];
+        desiredY = new int[capacity];
+        visionRange = new int[capacity];
+        visibilityTime = new int[capacity];
+        invisibilityTime = new int[capacity];
+        ticksOffset = new int[capacity];
+    }
+
+    /**
+     * Returns the current thread's staging store, which holds the rows of enemies not in a game's store.
+     * @return the staging store
+     */
+    static EnemyStore staging() {
+        return staging.get();
+    }
+
+    /**
+     * Creates the row of a newly created enemy in the current thread's staging store.
+     * @param enemy the enemy viewing the row
+     * @param kind the enemy's {@link TileKind}
+     * @param health the enemy's starting health and health capacity
+     * @param attack the enemy's attack points
+     * @param defense the enemy's defense points
+     */
+    static void create(Enemy enemy, byte kind, int health, int attack, int defense) {
+        EnemyStore staging = staging();
+        int i = staging.stage(enemy);
+        staging.reset(i, kind, health, attack, defense);
+        enemy.store = staging;
+        enemy.index = i;
+    }
+
+    /**
+     * Frees the staging row of an enemy that will no longer be used, such as a dead enemy the pools had no
+     * room for. Does nothing for an enemy in a game's store.
+     * @param enemy the enemy to release
+     */
+    static void release(Enemy enemy) {
+        if (enemy.store != null && enemy.store.staged) {
+            enemy.store.unstage(enemy.index);
+            enemy.store = null;
+        }
+    }
+
+    /**
+     * Resets a row to the state of a newly created enemy.
+     * @param i the row
+     * @param kind the enemy's {@link TileKind}
+     * @param health the enemy's starting health and health capacity
+     * @param attack the enemy's attack points
+     * @param defense the enemy's defense points
+     */
+    void reset(int i, byte kind, int health, int attack, int defense) {
+        this.kind[i] = kind;
+        x[i] = 0;
+        y[i] = 0;
+        this.health[i] = health;
+        this.capacity[i] = health;
+        this.attack[i] = attack;
+        this.defense[i] = defense;
+        desiredX[i] = 0;
+        desiredY[i] = 0;
+        visionRange[i] = 0;
+        visibilityTime[i] = 0;
+        invisibilityTime[i] = 0;
+        ticksOffset[i] = 0;
+    }
+
+    /**
+     * Moves the enemy's row from its current store to the end of this one.
+     * An enemy in another game's store is removed from it first.
+     * @param enemy the enemy to add
+     * @return true
+     * @throws IllegalArgumentException if the enemy is already in this store
+     */
+    @Override
+    public boolean add(Enemy enemy) {
+        if (enemy.store == this)
+            throw new IllegalArgumentException(enemy.getName() + " is already in the store");
+        if (!enemy.store.staged)
+            enemy.store.remove(enemy.index);
+        int i = size;
+        ensureCapacity(i + 1);
+        enemy.store.copyRow(enemy.index, this, i);
+        enemy.store.unstage(enemy.index);
+        views[i] = enemy;
+        enemy.store = this;
+        enemy.index = i;
+        if (activeCount == size)
+            activeCount++;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public Enemy get(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException(index);
+        return views[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of active enemies, in the first rows of the store.
+     * Enemies added while every enemy is active are active, the others are inactive.
+     * @return the number of active enemies
+     */
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    /**
+     * Reorders the rows so the enemies passing the test come first, keeping the order of the enemies on
+     * each side, and makes them the active enemies.
+     * @param active tests whether the enemy in a row should be active
+     * @return the number of active enemies
+     */
+    public int partition(IntPredicate active) {
+        int[] order = new int[size];
+        boolean[] passed = new boolean[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            passed[i] = active.test(i);
+            if (passed[i])
+                order[count++] = i;
+        }
+        if (count < size) {
+            int next = count;
+            for (int i = 0; i < size; i++) {
+                if (!passed[i])
+                    order[next++] = i;
+            }
+            permute(order);
+        }
+        activeCount = count;
+        return count;
+    }
+
+    /**
+     * Removes the enemy at the given index, moving its row into the staging store.
+     * @param index the enemy's index
+     * @return the removed enemy
+     */
+    @Override
+    public Enemy remove(int index) {
+        Enemy enemy = get(index);
+        detach(enemy);
+        int moved = size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(views, index + 1, views, index, moved);
+            System.arraycopy(kind, index + 1, kind, index, moved);
+            System.arraycopy(x, index + 1, x, index, moved);
+            System.arraycopy(y, index + 1, y, index, moved);
+            System.arraycopy(health, index + 1, health, index, moved);
+            System.arraycopy(capacity, index + 1, capacity, index, moved);
+            System.arraycopy(attack, index + 1, attack, index, moved);
+            System.arraycopy(defense, index + 1, defense, index, moved);
+            System.arraycopy(desiredX, index + 1, desiredX, index, moved);
+            System.arraycopy(desiredY, index + 1, desiredY, index, moved);
+            System.arraycopy(visionRange, index + 1, visionRange, index, moved);
+            System.arraycopy(visibilityTime, index + 1, visibilityTime, index, moved);
+            System.arraycopy(invisibilityTime, index + 1, invisibilityTime, index, moved);
+            System.arraycopy(ticksOffset, index + 1, ticksOffset, index, moved);
+            for (int i = index; i < size - 1; i++) {
+                views[i].index = i;
+            }
+        }
+        if (index < activeCount)
+            activeCount--;
+        views[--size] = null;
+        modCount++;
+        return enemy;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!(o instanceof Enemy enemy) || enemy.store != this)
+            return false;
+        remove(enemy.index);
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Enemy enemy && enemy.store == this;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        return contains(o) ? ((Enemy) o).index : -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return indexOf(o);
+    }
+
+    /**
+     * Removes every enemy, keeping the arrays for the next level.
+     */
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            detach(views[i]);
+            views[i] = null;
+        }
+        size = 0;
+        activeCount = 0;
+        modCount++;
+    }
+
+    /**
+     * Plays the turns of the enemies in the given range of rows, in order: each enemy decides where it
+     * wants to go, then visits the tile there. The player's position is read for every enemy, since an
+     * enemy killing the player takes its place. Monsters only pick open steps, and a move into a wall is
+     * dropped with a bit test rather than a visit.
+     * @param from the first row, inclusive
+     * @param to the last row, exclusive
+     * @param player the player
+     * @param tiles looks up the board's tiles
+     * @param cells the board's passability
+     */
+    public void playTurns(int from, int to, Tile player, TileLookupCallback tiles, Passability cells) {
+        advanceTurn();
+        for (int i = from; i < to; i++) {
+            tick(i, player.getPosition().getX(), player.getPosition().getY(), cells);
+            if (cells.isPassable(desiredX[i], desiredY[i]))
+                views[i].visit(tiles.call(desiredX[i], desiredY[i]));
+        }
+    }
+
+    /**
+     * Starts a new turn, advancing every trap's tick counter at once.
+     */
+    void advanceTurn() {
+        turn++;
+    }
+
+    /**
+     * Advances the tick counter of a single trap, for an enemy ticked on its own.
+     * @param i the row
+     */
+    void advanceTicks(int i) {
+        if (kind[i] == TileKind.TRAP)
+            setTicksCount(i, ticksCount(i) + 1);
+    }
+
+    /**
+     * Returns a trap's tick counter, which counts the turns into its visibility cycle.
+     * @param i the trap's row
+     * @return the counter, from 0 to the trap's cycle length, exclusive
+     */
+    int ticksCount(int i) {
+        int cycle = visibilityTime[i] + invisibilityTime[i];
+        return cycle > 0 ? Math.floorMod(ticksOffset[i] + turn, cycle) : ticksOffset[i];
+    }
+
+    /**
+     * Sets a trap's tick counter as of the current turn.
+     * @param i the trap's row
+     * @param count the counter
+     */
+    void setTicksCount(int i, int count) {
+        int cycle = visibilityTime[i] + invisibilityTime[i];
+        ticksOffset[i] = cycle > 0 ? Math.floorMod(count - turn, cycle) : count;
+    }
+
+    /**
+     * Updates the desired position of the enemy in the given row.
+     * @param i the row
+     * @param playerX the player's x coordinate
+     * @param playerY the player's y coordinate
+     * @param cells the board's passability, or null to let monsters wander in any direction
+     */
+    void tick(int i, int playerX, int playerY, Passability cells) {
+        if (kind[i] == TileKind.TRAP)
+            Trap.tick(this, i, playerX, playerY);
+        else
+            Monster.tick(this, i, playerX, playerY, cells);
+    }
+
+    /**
+     * Estimates the heap retained by the store's arrays, not counting the enemies viewing them.
+     * @return the estimated size in bytes
+     */
+    public long estimatedRetainedBytes() {
+        int rows = views.length;
+        return MemoryLayout.shallowSize(EnemyStore.class)
+                + MemoryLayout.referenceArraySize(rows)
+                + MemoryLayout.primitiveArraySize(rows, Byte.BYTES)
+                + INT_COLUMNS * MemoryLayout.primitiveArraySize(rows, Integer.BYTES);
+    }
+
+    /**
+     * Moves the enemy's row into a free row of the staging store.
+     * @param enemy the enemy to detach
+     */
+    private void detach(Enemy enemy) {
+        EnemyStore staging = staging();
+        int j = staging.stage(enemy);
+        copyRow(enemy.index, staging, j);
+        enemy.store = staging;
+        enemy.index = j;
+    }
+
+    /**
+     * Takes a row of the staging store for an enemy, reusing a free row if there is one.
+     * @param enemy the enemy viewing the row
+     * @return the row's index
+     */
+    private int stage(Enemy enemy) {
+        int i;
+        if (freeCount > 0) {
+            i = free[--freeCount];
+        } else {
+            i = size;
+            ensureCapacity(i + 1);
+            size++;
+        }
+        views[i] = enemy;
+        return i;
+    }
+
+    /**
+     * Returns a row of the staging store to its free rows.
+     * @param i the row
+     */
+    private void unstage(int i) {
+        views[i] = null;
+        if (freeCount == free.length)
+            free = Arrays.copyOf(free, Math.max(INITIAL_CAPACITY, free.length * 2));
+        free[freeCount++] = i;
+    }
+
+    /**
+     * Moves every row to its place in a new order.
+     * @param order the row to place at each index
+     */
+    private void permute(int[] order) {
+        EnemyStore sorted = new EnemyStore(views.length);
+        sorted.turn = turn;
+        for (int k = 0; k < order.length; k++) {
+            copyRow(order[k], sorted, k);
+            sorted.views[k] = views[order[k]];
+            sorted.views[k].index = k;
+        }
+        views = sorted.views;
+        kind = sorted.kind;
+        x = sorted.x;
+        y = sorted.y;
+        health = sorted.health;
+        capacity = sorted.capacity;
+        attack = sorted.attack;
+        defense = sorted.defense;
+        desiredX = sorted.desiredX;
+        desiredY = sorted.desiredY;
+        visionRange = sorted.visionRange;
+        visibilityTime = sorted.visibilityTime;
+        invisibilityTime = sorted.invisibilityTime;
+        ticksOffset = sorted.ticksOffset;
+        modCount++;
+    }
+
+    /**
+     * Copies a row's fields into another store's row.
+     * @param i the row to copy
+     * @param to the destination store
+     * @param j the destination row
+     */
+    private void copyRow(int i, EnemyStore to, int j) {
+        to.kind[j] = kind[i];
+        to.x[j] = x[i];
+        to.y[j] = y[i];
+        to.health[j] = health[i];
+        to.capacity[j] = capacity[i];
+        to.attack[j] = attack[i];
+        to.defense[j] = defense[i];
+        to.desiredX[j] = desiredX[i];
+        to.desiredY[j] = desiredY[i];
+        to.visionRange[j] = visionRange[i];
+        to.visibilityTime[j] = visibilityTime[i];
+        to.invisibilityTime[j] = invisibilityTime[i];
+        int cycle = visibilityTime[i] + invisibilityTime[i];
+        to.ticksOffset[j] = cycle > 0 ? Math.floorMod(ticksOffset[i] + turn - to.turn, cycle) : ticksOffset[i];
+    }
+
+    /**
+     * Grows the arrays to hold at least the given number of rows.
+     * @param rows the number of rows needed
+     */
+    private void ensureCapacity(int rows) {
+        if (rows <= views.length)
+            return;
+        int grown = Math.max(rows, views.length * 2);
+        views = Arrays.copyOf(views, grown);
+        kind = Arrays.copyOf(kind, grown);
+        x = Arrays.copyOf(x, grown);
+        y = Arrays.copyOf(y, grown);
+        health = Arrays.copyOf(health, grown);
+        capacity = Arrays.copyOf(capacity, grown);
+        attack = Arrays.copyOf(attack, grown);
+        defense = Arrays.copyOf(defense, grown);
+        desiredX = Arrays.copyOf(desiredX, grown);
+        desiredY = Arrays.copyOf(desiredY, grown);
+        visionRange = Arrays.copyOf(visionRange, grown);
+        visibilityTime = Arrays.copyOf(visibilityTime, grown);
+        invisibilityTime = Arrays.copyOf(invisibilityTime, grown);
+        ticksOffset = Arrays.copyOf(ticksOffset, grown);
+    }
+}
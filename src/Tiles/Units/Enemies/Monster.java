@@ -1,61 +1,75 @@
 package Tiles.Units.Enemies;
 
+import Tiles.Passability;
+import Tiles.TileKind;
 import Utils.Direction;
-import Utils.Position;
 
 public class Monster extends Enemy {
-    private static final String DIRECTIONS_KEYS = "wasd";
-    protected int visionRange;
-
 
     public Monster(String name, char tile, int health, int attack, int defense, int vision, int exp) {
-        super(name, tile, health, attack, defense, exp);
-        this.visionRange = vision;
+        super(name, tile, TileKind.MONSTER, health, attack, defense, exp);
+        store.visionRange[index] = vision;
     }
 
     /**
-     * Returns a string describing the monster's stats and vision range.
-     * @return the formatted description string
+     * Resets a dead monster to the state of a newly created one.
+     * @see Enemy#reset(String, char, int, int, int, int)
      */
-    public String description() {
-        return String.format(
-                super.description()  + "Vision Range: %d\t",visionRange);
+    public void reset(String name, char tile, int health, int attack, int defense, int vision, int exp) {
+        reset(name, tile, health, attack, defense, exp);
+        store.visionRange[index] = vision;
     }
 
     /**
-     * Updates the monster's desired position each game tick, moving toward the player if in vision range.
+     * Appends the monster's stats and vision range.
+     * @param sb the description being built
      */
     @Override
-    public void gameTick() {
-        desiredPosition = nextPosition(playerPosition);
-
+    protected void describe(StringBuilder sb) {
+        super.describe(sb);
+        sb.append("Vision Range: ").append(getVisionRange()).append('\t');
     }
 
     /**
-     * Determines the next position for the monster to move toward, either chasing the player or moving randomly.
-     * @param playerPosition the current position of the player
-     * @return the next position for the monster
+     * Updates a monster's desired position for this tick, moving toward the player if in vision range,
+     * or in a random open direction otherwise. A monster with no open direction stays in place.
+     * @param store the monster's store
+     * @param i the monster's row
+     * @param playerX the player's x coordinate
+     * @param playerY the player's y coordinate
+     * @param cells the board's passability, or null to pick among all four directions
      */
-    private Position nextPosition(Position playerPosition) {
+    static void tick(EnemyStore store, int i, int playerX, int playerY, Passability cells) {
+        int dx = store.x[i] - playerX;
+        int dy = store.y[i] - playerY;
         Direction toMove;
-        if(this.position.calculateRange(playerPosition) < visionRange) {
-            int dx = position.getX() - playerPosition.getX();
-            int dy = position.getY() - playerPosition.getY();
-
+        if(Math.sqrt(Math.pow(dx, 2) + Math.pow(dy, 2)) < store.visionRange[i]) {
             if (Math.abs(dx) > Math.abs(dy)) {
                 toMove = dx > 0 ? Direction.LEFT : Direction.RIGHT;
             } else {
                 toMove =  dy > 0 ? Direction.UP : Direction.DOWN;
             }
         } else {
-            char randomChar = DIRECTIONS_KEYS.charAt(new java.util.Random().nextInt(DIRECTIONS_KEYS.length()));
-            toMove = Direction.fromChar(randomChar);
+            int open = cells == null ? Passability.ALL_STEPS : cells.openSteps(store.x[i], store.y[i], playerX, playerY);
+            if (open == 0) {
+                store.desiredX[i] = store.x[i];
+                store.desiredY[i] = store.y[i];
+                return;
+            }
+            // Take the n-th open step; with every step open this is the n-th of "wasd".
+            for (int n = getRandom().nextInt(Integer.bitCount(open)); n > 0; n--)
+                open &= open - 1;
+            int step = Integer.numberOfTrailingZeros(open);
+            store.desiredX[i] = store.x[i] + Passability.stepX(step);
+            store.desiredY[i] = store.y[i] + Passability.stepY(step);
+            return;
         }
-        return Position.GetPosition(position,toMove);
+        store.desiredX[i] = store.x[i] + toMove.getX();
+        store.desiredY[i] = store.y[i] + toMove.getY();
     }
 
 
     ///For tests:
-    public int getVisionRange() { return this.visionRange; }
+    public int getVisionRange() { return store.visionRange[index]; }
 
 }
@@ -0,0 +1,199 @@
+package Tiles.Units.Enemies;
+
+import Callbacks.TileLookupCallback;
+import Tiles.Passability;
+import Tiles.Tile;
+import Tiles.Units.Unit;
+import Utils.SeededRandom;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plays the enemies' turns in parallel, for boards too large to tick on one thread.
+ * <p>
+ * The board is split into horizontal bands of rows, the shards, each owning the enemies standing in it.
+ * A turn has three phases:
+ * <ol>
+ *     <li>Every shard decides where its enemies want to go, in parallel. Nothing moves yet, so every
+ *     enemy sees the board as it was at the start of the turn.</li>
+ *     <li>Every shard moves its enemies, in parallel and in row order, as long as they stay in the shard
+ *     and do not attack the player. A shard only touches its own cells.</li>
+ *     <li>The moves left over, into another shard or onto the player, were queued in each shard's halo
+ *     buffer; they are played on the game thread, shard by shard, in row order.</li>
+ * </ol>
+ * Each shard draws its random numbers from its own generator, seeded from the game's generator at the start
+ * of the turn, and combat only happens on the game thread. A game therefore plays out the same for a given
+ * seed and shard count, though differently from a game ticked on one thread.
+ */
+public final class ShardedTurns implements AutoCloseable {
+    private static final long IDLE_SECONDS = 1;
+    private static final int INITIAL_ROWS = 64;
+
+    private final int shardCount;
+    private final ThreadPoolExecutor workers;
+    private final List<Callable<Void>> decisions = new ArrayList<>();
+    private final List<Callable<Void>> moves = new ArrayList<>();
+    private final long[] seeds;
+    private final int[][] rows;
+    private final int[] rowCounts;
+    private final int[][] halos;
+    private final int[] haloCounts;
+
+    // The turn being played, set on the game thread before the workers are started.
+    private EnemyStore store;
+    private TileLookupCallback tiles;
+    private Passability cells;
+    private int playerX;
+    private int playerY;
+
+    /**
+     * Creates a sharded turn player. Its worker threads stop when idle and restart when needed.
+     * @param shardCount the number of shards, and of worker threads
+     * @throws IllegalArgumentException if the shard count is not positive
+     */
+    public ShardedTurns(int shardCount) {
+        if (shardCount < 1)
+            throw new IllegalArgumentException("Invalid shard count " + shardCount);
+        this.shardCount = shardCount;
+        this.workers = new ThreadPoolExecutor(shardCount, shardCount, IDLE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+            Thread t = new Thread(r, "shard");
+            t.setDaemon(true);
+            return t;
+        });
+        workers.allowCoreThreadTimeOut(true);
+        seeds = new long[shardCount];
+        rows = new int[shardCount][INITIAL_ROWS];
+        rowCounts = new int[shardCount];
+        halos = new int[shardCount][INITIAL_ROWS];
+        haloCounts = new int[shardCount];
+        for (int s = 0; s < shardCount; s++) {
+            int shard = s;
+            decisions.add(() -> decide(shard));
+            moves.add(() -> move(shard));
+        }
+    }
+
+    public int getShardCount() { return shardCount; }
+
+    /**
+     * Plays the turns of the enemies in the given range of rows of a store.
+     * @param store the enemies
+     * @param from the first row, inclusive
+     * @param to the last row, exclusive
+     * @param player the player
+     * @param tiles looks up the board's tiles
+     * @param cells the board's passability, whose height the board is split along
+     */
+    public void playTurns(EnemyStore store, int from, int to, Tile player, TileLookupCallback tiles, Passability cells) {
+        this.store = store;
+        this.tiles = tiles;
+        this.cells = cells;
+        playerX = player.getPosition().getX();
+        playerY = player.getPosition().getY();
+        store.advanceTurn();
+        Arrays.fill(rowCounts, 0);
+        Arrays.fill(haloCounts, 0);
+        for (int i = from; i < to; i++) {
+            int s = shardOf(store.y[i]);
+            rows[s] = add(rows[s], rowCounts[s]++, i);
+        }
+        SeededRandom random = Unit.getRandom();
+        for (int s = 0; s < shardCount; s++) {
+            seeds[s] = random.nextLong();
+        }
+        try {
+            runAll(decisions);
+            runAll(moves);
+            for (int s = 0; s < shardCount; s++) {
+                for (int h = 0; h < haloCounts[s]; h++) {
+                    int i = halos[s][h];
+                    store.views[i].visit(tiles.call(store.desiredX[i], store.desiredY[i]));
+                }
+            }
+        } finally {
+            this.store = null;
+            this.tiles = null;
+            this.cells = null;
+        }
+    }
+
+    /**
+     * Stops the worker threads.
+     */
+    @Override
+    public void close() {
+        workers.shutdown();
+    }
+
+    /**
+     * Decides where the enemies of a shard want to go, with the shard's own random generator.
+     * @param s the shard
+     */
+    private Void decide(int s) {
+        SeededRandom random = Unit.getRandom();
+        random.setState(seeds[s]);
+        for (int r = 0; r < rowCounts[s]; r++) {
+            store.tick(rows[s][r], playerX, playerY, cells);
+        }
+        return null;
+    }
+
+    /**
+     * Moves the enemies of a shard that stay in it, queueing the others in the shard's halo buffer.
+     * @param s the shard
+     */
+    private Void move(int s) {
+        for (int r = 0; r < rowCounts[s]; r++) {
+            int i = rows[s][r];
+            int x = store.desiredX[i];
+            int y = store.desiredY[i];
+            if (x == store.x[i] && y == store.y[i] || !cells.isPassable(x, y))
+                continue;
+            if (shardOf(y) != s || x == playerX && y == playerY)
+                halos[s] = add(halos[s], haloCounts[s]++, i);
+            else
+                store.views[i].visit(tiles.call(x, y));
+        }
+        return null;
+    }
+
+    /**
+     * Runs a task per shard on the worker threads and waits for all of them.
+     * @param tasks the tasks
+     * @throws RuntimeException the first task's failure
+     */
+    private void runAll(List<Callable<Void>> tasks) {
+        try {
+            for (Future<Void> result : workers.invokeAll(tasks)) {
+                result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while playing enemy turns", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private int shardOf(int y) {
+        return (int) ((long) y * shardCount / cells.getHeight());
+    }
+
+    private static int[] add(int[] array, int index, int value) {
+        if (index == array.length)
+            array = Arrays.copyOf(array, array.length * 2);
+        array[index] = value;
+        return array;
+    }
+}
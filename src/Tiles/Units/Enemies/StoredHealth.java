@@ -0,0 +1,71 @@
+package Tiles.Units.Enemies;
+
+import Utils.Resource;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * An enemy's health, viewing the health and capacity columns of the enemy's row in its {@link EnemyStore}.
+ * Behaves exactly like the {@link Resource} it replaces.
+ */
+class StoredHealth extends Resource {
+    private final Enemy enemy;
+
+    StoredHealth(Enemy enemy) {
+        super(0, 0);
+        this.enemy = enemy;
+    }
+
+    @Override
+    public int getCapacity() { return enemy.store.capacity[enemy.index]; }
+
+    @Override
+    public void addCapacity(int capacity) {
+        enemy.store.capacity[enemy.index] += capacity;
+        changed();
+    }
+
+    @Override
+    public int getAmount() { return enemy.store.health[enemy.index]; }
+
+    @Override
+    public void setAmount(int amount) {
+        enemy.store.health[enemy.index] = Math.min(amount, getCapacity());
+        changed();
+    }
+
+    @Override
+    public void addAmount(int amount) { setAmount(getAmount() + amount); }
+
+    @Override
+    public void reduceAmount(int amount) {
+        enemy.store.health[enemy.index] = Math.max(getAmount() - amount, 0);
+        changed();
+    }
+
+    @Override
+    public void restore() {
+        enemy.store.health[enemy.index] = getCapacity();
+        changed();
+    }
+
+    @Override
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(getCapacity());
+        out.writeInt(getAmount());
+    }
+
+    @Override
+    public void readFrom(DataInput in) throws IOException {
+        enemy.store.capacity[enemy.index] = in.readInt();
+        enemy.store.health[enemy.index] = in.readInt();
+        changed();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d/%d", getAmount(), getCapacity());
+    }
+}
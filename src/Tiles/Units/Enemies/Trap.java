@@ -1,18 +1,29 @@
 package Tiles.Units.Enemies;
 
+import Tiles.TileKind;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 public class Trap extends Enemy {
-    private int visibilityTime;
-    private int invisibilityTime;
-    private int ticksCount;
-    private boolean visible;
 
 
     public Trap(String name, char tile, int health, int attack, int defense, int exp, int visTime, int invisTime) {
-        super(name, tile, health, attack, defense, exp);
-        this.visibilityTime = visTime;
-        this.invisibilityTime = invisTime;
-        this.ticksCount = 0;
-        this.visible = true;
+        super(name, tile, TileKind.TRAP, health, attack, defense, exp);
+        store.visibilityTime[index] = visTime;
+        store.invisibilityTime[index] = invisTime;
+        store.setTicksCount(index, 0);
+    }
+
+    /**
+     * Resets a dead trap to the state of a newly created one.
+     * @see Enemy#reset(String, char, int, int, int, int)
+     */
+    public void reset(String name, char tile, int health, int attack, int defense, int exp, int visTime, int invisTime) {
+        reset(name, tile, health, attack, defense, exp);
+        store.visibilityTime[index] = visTime;
+        store.invisibilityTime[index] = invisTime;
+        store.setTicksCount(index, 0);
     }
 
     /**
@@ -22,55 +33,73 @@ public class Trap extends Enemy {
      * @return The trap's visible tile character, or '.' when invisible.
      */
     @Override
-    public char getCharacter() { return visible ? character : '.'; }
+    public char getCharacter() { return isVisible() ? character : '.'; }
 
     /**
-     * Updates the trap’s state every game tick:
-     * - Alternates visibility based on the tick counter.
-     * - Resets the tick counter after a full visibility + invisibility cycle.
-     * - If the player is within attack range, updates the trap's desired position.
+     * Updates a trap's desired position every game tick, to the player's position if the player is within attack range.
+     * The trap's tick counter is not updated here: it follows from the store's turn, and cycles through
+     * the trap's visibility and invisibility times. The trap is visible while the counter is below its visibility time.
+     * @param store the trap's store
+     * @param i the trap's row
+     * @param playerX the player's x coordinate
+     * @param playerY the player's y coordinate
      */
-    @Override
-    public void gameTick() {
-        this.desiredPosition = position;
+    static void tick(EnemyStore store, int i, int playerX, int playerY) {
+        store.desiredX[i] = store.x[i];
+        store.desiredY[i] = store.y[i];
 
-        if (ticksCount == (visibilityTime + invisibilityTime) - 1) {
-            ticksCount = 0;
-        } else {
-            ticksCount++;
-        }
-
-        visible = ticksCount < visibilityTime;
-
-        if(canAttackPlayer()) {
-            desiredPosition = playerPosition;
+        if(canAttackPlayer(store, i, playerX, playerY)) {
+            store.desiredX[i] = playerX;
+            store.desiredY[i] = playerY;
         }
     }
 
     /**
-     * Determines whether the trap is close enough to attack the player.
+     * Determines whether a trap is close enough to attack the player.
      *
      * @return {@code true} if the player is within 1 unit of distance; {@code false} otherwise.
      */
-    private boolean canAttackPlayer() {
-        return position.calculateRange(playerPosition) < 2;
+    private static boolean canAttackPlayer(EnemyStore store, int i, int playerX, int playerY) {
+        return Math.sqrt(Math.pow(store.x[i] - playerX, 2) + Math.pow(store.y[i] - playerY, 2)) < 2;
     }
 
 
+    /**
+     * Writes the unit's state followed by the trap's tick counter, which its visibility follows from.
+     * @param out the output to write to
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        super.writeState(out);
+        out.writeInt(getTicksCount());
+    }
+
+    /**
+     * Restores the state written by {@link #writeState(DataOutput)}.
+     * @param in the input to read from
+     * @throws IOException if reading fails
+     */
+    @Override
+    public void readState(DataInput in) throws IOException {
+        super.readState(in);
+        store.setTicksCount(index, in.readInt());
+    }
+
     ///For tests:
     public int getVisibilityTime() {
-        return visibilityTime;
+        return store.visibilityTime[index];
     }
 
     public int getInvisibilityTime() {
-        return invisibilityTime;
+        return store.invisibilityTime[index];
     }
 
     public int getTicksCount() {
-        return ticksCount;
+        return store.ticksCount(index);
     }
 
     public boolean isVisible() {
-        return visible;
+        return store.ticksCount(index) < store.visibilityTime[index];
     }
 }
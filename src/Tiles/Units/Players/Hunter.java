@@ -1,8 +1,13 @@
 package Tiles.Units.Players;
 
+import Diagnostics.AbilityEvent;
+import Metrics.MemoryLayout;
 import Tiles.Units.Enemies.Enemy;
-import Utils.Resource;
+import Utils.TimedResource;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
@@ -13,16 +18,16 @@ public class Hunter extends Player {
     private static final int ATTACK_BONUS_PER_LEVEL = 2;
     private static final int DEFENSE_BONUS_PER_LEVEL = 1;
     private static final int TICKS_FOR_ARROW_REGEN = 10;
+    private static final String ABILITY_NAME = "Shoot";
 
-    protected Resource arrows;
+    protected TimedResource arrows;
     protected int range;
-    protected int ticksCount;
 
     public Hunter(String name, int health, int attack, int defense, int range) {
         super(name, health, attack, defense);
         this.range = range;
-        this.arrows = new Resource(ARROWS_PER_LEVEL_UP, ARROWS_PER_LEVEL_UP);
-        this.ticksCount = 0;
+        // The hunter regains arrows by its level once it has counted to TICKS_FOR_ARROW_REGEN, every tick after that.
+        this.arrows = new TimedResource(ARROWS_PER_LEVEL_UP, ARROWS_PER_LEVEL_UP, clock, level, TICKS_FOR_ARROW_REGEN + 1);
     }
 
     /**
@@ -33,19 +38,7 @@ public class Hunter extends Player {
         arrows.addAmount(ARROWS_PER_LEVEL_UP * level);
         attackPoints += ATTACK_BONUS_PER_LEVEL * level;
         defensePoints += DEFENSE_BONUS_PER_LEVEL * level;
-    }
-
-    /**
-     * Advances the game tick for the Hunter, regenerating arrows after a set number of ticks.
-     */
-    @Override
-    public void gameTick() {
-        if (ticksCount == TICKS_FOR_ARROW_REGEN) {
-            arrows.addAmount(level);
-            ticksCount = 0;
-        } else {
-            ticksCount++;
-        }
+        arrows.setRate(level);
     }
 
     /**
@@ -55,18 +48,22 @@ public class Hunter extends Player {
      */
     @Override
     public void castAbility(List<Enemy> enemies) {
+        AbilityEvent event = new AbilityEvent();
+        event.begin();
         if (arrows.getAmount() <= 0) {
             mcb.call(String.format("%s tried to shoot but has no arrows left.", getName()));
+            event.finish(getName(), ABILITY_NAME, false, 0, 0);
             return;
         }
 
         // Find the closest enemy within range
         Optional<Enemy> closestEnemy = enemies.stream()
-                .filter(e -> this.getPosition().calculateRange(e.getPosition()) < this.range)
-                .min(Comparator.comparingDouble(e -> this.getPosition().calculateRange(e.getPosition())));
+                .filter(e -> this.getPosition().calculateRange(e.getX(), e.getY()) < this.range)
+                .min(Comparator.comparingDouble(e -> this.getPosition().calculateRange(e.getX(), e.getY())));
 
         if (closestEnemy.isEmpty()) {
             mcb.call(String.format("%s tried to shoot an arrow but there were no enemies in range.", getName()));
+            event.finish(getName(), ABILITY_NAME, false, 0, 0);
             return;
         }
 
@@ -85,19 +82,55 @@ public class Hunter extends Player {
         if (target.isDead()) {
             target.onDeath(this);
         }
+        event.finish(getName(), ABILITY_NAME, true, 1, damage);
+    }
+
+    /**
+     * Writes the unit's state followed by the hunter's arrows and arrow regeneration counter.
+     * @param out the output to write to
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        super.writeState(out);
+        arrows.writeTo(out);
+        out.writeInt(arrows.getPhase());
     }
 
     /**
-     * Returns a string description of the Hunter, including arrows and range.
-     * @return the Hunter's description
+     * Restores the state written by {@link #writeState(DataOutput)}.
+     * @param in the input to read from
+     * @throws IOException if reading fails
      */
     @Override
-    public String description() {
-        return String.format(
-                super.description() +
-                        "Arrows: %s\t" +
-                        "Range: %d",
-                arrows.toString(), range);
+    public void readState(DataInput in) throws IOException {
+        super.readState(in);
+        arrows.readFrom(in);
+        arrows.setPhase(in.readInt());
+        arrows.setRate(level);
     }
 
-}
\ No newline at end of file
+    /**
+     * Appends the Hunter's stats, including arrows and range.
+     * @param sb the description being built
+     */
+    @Override
+    protected void describe(StringBuilder sb) {
+        super.describe(sb);
+        sb.append("Arrows: ");
+        arrows.appendTo(sb);
+        sb.append("\tRange: ").append(range);
+    }
+
+    @Override
+    protected int resourceVersion() { return super.resourceVersion() + arrows.getVersion(); }
+
+    /**
+     * Returns an estimate of the heap retained by the hunter, including its arrows resource.
+     * @return the estimated size in bytes
+     */
+    @Override
+    public long estimatedRetainedBytes() {
+        return super.estimatedRetainedBytes() + MemoryLayout.shallowSize(TimedResource.class);
+    }
+}
@@ -1,16 +1,23 @@
 package Tiles.Units.Players;
 
+import Diagnostics.AbilityEvent;
+import Metrics.MemoryLayout;
 import Tiles.Units.Enemies.Enemy;
 import Utils.Resource;
+import Utils.TimedResource;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.List;
 
 public class Mage extends Player {
     private static final int EXTRA_MANA = 25;
     private static final int MANA_SETTER = 4;
     private static final int EXTRA_SPELL_POWER = 10;
+    private static final String ABILITY_NAME = "Blizzard";
 
-    private Resource mana;
+    private TimedResource mana;
     private int manaCost;
     private int spellPower;
     private int hitsCount;
@@ -18,7 +25,8 @@ public class Mage extends Player {
 
     public Mage(String name, int health, int attack, int defense, int mana, int cost, int spell, int hits, int range) {
         super(name, health, attack, defense);
-        this.mana = new Resource(mana,mana / MANA_SETTER);
+        // Mana regenerates by the mage's level every tick.
+        this.mana = new TimedResource(mana, mana / MANA_SETTER, clock, level, 1);
         this.manaCost = cost;
         this.spellPower = spell;
         this.hitsCount = hits;
@@ -26,17 +34,20 @@ public class Mage extends Player {
     }
 
     /**
-     * Returns a string describing the mage's stats, mana, and spell power.
-     * @return the formatted description string
+     * Appends the mage's stats, mana, and spell power.
+     * @param sb the description being built
      */
-    public String description() {
-        return String.format(
-                super.description() +
-                        "Mana: %s\t" +
-                        "Spell Power: %d",
-                mana.toString(), spellPower);
+    @Override
+    protected void describe(StringBuilder sb) {
+        super.describe(sb);
+        sb.append("Mana: ");
+        mana.appendTo(sb);
+        sb.append("\tSpell Power: ").append(spellPower);
     }
 
+    @Override
+    protected int resourceVersion() { return super.resourceVersion() + mana.getVersion(); }
+
     /**
      * Handles logic when the mage levels up, increasing mana and spell power.
      */
@@ -45,43 +56,94 @@ public class Mage extends Player {
         mana.addCapacity(EXTRA_MANA * level);
         mana.addAmount(mana.getCapacity() / MANA_SETTER);
         spellPower += EXTRA_SPELL_POWER * level;
-    }
-
-    /**
-     * Updates the mage's mana each game tick.
-     */
-    @Override
-    public void gameTick() {
-        mana.addAmount(level);
+        mana.setRate(level);
     }
 
     @Override
     public void castAbility(List<Enemy> enemies) {
+        AbilityEvent event = new AbilityEvent();
+        event.begin();
         if (mana.getAmount() < manaCost) {
             mcb.call(String.format("%s tried to cast Blizzard, but there was not enough mana: %s.", getName(), mana.toString()));
+            event.finish(getName(), ABILITY_NAME, false, 0, 0);
             return;
         }
 
         mana.reduceAmount(manaCost);
         mcb.call(String.format("%s cast Blizzard.", getName()));
 
-        List<Enemy> inRangeEnemies = new java.util.ArrayList<>(enemies.stream()
-                .filter(e -> this.getPosition().calculateRange(e.getPosition()) < abilityRange)
-                .toList());
-
+        List<Enemy> inRangeEnemies = enemies.stream()
+                .filter(e -> this.getPosition().calculateRange(e.getX(), e.getY()) < abilityRange)
+                .toList();
+
+        // Each hit's target depends on which targets earlier hits killed, so the hits cannot be resolved in
+        // bulk like Fan of Knives. They are drawn over primitive arrays instead, with the spell power at
+        // cast time, and applied in order afterwards.
+        int count = inRangeEnemies.size();
+        int[] health = new int[count];
+        int[] alive = new int[count];
+        for (int i = 0; i < count; i++) {
+            health[i] = inRangeEnemies.get(i).getHealth().getAmount();
+            alive[i] = i;
+        }
+        int[] targets = new int[hitsCount];
+        int[] damage = new int[hitsCount];
+        int aliveCount = count;
         int hits = 0;
-        while (hits < hitsCount && !inRangeEnemies.isEmpty()) {
-            Enemy target = inRangeEnemies.get(rand.nextInt(inRangeEnemies.size()));
-            int defenseRoll = target.rollDefense();
-            int damage = Math.max(0, spellPower - defenseRoll);
-            mcb.call(String.format("%s hit Bonus Trap for %d ability damage.", getName(), damage));
-            target.takeDamage(damage);
-            if (target.isDead()) {
+        int totalDamage = 0;
+        while (hits < hitsCount && aliveCount > 0) {
+            int pick = getRandom().nextInt(aliveCount);
+            int target = alive[pick];
+            damage[hits] = Math.max(0, spellPower - inRangeEnemies.get(target).rollDefense());
+            health[target] -= damage[hits];
+            totalDamage += damage[hits];
+            targets[hits++] = target;
+            if (health[target] <= 0)
+                System.arraycopy(alive, pick + 1, alive, pick, --aliveCount - pick);
+        }
+
+        for (int h = 0; h < hits; h++) {
+            Enemy target = inRangeEnemies.get(targets[h]);
+            mcb.call(String.format("%s hit Bonus Trap for %d ability damage.", getName(), damage[h]));
+            target.takeDamage(damage[h]);
+            if (target.isDead())
                 target.onDeath(this);
-                inRangeEnemies.remove(target);
-            }
-            hits++;
         }
+        event.finish(getName(), ABILITY_NAME, true, hits, totalDamage);
+    }
+
+    /**
+     * Returns an estimate of the heap retained by the mage, including its mana resource.
+     * @return the estimated size in bytes
+     */
+    @Override
+    public long estimatedRetainedBytes() {
+        return super.estimatedRetainedBytes() + MemoryLayout.shallowSize(TimedResource.class);
+    }
+
+    /**
+     * Writes the unit's state followed by the mage's mana and spell power.
+     * @param out the output to write to
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        super.writeState(out);
+        mana.writeTo(out);
+        out.writeInt(spellPower);
+    }
+
+    /**
+     * Restores the state written by {@link #writeState(DataOutput)}.
+     * @param in the input to read from
+     * @throws IOException if reading fails
+     */
+    @Override
+    public void readState(DataInput in) throws IOException {
+        super.readState(in);
+        mana.readFrom(in);
+        spellPower = in.readInt();
+        mana.setRate(level);
     }
 
     ///For tests:
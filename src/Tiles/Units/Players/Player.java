@@ -3,10 +3,16 @@ package Tiles.Units.Players;
 import Callbacks.ChangePositionCallback;
 import Callbacks.MessageCallback;
 import Callbacks.PlayerDeathCallback;
+import Metrics.MemoryLayout;
+import Tiles.TileKind;
 import Tiles.Units.Enemies.Enemy;
 import Tiles.Units.Unit;
 import Utils.Resource;
+import Utils.TickClock;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.List;
 
 public abstract class Player extends Unit {
@@ -19,6 +25,8 @@ public abstract class Player extends Unit {
 
     protected int experience;
     protected int level;
+    // Counts the player's ticks; the class resources follow it instead of being updated every tick.
+    protected final TickClock clock = new TickClock();
 
     public Player(String name, int health, int attack, int defense) {
         super();
@@ -29,18 +37,33 @@ public abstract class Player extends Unit {
         this.experience = 0;
         this.level = 1;
         this.character = PLAYER_CHAR;
+        this.kind = TileKind.PLAYER;
     }
 
     /**
-     * Returns a string describing the player's stats, level, and experience.
-     * @return the formatted description string
+     * Advances the player's clock by a tick. Resources that change over time work out their amount from the
+     * clock when read, so a tick costs the same whatever the player's class.
      */
-    public String description() {
-        return String.format(
-                super.description()  +
-                        "Level: %d\t" +
-                        "Experience: %d/%d\t",
-                level, experience,(EXPERIENCE_PER_LEVEL * level));
+    @Override
+    public final void gameTick() {
+        clock.advance();
+    }
+
+    @Override
+    public long estimatedRetainedBytes() {
+        return super.estimatedRetainedBytes() + MemoryLayout.shallowSize(TickClock.class);
+    }
+
+    /**
+     * Appends the player's stats, level, and experience.
+     * @param sb the description being built
+     */
+    @Override
+    protected void describe(StringBuilder sb) {
+        super.describe(sb);
+        sb.append("Level: ").append(level)
+                .append("\tExperience: ").append(experience).append('/').append(EXPERIENCE_PER_LEVEL * level)
+                .append('\t');
     }
 
     /**
@@ -49,6 +72,7 @@ public abstract class Player extends Unit {
      */
     public void gainXP(int exp) {
         experience += exp;
+        invalidateDescription();
         mcb.call(name + " gained " + exp + " experience");
         while (experience >= EXPERIENCE_PER_LEVEL * level) {
             levelUp();
@@ -79,6 +103,31 @@ public abstract class Player extends Unit {
         pdcb.call();
     }
 
+    /**
+     * Writes the unit's state followed by the player's experience and level.
+     * @param out the output to write to
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        super.writeState(out);
+        out.writeInt(experience);
+        out.writeInt(level);
+    }
+
+    /**
+     * Restores the state written by {@link #writeState(DataOutput)}.
+     * @param in the input to read from
+     * @throws IOException if reading fails
+     */
+    @Override
+    public void readState(DataInput in) throws IOException {
+        super.readState(in);
+        experience = in.readInt();
+        level = in.readInt();
+        invalidateDescription();
+    }
+
     /**
      * Accepts a visiting unit for interaction.
      * @param unit the visiting unit
@@ -119,6 +168,7 @@ public abstract class Player extends Unit {
         defensePoints += level;
         onLevelUp();
         health.restore();
+        invalidateDescription();
 
         String levelUpMessage = String.format("%s reached level %d: +%d Health, +%d Attack, +%d Defense"
                 ,name,level,(this.health.getAmount() - prevHealth),(attackPoints - prevAttack),(defensePoints - prevDefense));
@@ -1,35 +1,47 @@
 package Tiles.Units.Players;
 
+import Diagnostics.AbilityEvent;
+import Metrics.MemoryLayout;
+import Tiles.Units.CombatKernel;
 import Tiles.Units.Enemies.Enemy;
 import Utils.Resource;
+import Utils.TimedResource;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.List;
 
 public class Rogue extends Player {
     private static final int MAX_ENERGY = 100;
+    private static final int ENERGY_PER_TICK = 10;
     private static final int EXTRA_ATTACK = 3;
     private static final int ABILITY_RANGE = 2;
+    private static final String ABILITY_NAME = "Fan of Knives";
 
     private int cost;
-    private Resource energy;
+    private TimedResource energy;
 
     public Rogue(String name, int health, int attack, int defense, int cost) {
         super(name, health, attack, defense);
         this.cost = cost;
-        this.energy = new Resource(MAX_ENERGY, MAX_ENERGY);
+        this.energy = new TimedResource(MAX_ENERGY, MAX_ENERGY, clock, ENERGY_PER_TICK, 1);
     }
 
     /**
-     * Returns a string describing the rogue's stats and energy.
-     * @return the formatted description string
+     * Appends the rogue's stats and energy.
+     * @param sb the description being built
      */
-    public String description() {
-        return String.format(
-                super.description()  +
-                        "Energy: %s",
-                energy.toString());
+    @Override
+    protected void describe(StringBuilder sb) {
+        super.describe(sb);
+        sb.append("Energy: ");
+        energy.appendTo(sb);
     }
 
+    @Override
+    protected int resourceVersion() { return super.resourceVersion() + energy.getVersion(); }
+
     /**
      * Handles logic when the rogue levels up, restoring energy and increasing attack.
      */
@@ -39,22 +51,17 @@ public class Rogue extends Player {
         attackPoints += EXTRA_ATTACK * level;
     }
 
-    /**
-     * Updates the rogue's energy each game tick.
-     */
-    @Override
-    public void gameTick() {
-        energy.addAmount(10);
-    }
-
     /**
      * Casts the rogue's special ability, damaging all enemies in range if enough energy is available.
      * @param enemies the list of enemies on the board
      */
     @Override
     public void castAbility(List<Enemy> enemies) {
+        AbilityEvent event = new AbilityEvent();
+        event.begin();
         if (energy.getAmount() < cost) {
             mcb.call(String.format("%s tried to cast Fan of Knives, but there was not enough energy: %s.", getName(), energy.toString()));
+            event.finish(getName(), ABILITY_NAME, false, 0, 0);
             return;
         }
 
@@ -62,18 +69,64 @@ public class Rogue extends Player {
         mcb.call(String.format("%s cast Fan of Knives.", getName()));
 
         List<Enemy> inRangeEnemies = enemies.stream()
-                .filter(e -> this.getPosition().calculateRange(e.getPosition()) < ABILITY_RANGE)
+                .filter(e -> this.getPosition().calculateRange(e.getX(), e.getY()) < ABILITY_RANGE)
                 .toList();
 
-        for (Enemy target : inRangeEnemies) {
-            int defenseRoll = target.rollDefense();
-            int damage = Math.max(0, attackPoints - defenseRoll);
-            mcb.call(String.format("%s hit %s for %d ability damage.", getName(), target.getName(), damage));
-            target.takeDamage(damage);
+        // Every target is struck once with the attack at cast time, so the rolls are drawn up front and the
+        // damage and deaths are resolved in bulk before being applied in target order.
+        int count = inRangeEnemies.size();
+        int[] defenseRolls = new int[count];
+        int[] health = new int[count];
+        for (int i = 0; i < count; i++) {
+            Enemy target = inRangeEnemies.get(i);
+            defenseRolls[i] = target.rollDefense();
+            health[i] = target.getHealth().getAmount();
+        }
+        int[] damage = new int[count];
+        int[] dead = new int[count];
+        long[] deaths = new long[(count + 63) >>> 6];
+        int totalDamage = CombatKernel.strike(attackPoints, defenseRolls, health, damage, count);
+        CombatKernel.deaths(health, count, dead, deaths);
 
-            if (target.isDead())
+        for (int i = 0; i < count; i++) {
+            Enemy target = inRangeEnemies.get(i);
+            mcb.call(String.format("%s hit %s for %d ability damage.", getName(), target.getName(), damage[i]));
+            target.takeDamage(damage[i]);
+            if (CombatKernel.isDead(deaths, i))
                 target.onDeath(this);
         }
+        event.finish(getName(), ABILITY_NAME, true, count, totalDamage);
+    }
+
+    /**
+     * Returns an estimate of the heap retained by the rogue, including its energy resource.
+     * @return the estimated size in bytes
+     */
+    @Override
+    public long estimatedRetainedBytes() {
+        return super.estimatedRetainedBytes() + MemoryLayout.shallowSize(TimedResource.class);
+    }
+
+    /**
+     * Writes the unit's state followed by the rogue's energy.
+     * @param out the output to write to
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        super.writeState(out);
+        energy.writeTo(out);
+    }
+
+    /**
+     * Restores the state written by {@link #writeState(DataOutput)}.
+     * @param in the input to read from
+     * @throws IOException if reading fails
+     */
+    @Override
+    public void readState(DataInput in) throws IOException {
+        super.readState(in);
+        energy.readFrom(in);
     }
 
     ///For tests:
@@ -1,8 +1,14 @@
 package Tiles.Units.Players;
 
+import Diagnostics.AbilityEvent;
+import Metrics.MemoryLayout;
 import Tiles.Units.Enemies.Enemy;
 import Utils.Resource;
+import Utils.TimedResource;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.List;
 
 public class Warrior extends Player {
@@ -10,25 +16,32 @@ public class Warrior extends Player {
     private static final int EXTRA_ATTACK = 2;
     private static final int ABILITY_HEAL = 10;
     private static final int ABILITY_RANGE = 3;
+    private static final String ABILITY_NAME = "Avenger's Shield";
 
-    private Resource coolDown;
+    private TimedResource coolDown;
 
     public Warrior(String name, int health, int attack, int defense, int cooldown) {
         super(name, health, attack, defense);
-        this.coolDown = new Resource(cooldown,0);
+        // The cooldown runs out by one every tick.
+        this.coolDown = new TimedResource(cooldown, 0, clock, -1, 1);
     }
 
 
     /**
-     * Returns a string describing the warrior's stats and cooldown.
-     * @return the formatted description string
+     * Appends the warrior's stats and cooldown.
+     * @param sb the description being built
      */
-    public String description() {
-        return String.format(
-                super.description() +
-                        "Cooldown: %s\t", coolDown.toString());
+    @Override
+    protected void describe(StringBuilder sb) {
+        super.describe(sb);
+        sb.append("Cooldown: ");
+        coolDown.appendTo(sb);
+        sb.append('\t');
     }
 
+    @Override
+    protected int resourceVersion() { return super.resourceVersion() + coolDown.getVersion(); }
+
     /**
      * Handles logic when the warrior levels up, increasing stats and resetting cooldown.
      */
@@ -40,24 +53,17 @@ public class Warrior extends Player {
         defensePoints += level;
     }
 
-    /**
-     * Updates the cooldown timer each game tick.
-     */
-    @Override
-    public void gameTick() {
-        if (coolDown.getAmount() > 0) {
-            coolDown.reduceAmount(1);
-        }
-    }
-
     /**
      * Casts the warrior's special ability, healing and damaging a random enemy in range.
      * @param enemies the list of enemies on the board
      */
     @Override
     public void castAbility(List<Enemy> enemies) {
+        AbilityEvent event = new AbilityEvent();
+        event.begin();
         if (coolDown.getAmount() > 0) {
             mcb.call(String.format("%s tried to use Avenger's Shield, but there is a cooldown: %d", getName(), coolDown.getAmount()));
+            event.finish(getName(), ABILITY_NAME, false, 0, 0);
             return;
         }
 
@@ -65,12 +71,13 @@ public class Warrior extends Player {
         int healing = ABILITY_HEAL * defensePoints;
         health.addAmount(healing);
         List<Enemy> inRangeEnemies = enemies.stream()
-                .filter(e -> this.getPosition().calculateRange(e.getPosition()) < ABILITY_RANGE)
+                .filter(e -> this.getPosition().calculateRange(e.getX(), e.getY()) < ABILITY_RANGE)
                 .toList();
 
+        int damage = 0;
         if(!inRangeEnemies.isEmpty()) {
-            Enemy target = inRangeEnemies.get(rand.nextInt(inRangeEnemies.size()));
-            int damage = (int) (health.getCapacity() * 0.1);
+            Enemy target = inRangeEnemies.get(getRandom().nextInt(inRangeEnemies.size()));
+            damage = (int) (health.getCapacity() * 0.1);
             target.takeDamage(damage);
             if (target.isDead())
                 target.onDeath(this);
@@ -78,9 +85,41 @@ public class Warrior extends Player {
         }
 
         mcb.call(String.format("%s used Avenger's Shield, healing for %d.", getName(), healing));
+        event.finish(getName(), ABILITY_NAME, true, inRangeEnemies.isEmpty() ? 0 : 1, damage);
     }
 
 
+    /**
+     * Returns an estimate of the heap retained by the warrior, including its cooldown resource.
+     * @return the estimated size in bytes
+     */
+    @Override
+    public long estimatedRetainedBytes() {
+        return super.estimatedRetainedBytes() + MemoryLayout.shallowSize(TimedResource.class);
+    }
+
+    /**
+     * Writes the unit's state followed by the warrior's cooldown.
+     * @param out the output to write to
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        super.writeState(out);
+        coolDown.writeTo(out);
+    }
+
+    /**
+     * Restores the state written by {@link #writeState(DataOutput)}.
+     * @param in the input to read from
+     * @throws IOException if reading fails
+     */
+    @Override
+    public void readState(DataInput in) throws IOException {
+        super.readState(in);
+        coolDown.readFrom(in);
+    }
+
     ///For tests:
     public Resource getCoolDown() { return this.coolDown; }
 }
@@ -2,23 +2,35 @@ package Tiles.Units;
 
 import Callbacks.ChangePositionCallback;
 import Callbacks.MessageCallback;
+import Diagnostics.CombatEvent;
+import Metrics.EngineMetrics;
+import Metrics.MemoryLayout;
 import Tiles.Empty;
 import Tiles.Tile;
+import Tiles.TileKind;
 import Tiles.Units.Enemies.Enemy;
 import Tiles.Units.Players.Player;
 import Tiles.Wall;
 import Utils.Resource;
+import Utils.SeededRandom;
 
-import java.util.Random;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 public abstract class Unit extends Tile {
-    protected static Random rand = new Random();
+    private static final ThreadLocal<SeededRandom> RANDOM = ThreadLocal.withInitial(SeededRandom::new);
+    private static final ThreadLocal<StringBuilder> DESCRIPTION_BUILDER = ThreadLocal.withInitial(StringBuilder::new);
+    private static final int NAME_WIDTH = 20;
     protected MessageCallback mcb;
     protected ChangePositionCallback pcb;
     protected String name;
     protected Resource health;
     protected int attackPoints;
     protected int defensePoints;
+    // The last description, null when a described field changed since; resources are checked by version.
+    private String description;
+    private int describedResourceVersion;
 
     /**
      * Constructs a new Unit.
@@ -28,19 +40,91 @@ public abstract class Unit extends Tile {
     }
 
     /**
-     * Returns a string describing the unit's stats.
+     * Returns a string describing the unit's stats. The description is cached, and only rebuilt after
+     * a described field or resource changed, which most ticks and combats it is shown in leave alone.
      * @return a formatted string with unit details
      */
-    public String description() {
-        return String.format(
-                "%-20s\t\t" +
-                        "Health: %s\t\t" +
-                        "Attack: %d\t\t" +
-                        "Defense: %s\t\t",
-                name,health.toString(),attackPoints,defensePoints);
+    public final String description() {
+        int resourceVersion = resourceVersion();
+        if (description == null || resourceVersion != describedResourceVersion) {
+            StringBuilder sb = DESCRIPTION_BUILDER.get();
+            sb.setLength(0);
+            describe(sb);
+            description = sb.toString();
+            describedResourceVersion = resourceVersion;
+        }
+        return description;
+    }
+
+    /**
+     * Appends the unit's stats to a description. Subclasses append their own stats after their parent's.
+     * @param sb the description being built
+     */
+    protected void describe(StringBuilder sb) {
+        sb.append(name);
+        for (int i = name.length(); i < NAME_WIDTH; i++) {
+            sb.append(' ');
+        }
+        sb.append("\t\tHealth: ");
+        getHealth().appendTo(sb);
+        sb.append("\t\tAttack: ").append(getAttackPoints())
+                .append("\t\tDefense: ").append(getDefensePoints()).append("\t\t");
+    }
+
+    /**
+     * Marks the description stale after a described field changed.
+     * Changes to described resources are noticed through {@link #resourceVersion()} instead.
+     */
+    protected void invalidateDescription() { description = null; }
 
+    /**
+     * Returns a version that changes whenever a resource shown in the description changes.
+     * Subclasses describing more resources add their versions.
+     * @return the sum of the described resources' versions
+     */
+    protected int resourceVersion() { return getHealth().getVersion(); }
+
+    /**
+     * Returns an estimate of the heap retained by the unit: the unit itself and the resources it owns.
+     * The unit's position is accounted for by the board, and its name is a shared constant.
+     * @return the estimated size in bytes
+     */
+    public long estimatedRetainedBytes() {
+        return MemoryLayout.shallowSize(getClass()) + MemoryLayout.shallowSize(Resource.class);
     }
 
+    /**
+     * Writes the unit's mutable state: health, attack and defense.
+     * Subclasses append their own state after calling this method.
+     * @param out the output to write to
+     * @throws IOException if writing fails
+     */
+    public void writeState(DataOutput out) throws IOException {
+        getHealth().writeTo(out);
+        out.writeInt(getAttackPoints());
+        out.writeInt(getDefensePoints());
+    }
+
+    /**
+     * Restores the state written by {@link #writeState(DataOutput)}.
+     * @param in the input to read from
+     * @throws IOException if reading fails
+     */
+    public void readState(DataInput in) throws IOException {
+        getHealth().readFrom(in);
+        setAttackPoints(in.readInt());
+        setDefensePoints(in.readInt());
+        invalidateDescription();
+    }
+
+    /**
+     * Returns the random generator used for combat rolls and movement.
+     * Every game runs on its own thread, so each thread has its own generator and concurrent games
+     * stay independent and reproducible.
+     * @return the current thread's random generator
+     */
+    public static SeededRandom getRandom() { return RANDOM.get(); }
+
     /**
      * Sets the message and position change callbacks for the unit.
      * @param mcb the message callback
@@ -57,24 +141,36 @@ public abstract class Unit extends Tile {
      */
     public String getName() { return this.name; }
 
+    /**
+     * Gets the unit's column, without the copy {@link #getPosition()} makes for some units.
+     * @return the x coordinate of the unit's position
+     */
+    public int getX() { return getPosition().getX(); }
+
+    /**
+     * Gets the unit's row, without the copy {@link #getPosition()} makes for some units.
+     * @return the y coordinate of the unit's position
+     */
+    public int getY() { return getPosition().getY(); }
+
     /**
      * Checks if the unit is dead.
      * @return true if health is 0 or less, false otherwise
      */
-    public boolean isDead() { return health.getAmount() <= 0; }
+    public boolean isDead() { return getHealth().getAmount() <= 0; }
 
     /**
      * Reduces the unit's health by the specified damage amount.
      * @param damage the amount of damage to take
      */
-    public void takeDamage(int damage) { health.reduceAmount(damage); }
+    public void takeDamage(int damage) { getHealth().reduceAmount(damage); }
 
     /**
      * Rolls a random attack value up to the unit's attack points.
      * @return the attack roll value
      */
     public int rollAttack() {
-        return rand.nextInt(attackPoints + 1);
+        return getRandom().nextInt(getAttackPoints() + 1);
     }
 
     /**
@@ -82,7 +178,7 @@ public abstract class Unit extends Tile {
      * @return the defense roll value
      */
     public int rollDefense() {
-        return rand.nextInt(defensePoints + 1);
+        return getRandom().nextInt(getDefensePoints() + 1);
     }
 
     /**
@@ -100,11 +196,19 @@ public abstract class Unit extends Tile {
     public void visit(Wall wall) {}
 
     /**
-     * Handles the unit visiting a generic tile.
+     * Handles the unit visiting a generic tile. The visit is resolved by the tile's kind tag, as the visitor
+     * pattern would resolve it through {@link Tile#accept(Unit)}, but without a virtual call on the tile;
+     * tiles without a tag of their own still go through {@link Tile#accept(Unit)}.
      * @param tile the tile being visited
      */
-    public  void visit(Tile tile) {
-        tile.accept(this);
+    public final void visit(Tile tile) {
+        switch (tile.getKind()) {
+            case TileKind.EMPTY -> visit((Empty) tile);
+            case TileKind.WALL -> visit((Wall) tile);
+            case TileKind.PLAYER -> visit((Player) tile);
+            case TileKind.MONSTER, TileKind.TRAP -> visit((Enemy) tile);
+            default -> tile.accept(this);
+        }
     }
 
     public abstract void accept(Unit unit);
@@ -118,6 +222,9 @@ public abstract class Unit extends Tile {
      * @param defender the defending unit
      */
     protected void combat(Unit defender) {
+        CombatEvent event = new CombatEvent();
+        event.begin();
+        EngineMetrics.COMBATS.increment();
         int attackRoll = this.rollAttack();
         int defenseRoll = defender.rollDefense();
         int damage = Math.max(0, attackRoll - defenseRoll);
@@ -126,10 +233,12 @@ public abstract class Unit extends Tile {
 
         combatInfo(defender,attackRoll,defenseRoll,damage);
 
-        if (defender.isDead()) {
+        boolean killed = defender.isDead();
+        if (killed) {
             pcb.call(this, defender);
             defender.onDeath(this);
         }
+        event.finish(getName(), defender.getName(), attackRoll, defenseRoll, damage, killed);
     }
 
     /**
@@ -170,7 +279,13 @@ public abstract class Unit extends Tile {
         return defensePoints;
     }
 
-    public void setAttackPoints(int p) { this.attackPoints = p; }
+    public void setAttackPoints(int p) {
+        this.attackPoints = p;
+        invalidateDescription();
+    }
 
-    public void setDefensePoints(int d) { this.defensePoints = d; }
+    public void setDefensePoints(int d) {
+        this.defensePoints = d;
+        invalidateDescription();
+    }
 }
@@ -12,6 +12,7 @@ public class Wall extends Tile {
     public Wall() {
         super();
         this.character = '#';
+        this.kind = TileKind.WALL;
     }
 
     @Override
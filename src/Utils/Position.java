@@ -9,7 +9,17 @@ public class Position {
     }
 
     public double calculateRange(Position other) {
-        return Math.sqrt(Math.pow(this.x - other.x, 2) + Math.pow(this.y - other.y, 2));
+        return calculateRange(other.x, other.y);
+    }
+
+    /**
+     * Calculates the distance to the given coordinates.
+     * @param x the other x coordinate
+     * @param y the other y coordinate
+     * @return the euclidean distance
+     */
+    public double calculateRange(int x, int y) {
+        return Math.sqrt(Math.pow(this.x - x, 2) + Math.pow(this.y - y, 2));
     }
 
     // Getters and setters
@@ -18,6 +28,21 @@ public class Position {
     public void setX(int x) { this.x = x; }
     public void setY(int y) { this.y = y; }
 
+    /**
+     * Positions are equal when they have the same coordinates.
+     * @param o the object to compare with
+     * @return true if o is a position with the same coordinates
+     */
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Position other && x == other.x && y == other.y;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * x + y;
+    }
+
     public static Position GetPosition(Position pos, Direction d) {
         return new Position(pos.getX() + d.getX(), pos.getY() + d.getY());
     }
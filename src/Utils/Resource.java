@@ -1,5 +1,9 @@
 package Utils;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Represents a resource with a limited capacity and current amount.
  * Provides methods to modify, restore, and query the resource's state,
@@ -11,6 +15,7 @@ public class Resource {
 
     private int capacity;
     private int amount;
+    private int version;
 
     public Resource(int capacity, int amount) {
         this.capacity = capacity;
@@ -19,24 +24,66 @@ public class Resource {
 
     public int getCapacity() { return  capacity; }
 
-    public void addCapacity(int capacity) { this.capacity += capacity; }
+    public void addCapacity(int capacity) { this.capacity += capacity; changed(); }
 
     public int getAmount() {
         return amount;
     }
 
-    public void setAmount(int amount) { this.amount = Math.min(amount,capacity); }
+    public void setAmount(int amount) { this.amount = Math.min(amount,capacity); changed(); }
 
-    public void addAmount(int amount) { this.amount = Math.min((this.amount + amount),capacity); }
+    public void addAmount(int amount) { this.amount = Math.min((this.amount + amount),capacity); changed(); }
 
-    public void reduceAmount(int amount) { this.amount = Math.max(this.amount - amount, 0); }
+    public void reduceAmount(int amount) { this.amount = Math.max(this.amount - amount, 0); changed(); }
 
     public void restore() {
         this.amount = this.capacity;
+        changed();
+    }
+
+    /**
+     * Returns a counter that grows every time the resource is modified, so descriptions showing
+     * the resource can tell whether they are stale.
+     * @return the resource's version
+     */
+    public int getVersion() { return version; }
+
+    /**
+     * Counts a modification of the resource.
+     */
+    protected void changed() { version++; }
+
+    /**
+     * Writes the resource's capacity and amount.
+     * @param out the output to write to
+     * @throws IOException if writing fails
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(capacity);
+        out.writeInt(amount);
+    }
+
+    /**
+     * Restores the capacity and amount written by {@link #writeTo(DataOutput)}.
+     * @param in the input to read from
+     * @throws IOException if reading fails
+     */
+    public void readFrom(DataInput in) throws IOException {
+        capacity = in.readInt();
+        amount = in.readInt();
+        changed();
+    }
+
+    /**
+     * Appends the resource as {@link #toString()} formats it, without formatting a string.
+     * @param sb the builder to append to
+     */
+    public void appendTo(StringBuilder sb) {
+        sb.append(getAmount()).append('/').append(getCapacity());
     }
 
     public String toString() {
-        return String.format("%d/%d", amount,capacity);
+        return String.format("%d/%d", getAmount(), getCapacity());
     }
 
 }
@@ -0,0 +1,62 @@
+package Utils;
+
+import java.io.Serial;
+import java.util.Random;
+
+/**
+ * A {@link Random} whose internal state can be read and restored, so a game can be saved and replayed exactly.
+ * Uses the same linear congruential generator as {@link Random}, but keeps its state in a plain field
+ * instead of an atomic one, since every game runs its units on a single thread with its own generator.
+ */
+public class SeededRandom extends Random {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    private long state;
+
+    /**
+     * Creates a generator with a seed that differs on every call.
+     */
+    public SeededRandom() {
+        this(System.nanoTime() ^ Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L);
+    }
+
+    /**
+     * Creates a generator with the given seed.
+     * @param seed the initial seed
+     */
+    public SeededRandom(long seed) {
+        super(seed);
+    }
+
+    /**
+     * Resets the generator to the given seed, producing the same sequence as {@code new Random(seed)}.
+     * @param seed the new seed
+     */
+    @Override
+    public void setSeed(long seed) {
+        state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    /**
+     * Returns the generator's current internal state.
+     * @return the state, restorable with {@link #setState(long)}
+     */
+    public long getState() { return state; }
+
+    /**
+     * Restores an internal state previously returned by {@link #getState()}.
+     * @param state the state to restore
+     */
+    public void setState(long state) { this.state = state & MASK; }
+
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+}
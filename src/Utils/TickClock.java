@@ -0,0 +1,31 @@
+package Utils;
+
+/**
+ * Counts the game ticks a unit has lived through. {@link TimedResource}s read it to work out their amount,
+ * so advancing the clock, by one tick or by many, costs the same regardless of what depends on it.
+ */
+public final class TickClock {
+    private long now;
+
+    /**
+     * Returns the number of ticks counted so far.
+     * @return the current tick
+     */
+    public long now() { return now; }
+
+    /**
+     * Counts a tick.
+     */
+    public void advance() { now++; }
+
+    /**
+     * Counts several ticks at once.
+     * @param ticks the number of ticks
+     * @throws IllegalArgumentException if the number of ticks is negative
+     */
+    public void advance(long ticks) {
+        if (ticks < 0)
+            throw new IllegalArgumentException("Cannot go back " + -ticks + " ticks");
+        now += ticks;
+    }
+}
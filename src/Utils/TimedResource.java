@@ -0,0 +1,161 @@
+package Utils;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * A resource that changes by a fixed rate every period of ticks, like mana regenerating or a cooldown running out.
+ * <p>
+ * Rather than being updated every tick, the resource keeps the amount it had at some tick of its clock, and
+ * works out its current amount from the ticks elapsed since whenever it is read. Modifying the resource, or
+ * its rate, first settles the amount as of the current tick. The amount stays within zero and the capacity.
+ */
+public class TimedResource extends Resource {
+    private final TickClock clock;
+    private final int period;
+    private int rate;
+    // The amount held by the resource is its amount at this tick.
+    private long stamp;
+    // The ticks into the current period at the stamp.
+    private int phase;
+    // The total change in amount made by time before the stamp, counted into the version so descriptions see time pass.
+    private long settledChange;
+    // Set while settling, which stores the amount without changing what the resource reports.
+    private boolean settling;
+
+    /**
+     * Creates a timed resource.
+     * @param capacity the capacity
+     * @param amount the amount at the clock's current tick
+     * @param clock the clock the resource follows
+     * @param rate the amount added every period; negative to drain the resource
+     * @param period the number of ticks between changes
+     * @throws IllegalArgumentException if the period is not positive
+     */
+    public TimedResource(int capacity, int amount, TickClock clock, int rate, int period) {
+        super(capacity, amount);
+        if (period < 1)
+            throw new IllegalArgumentException("Invalid period " + period);
+        this.clock = clock;
+        this.rate = rate;
+        this.period = period;
+        this.stamp = clock.now();
+    }
+
+    @Override
+    public int getAmount() {
+        return amountAfter(elapsedSteps());
+    }
+
+    /**
+     * Changes the amount added every period, from the current tick on.
+     * @param rate the new rate
+     */
+    public void setRate(int rate) {
+        settle();
+        this.rate = rate;
+    }
+
+    /**
+     * Returns the number of ticks into the current period.
+     * @return the ticks since the last change, from 0 to the period, exclusive
+     */
+    public int getPhase() {
+        return (int) ((phase + clock.now() - stamp) % period);
+    }
+
+    /**
+     * Sets the number of ticks into the current period, as of the current tick.
+     * @param phase the ticks since the last change
+     */
+    public void setPhase(int phase) {
+        settle();
+        this.phase = Math.floorMod(phase, period);
+    }
+
+    @Override
+    public void addCapacity(int capacity) { settle(); super.addCapacity(capacity); }
+
+    @Override
+    public void setAmount(int amount) { settle(); super.setAmount(amount); }
+
+    @Override
+    public void addAmount(int amount) { settle(); super.addAmount(amount); }
+
+    @Override
+    public void reduceAmount(int amount) { settle(); super.reduceAmount(amount); }
+
+    @Override
+    public void restore() { settle(); super.restore(); }
+
+    /**
+     * Returns a counter that grows every time the resource is modified or its amount changes with time.
+     * Time passing leaves the version alone once the resource is full or empty.
+     * @return the resource's version
+     */
+    @Override
+    public int getVersion() {
+        // Time moves the amount in one direction between settles, so the distance covered grows with every change.
+        return super.getVersion() + (int) (settledChange + Math.abs(getAmount() - super.getAmount()));
+    }
+
+    /**
+     * Writes the resource's capacity and its amount at the current tick.
+     */
+    @Override
+    public void writeTo(DataOutput out) throws IOException {
+        settle();
+        super.writeTo(out);
+    }
+
+    /**
+     * Restores the capacity and amount written by {@link #writeTo}, as the amount at the current tick.
+     */
+    @Override
+    public void readFrom(DataInput in) throws IOException {
+        super.readFrom(in);
+        stamp = clock.now();
+        phase = 0;
+    }
+
+    /**
+     * Moves the stamp to the current tick, storing the amount at that tick.
+     */
+    private void settle() {
+        long now = clock.now();
+        if (now == stamp)
+            return;
+        long steps = elapsedSteps();
+        phase = getPhase();
+        stamp = now;
+        if (steps > 0) {
+            int amount = amountAfter(steps);
+            settledChange += Math.abs(amount - super.getAmount());
+            settling = true;
+            super.setAmount(amount);
+            settling = false;
+        }
+    }
+
+    @Override
+    protected void changed() {
+        if (!settling)
+            super.changed();
+    }
+
+    private long elapsedSteps() {
+        return (phase + clock.now() - stamp) / period;
+    }
+
+    /**
+     * Returns the stored amount after the given number of periods.
+     * @param steps the number of periods
+     * @return the amount, within zero and the capacity
+     */
+    private int amountAfter(long steps) {
+        // Once the steps exceed the capacity, any nonzero rate has filled or emptied the resource.
+        long delta = Math.min(steps, (long) getCapacity() + 1) * rate;
+        return (int) Math.max(0, Math.min(getCapacity(), super.getAmount() + delta));
+    }
+}
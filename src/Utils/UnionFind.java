@@ -0,0 +1,54 @@
+package Utils;
+
+/**
+ * Disjoint sets over the elements {@code 0..n-1}, merged by rank with path halving,
+ * so any sequence of unions and finds runs in near-linear time.
+ */
+public class UnionFind {
+    private final int[] parent;
+    private final byte[] rank;
+
+    /**
+     * Creates n singleton sets.
+     * @param n the number of elements
+     */
+    public UnionFind(int n) {
+        parent = new int[n];
+        rank = new byte[n];
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+        }
+    }
+
+    /**
+     * Returns the representative of the set containing an element.
+     * @param i the element
+     * @return the set's representative, the same for every element of the set
+     */
+    public int find(int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    /**
+     * Merges the sets containing two elements.
+     * @param a an element
+     * @param b another element
+     */
+    public void union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB)
+            return;
+        if (rank[rootA] < rank[rootB]) {
+            parent[rootA] = rootB;
+        } else {
+            parent[rootB] = rootA;
+            if (rank[rootA] == rank[rootB])
+                rank[rootA]++;
+        }
+    }
+}